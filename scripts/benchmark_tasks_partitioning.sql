@@ -0,0 +1,29 @@
+-- Benchmark do particionamento de tasks por user_id
+-- Uso: psql -h localhost -p 5433 -U postgres -d tasklist_db -v user_id="'<uuid de um usuário grande>'" -f scripts/benchmark_tasks_partitioning.sql
+-- Execute antes e depois de tasks_partitioning_swap() sobre a mesma massa de dados
+-- (ex.: 50M+ linhas geradas com gradle datagen, ver "Massa de Dados Sintética" no README) e compare os tempos.
+-- O usuário grande é o primeiro da massa: SELECT id FROM users WHERE email = 'user-0@datagen.local';
+
+\timing on
+
+-- Consultas por usuário equivalentes às do TaskRepository
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM tasks WHERE user_id = :user_id AND active = true ORDER BY created_at LIMIT 10;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT count(*) FROM tasks WHERE user_id = :user_id AND active = true;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM tasks WHERE user_id = :user_id AND active = true AND lower(title) LIKE '%task 1%' LIMIT 10;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM tasks WHERE id = (SELECT id FROM tasks WHERE user_id = :user_id LIMIT 1);
+
+-- Tempo de VACUUM: tabela inteira antes da troca; depois dela só a partição tasks_p0, que é a unidade
+-- de manutenção (as demais podem ser feitas em paralelo)
+SELECT relkind = 'p' AS partitioned FROM pg_class WHERE oid = 'tasks'::regclass \gset
+\if :partitioned
+VACUUM (VERBOSE, ANALYZE) tasks_p0;
+\else
+VACUUM (VERBOSE, ANALYZE) tasks;
+\endif
@@ -0,0 +1,126 @@
+package br.com.jtech.tasklist.loadtest.datagen;
+
+import br.com.jtech.tasklist.loadtest.datagen.DatasetSummary.GeneratedUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+* class DatasetGeneratorIntegrationTest
+*
+* Not transactional on purpose: the generator commits each user on its own connection.
+*
+* @author jtech
+*/
+@SpringBootTest
+@ActiveProfiles("test")
+class DatasetGeneratorIntegrationTest {
+
+    private static final String USERS = "SELECT id FROM users WHERE email LIKE '%@datagen.test'";
+
+    private static final DatasetSpec SPEC = DatasetSpec.builder()
+            .users(20)
+            .heavyUsers(1)
+            .heavyUserTasks(3_000)
+            .tasksPerUser(50)
+            .listsPerUser(3)
+            .emailDomain("datagen.test")
+            .batchSize(500)
+            .build();
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        delete();
+    }
+
+    @Test
+    void shouldGenerateSkewedDatasetWithConsistentCounters() throws Exception {
+        DatasetSummary summary = generator().generate(SPEC);
+
+        assertThat(summary.users()).hasSize(20);
+        assertThat(count("SELECT COUNT(*) FROM tasks WHERE user_id IN (" + USERS + ")")).isEqualTo(summary.tasks());
+        GeneratedUser heavy = summary.users().get(0);
+        assertThat(heavy.activeTasks() + heavy.deletedTasks()).isEqualTo(3_000);
+        assertThat(heavy.taskLists()).isEqualTo(30);
+        assertThat(summary.users().subList(1, 20))
+                .allSatisfy(user -> assertThat(user.activeTasks() + user.deletedTasks()).isLessThan(3_000));
+        assertThat((double) summary.deletedTasks() / summary.tasks()).isBetween(0.05, 0.25);
+
+        // Counters hold the active tasks only, as the services keep them
+        assertThat(count("SELECT COUNT(*) FROM users u WHERE u.id IN (" + USERS + ") AND (u.task_count <> "
+                + "(SELECT COUNT(*) FROM tasks t WHERE t.user_id = u.id AND t.active = true) OR u.completed_task_count <> "
+                + "(SELECT COUNT(*) FROM tasks t WHERE t.user_id = u.id AND t.active = true AND t.completed = true))"))
+                .isZero();
+        assertThat(count("SELECT COUNT(*) FROM task_lists l WHERE l.user_id IN (" + USERS + ") AND (l.task_count <> "
+                + "(SELECT COUNT(*) FROM tasks t WHERE t.task_list_id = l.id AND t.active = true) OR l.completed_task_count <> "
+                + "(SELECT COUNT(*) FROM tasks t WHERE t.task_list_id = l.id AND t.active = true AND t.completed = true))"))
+                .isZero();
+        assertThat(count("SELECT COUNT(*) FROM tasks t JOIN task_lists l ON l.id = t.task_list_id "
+                + "WHERE l.user_id IN (" + USERS + ") AND l.active = false AND t.active = true")).isZero();
+        assertThat(passwordEncoder.matches(DatasetGenerator.PASSWORD,
+                jdbcTemplate.queryForObject("SELECT password FROM users WHERE id = ?", String.class, heavy.id()))).isTrue();
+
+        assertThatThrownBy(() -> generator().generate(SPEC)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void shouldGenerateSameRowsForSameSeedWhateverTheThreads() throws Exception {
+        DatasetSummary first = generator().generate(SPEC);
+        List<Map<String, Object>> rows = rows();
+        delete();
+
+        DatasetSummary second = generator().generate(SPEC.toBuilder().threads(1).batchSize(7).build());
+
+        assertThat(second.users()).isEqualTo(first.users());
+        assertThat(rows()).isEqualTo(rows);
+    }
+
+    @Test
+    void shouldLetExplainUseUserIndexOnGeneratedData() throws Exception {
+        GeneratedUser heavy = generator().generate(SPEC).users().get(0);
+
+        String plan = jdbcTemplate.queryForObject(
+                "EXPLAIN SELECT id FROM tasks WHERE user_id = '" + heavy.id() + "' AND active = true", String.class);
+
+        assertThat(plan).doesNotContain("tableScan");
+    }
+
+    private DatasetGenerator generator() {
+        return new DatasetGenerator(dataSource, passwordEncoder);
+    }
+
+    private List<Map<String, Object>> rows() {
+        return jdbcTemplate.queryForList("SELECT id, title, description, completed, active, task_list_id, created_at, updated_at "
+                + "FROM tasks WHERE user_id IN (" + USERS + ") ORDER BY id");
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+
+    private void delete() {
+        jdbcTemplate.update("DELETE FROM tasks WHERE user_id IN (" + USERS + ")");
+        jdbcTemplate.update("DELETE FROM task_lists WHERE user_id IN (" + USERS + ")");
+        jdbcTemplate.update("DELETE FROM users WHERE email LIKE '%@datagen.test'");
+    }
+}
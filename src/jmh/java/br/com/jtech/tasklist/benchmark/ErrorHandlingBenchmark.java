@@ -0,0 +1,92 @@
+/*
+*  @(#)ErrorHandlingBenchmark.java
+*
+*  Copyright (c) J-Tech Solucoes em Informatica.
+*  All Rights Reserved.
+*
+*  This software is the confidential and proprietary information of J-Tech.
+*  ("Confidential Information"). You shall not disclose such Confidential
+*  Information and shall use it only in accordance with the terms of the
+*  license agreement you entered into with J-Tech.
+*
+*/
+package br.com.jtech.tasklist.benchmark;
+
+import br.com.jtech.tasklist.config.infra.exceptions.ApiError;
+import br.com.jtech.tasklist.config.infra.exceptions.ResourceNotFoundException;
+import br.com.jtech.tasklist.config.infra.handlers.GlobalExceptionHandler;
+import br.com.jtech.tasklist.config.infra.json.JacksonConfig;
+import br.com.jtech.tasklist.dto.TaskRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+* Error responses of {@link GlobalExceptionHandler}: building the {@link ApiError} for a not found
+* and for a request with three invalid fields, and writing it with the application mapper.
+* {@code throwAndHandleNotFound} also creates the exception, whose stack trace is most of the
+* cost of an error in a service.
+*
+* @author jtech
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ErrorHandlingBenchmark {
+
+    private GlobalExceptionHandler handler;
+    private ObjectMapper objectMapper;
+    private ResourceNotFoundException notFound;
+    private MethodArgumentNotValidException invalid;
+
+    @Setup
+    public void setUp() throws Exception {
+        handler = new GlobalExceptionHandler(new SimpleMeterRegistry());
+        objectMapper = JacksonConfig.standaloneMapper();
+        notFound = new ResourceNotFoundException("Tarefa não encontrada");
+
+        TaskRequest request = TaskRequest.builder().title("").description("x".repeat(1001)).taskListId("x").build();
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(request, "taskRequest");
+        bindingResult.rejectValue("title", "NotBlank", "Título é obrigatório");
+        bindingResult.rejectValue("description", "Size", "Descrição deve ter no máximo 1000 caracteres");
+        bindingResult.rejectValue("taskListId", "UUID", "Lista inválida");
+        MethodParameter parameter = new MethodParameter(
+                ErrorHandlingBenchmark.class.getDeclaredMethod("create", TaskRequest.class), 0);
+        invalid = new MethodArgumentNotValidException(parameter, bindingResult);
+    }
+
+    @Benchmark
+    public ResponseEntity<ApiError> handleNotFound() {
+        return handler.handleResourceNotFoundException(notFound);
+    }
+
+    @Benchmark
+    public ResponseEntity<ApiError> throwAndHandleNotFound() {
+        try {
+            throw new ResourceNotFoundException("Tarefa não encontrada");
+        } catch (ResourceNotFoundException ex) {
+            return handler.handleResourceNotFoundException(ex);
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<ApiError> handleValidation() {
+        return handler.handleValidationErrors(invalid);
+    }
+
+    @Benchmark
+    public void handleAndWriteValidation() throws Exception {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), handler.handleValidationErrors(invalid).getBody());
+    }
+
+    @SuppressWarnings("unused")
+    private void create(TaskRequest request) {
+    }
+}
@@ -0,0 +1,51 @@
+/*
+*  @(#)IdValidationBenchmark.java
+*
+*  Copyright (c) J-Tech Solucoes em Informatica.
+*  All Rights Reserved.
+*
+*  This software is the confidential and proprietary information of J-Tech.
+*  ("Confidential Information"). You shall not disclose such Confidential
+*  Information and shall use it only in accordance with the terms of the
+*  license agreement you entered into with J-Tech.
+*
+*/
+package br.com.jtech.tasklist.benchmark;
+
+import br.com.jtech.tasklist.config.infra.utils.GenId;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+* {@link GenId#isValid}, which the services run on every id taken from a path or a filter. An
+* invalid id is reported through the exception of {@code UUID.fromString}, so {@code invalid}
+* includes building that exception.
+*
+* @author jtech
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class IdValidationBenchmark {
+
+    @Param({"valid", "invalid", "empty"})
+    public String input;
+
+    private String id;
+
+    @Setup
+    public void setUp() {
+        id = switch (input) {
+            case "valid" -> UUID.randomUUID().toString();
+            case "invalid" -> "not-a-task-id";
+            default -> "";
+        };
+    }
+
+    @Benchmark
+    public boolean isValid() {
+        return GenId.isValid(id);
+    }
+}
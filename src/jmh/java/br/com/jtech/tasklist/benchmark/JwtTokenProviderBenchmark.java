@@ -0,0 +1,73 @@
+/*
+*  @(#)JwtTokenProviderBenchmark.java
+*
+*  Copyright (c) J-Tech Solucoes em Informatica.
+*  All Rights Reserved.
+*
+*  This software is the confidential and proprietary information of J-Tech.
+*  ("Confidential Information"). You shall not disclose such Confidential
+*  Information and shall use it only in accordance with the terms of the
+*  license agreement you entered into with J-Tech.
+*
+*/
+package br.com.jtech.tasklist.benchmark;
+
+import br.com.jtech.tasklist.config.infra.security.JwtTokenProvider;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+* Token generation and the checks {@code JwtAuthenticationFilter} runs on every authenticated
+* request: {@code authenticate} is {@code validateToken} followed by {@code getEmailFromToken},
+* as the filter calls them. The provider gets the same defaults as {@code application.yml}.
+*
+* @author jtech
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtTokenProviderBenchmark {
+
+    private JwtTokenProvider provider;
+    private String token;
+    private String tamperedToken;
+
+    @Setup
+    public void setUp() {
+        provider = new JwtTokenProvider();
+        set("secret", "mySecretKeyForJWTTokenGenerationThatMustBeAtLeast256BitsLong");
+        set("expiration", 86_400_000L);
+        set("refreshExpiration", 604_800_000L);
+        token = provider.generateToken("benchmark@example.com");
+        tamperedToken = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return provider.generateToken("benchmark@example.com");
+    }
+
+    @Benchmark
+    public Boolean validateToken() {
+        return provider.validateToken(token);
+    }
+
+    @Benchmark
+    public Boolean validateTamperedToken() {
+        return provider.validateToken(tamperedToken);
+    }
+
+    @Benchmark
+    public String authenticate() {
+        return provider.validateToken(token) ? provider.getEmailFromToken(token) : null;
+    }
+
+    private void set(String name, Object value) {
+        Field field = ReflectionUtils.findField(JwtTokenProvider.class, name);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, provider, value);
+    }
+}
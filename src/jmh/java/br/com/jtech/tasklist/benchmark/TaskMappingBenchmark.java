@@ -0,0 +1,73 @@
+/*
+*  @(#)TaskMappingBenchmark.java
+*
+*  Copyright (c) J-Tech Solucoes em Informatica.
+*  All Rights Reserved.
+*
+*  This software is the confidential and proprietary information of J-Tech.
+*  ("Confidential Information"). You shall not disclose such Confidential
+*  Information and shall use it only in accordance with the terms of the
+*  license agreement you entered into with J-Tech.
+*
+*/
+package br.com.jtech.tasklist.benchmark;
+
+import br.com.jtech.tasklist.config.infra.utils.Jsons;
+import br.com.jtech.tasklist.dto.TaskResponse;
+import br.com.jtech.tasklist.entity.TaskEntity;
+import br.com.jtech.tasklist.entity.TaskListEntity;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+* Entity to DTO mapping ({@link TaskResponse#from}) of a 1,000-task list, as in the list and
+* sync endpoints, and {@link Jsons#toJsonString} of a single task, as in the change feed and
+* the outbox payloads.
+*
+* @author jtech
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskMappingBenchmark {
+
+    private List<TaskEntity> entities;
+    private TaskResponse response;
+
+    @Setup
+    public void setUp() {
+        entities = new ArrayList<>(1000);
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 12, 0);
+        for (int i = 0; i < 1000; i++) {
+            entities.add(TaskEntity.builder()
+                    .id(UUID.randomUUID())
+                    .title("Task " + i)
+                    .description(i % 3 == 0 ? null : "Description of task number " + i)
+                    .completed(i % 2 == 0)
+                    .taskList(i % 5 == 0 ? null : TaskListEntity.builder().id(UUID.randomUUID()).build())
+                    .createdAt(now.minusMinutes(i))
+                    .updatedAt(now)
+                    .build());
+        }
+        response = TaskResponse.from(entities.get(1));
+    }
+
+    @Benchmark
+    public List<TaskResponse> mapList() {
+        List<TaskResponse> responses = new ArrayList<>(entities.size());
+        for (TaskEntity entity : entities) {
+            responses.add(TaskResponse.from(entity));
+        }
+        return responses;
+    }
+
+    @Benchmark
+    public String toJsonString() {
+        return Jsons.toJsonString(response);
+    }
+}
@@ -0,0 +1,94 @@
+/*
+*  @(#)TaskPageFormatBenchmark.java
+*
+*  Copyright (c) J-Tech Solucoes em Informatica.
+*  All Rights Reserved.
+*
+*  This software is the confidential and proprietary information of J-Tech.
+*  ("Confidential Information"). You shall not disclose such Confidential
+*  Information and shall use it only in accordance with the terms of the
+*  license agreement you entered into with J-Tech.
+*
+*/
+package br.com.jtech.tasklist.benchmark;
+
+import br.com.jtech.tasklist.config.infra.json.JacksonConfig;
+import br.com.jtech.tasklist.config.infra.json.TaskResponseList;
+import br.com.jtech.tasklist.dto.PageResponse;
+import br.com.jtech.tasklist.dto.TaskResponse;
+import br.com.jtech.tasklist.entity.TaskEntity;
+import br.com.jtech.tasklist.entity.TaskListEntity;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+* Encodes a 1,000-task page the way {@code GET /api/v1/tasks} does (entities through
+* {@code PageResponseSerializer}) and decodes it back into {@code TaskResponse}s, once per
+* format the API negotiates: {@code json} (default), {@code smile} and {@code cbor}.
+*
+* @author jtech
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskPageFormatBenchmark {
+
+    @Param({"json", "smile", "cbor"})
+    public String format;
+
+    private ObjectMapper objectMapper;
+    private ObjectReader pageReader;
+    private PageResponse<TaskResponse> page;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws Exception {
+        JsonFactory factory = switch (format) {
+            case "smile" -> new SmileFactory();
+            case "cbor" -> new CBORFactory();
+            default -> new JsonFactory();
+        };
+        objectMapper = JacksonConfig.standaloneMapper(factory);
+        pageReader = objectMapper.readerFor(new TypeReference<PageResponse<TaskResponse>>() { });
+
+        List<TaskEntity> entities = new ArrayList<>(1000);
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 12, 0);
+        for (int i = 0; i < 1000; i++) {
+            entities.add(TaskEntity.builder()
+                    .id(UUID.randomUUID())
+                    .title("Task " + i)
+                    .description(i % 3 == 0 ? null : "Description of task number " + i)
+                    .completed(i % 2 == 0)
+                    .taskList(i % 5 == 0 ? null : TaskListEntity.builder().id(UUID.randomUUID()).build())
+                    .createdAt(now.minusMinutes(i))
+                    .updatedAt(now)
+                    .build());
+        }
+        page = PageResponse.of(new PageImpl<>(entities, PageRequest.of(0, 1000), 25_000), TaskResponseList.of(entities));
+        encoded = objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public void encode() throws Exception {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), page);
+    }
+
+    @Benchmark
+    public PageResponse<TaskResponse> decode() throws Exception {
+        return pageReader.readValue(encoded);
+    }
+}
@@ -0,0 +1,130 @@
+/*
+*  @(#)TaskPageSerializationBenchmark.java
+*
+*  Copyright (c) J-Tech Solucoes em Informatica.
+*  All Rights Reserved.
+*
+*  This software is the confidential and proprietary information of J-Tech.
+*  ("Confidential Information"). You shall not disclose such Confidential
+*  Information and shall use it only in accordance with the terms of the
+*  license agreement you entered into with J-Tech.
+*
+*/
+package br.com.jtech.tasklist.benchmark;
+
+import br.com.jtech.tasklist.config.infra.json.JacksonConfig;
+import br.com.jtech.tasklist.config.infra.json.TaskResponseList;
+import br.com.jtech.tasklist.dto.PageResponse;
+import br.com.jtech.tasklist.dto.TaskResponse;
+import br.com.jtech.tasklist.entity.TaskEntity;
+import br.com.jtech.tasklist.entity.TaskListEntity;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+* Serializes a 1,000-element page of {@link TaskResponse} (and parses the list back) with the
+* application mapper ({@code tuned}: Blackbird) and with a plain Jackson mapper ({@code plain}).
+* {@code serializePageResponse} is the path the controllers use: entities written by
+* {@code PageResponseSerializer} without building a TaskResponse per item;
+* {@code mapAndSerializePage} is the previous path (map each entity, serialize the PageImpl).
+* Output goes to a discarding stream, as it goes to the servlet stream in MVC, so the numbers
+* (run with {@code -PjmhProfilers=gc} for allocation) are not dominated by a result byte array.
+*
+* @author jtech
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskPageSerializationBenchmark {
+
+    @Param({"tuned", "plain"})
+    public String mapper;
+
+    private ObjectMapper objectMapper;
+    private PageImpl<TaskResponse> page;
+    private PageResponse<TaskResponse> entityPage;
+    private List<TaskEntity> entities;
+    private byte[] listJson;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = mapper.equals("tuned")
+                ? JacksonConfig.standaloneMapper()
+                : JsonMapper.builder()
+                        .addModule(new JavaTimeModule())
+                        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                        .build();
+
+        List<TaskResponse> tasks = new ArrayList<>(1000);
+        entities = new ArrayList<>(1000);
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 12, 0);
+        for (int i = 0; i < 1000; i++) {
+            TaskEntity entity = TaskEntity.builder()
+                    .id(UUID.randomUUID())
+                    .title("Task " + i)
+                    .description(i % 3 == 0 ? null : "Description of task number " + i)
+                    .completed(i % 2 == 0)
+                    .taskList(i % 5 == 0 ? null : TaskListEntity.builder().id(UUID.randomUUID()).build())
+                    .createdAt(now.minusMinutes(i))
+                    .updatedAt(now)
+                    .build();
+            entities.add(entity);
+            tasks.add(TaskResponse.builder()
+                    .id(entity.getId().toString())
+                    .title(entity.getTitle())
+                    .description(entity.getDescription())
+                    .completed(entity.getCompleted())
+                    .taskListId(entity.getTaskList() != null ? entity.getTaskList().getId().toString() : null)
+                    .createdAt(entity.getCreatedAt())
+                    .updatedAt(entity.getUpdatedAt())
+                    .build());
+        }
+        page = new PageImpl<>(tasks, PageRequest.of(0, 1000), 25_000);
+        entityPage = PageResponse.of(new PageImpl<>(entities, PageRequest.of(0, 1000), 25_000), TaskResponseList.of(entities));
+        listJson = objectMapper.writeValueAsBytes(tasks);
+    }
+
+    @Benchmark
+    public void serializePage() throws Exception {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), page);
+    }
+
+    @Benchmark
+    public void serializePageResponse() throws Exception {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), entityPage);
+    }
+
+    @Benchmark
+    public void mapAndSerializePage() throws Exception {
+        List<TaskResponse> mapped = new ArrayList<>(entities.size());
+        for (TaskEntity entity : entities) {
+            mapped.add(TaskResponse.builder()
+                    .id(entity.getId().toString())
+                    .title(entity.getTitle())
+                    .description(entity.getDescription())
+                    .completed(entity.getCompleted())
+                    .taskListId(entity.getTaskList() != null ? entity.getTaskList().getId().toString() : null)
+                    .createdAt(entity.getCreatedAt())
+                    .updatedAt(entity.getUpdatedAt())
+                    .build());
+        }
+        objectMapper.writeValue(OutputStream.nullOutputStream(), new PageImpl<>(mapped, PageRequest.of(0, 1000), 25_000));
+    }
+
+    @Benchmark
+    public TaskResponse[] deserializeList() throws Exception {
+        return objectMapper.readValue(listJson, TaskResponse[].class);
+    }
+}
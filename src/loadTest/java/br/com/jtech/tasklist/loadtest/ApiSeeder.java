@@ -0,0 +1,90 @@
+/*
+*  @(#)ApiSeeder.java
+*
+*  Copyright (c) J-Tech Solucoes em Informatica.
+*  All Rights Reserved.
+*
+*  This software is the confidential and proprietary information of J-Tech.
+*  ("Confidential Information"). You shall not disclose such Confidential
+*  Information and shall use it only in accordance with the terms of the
+*  license agreement you entered into with J-Tech.
+*
+*/
+package br.com.jtech.tasklist.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+* Creates {@code users} users with {@code tasksPerUser} tasks each through the API (register,
+* login, CSV import), so it works against any running instance. The data depends only on the
+* seed; users that already have the tasks, from a previous run on the same database, are reused.
+*
+* @author jtech
+*/
+final class ApiSeeder {
+
+    static final String[] WORDS = {"report", "meeting", "groceries", "deploy", "review", "invoice", "backup", "release"};
+    private static final int LISTS_PER_USER = 5;
+
+    private static final Logger log = LoggerFactory.getLogger(ApiSeeder.class);
+
+    private final LoadTestClient client;
+    private final LoadTestOptions options;
+
+    ApiSeeder(LoadTestClient client, LoadTestOptions options) {
+        this.client = client;
+        this.options = options;
+    }
+
+    List<UserSession> seed() throws Exception {
+        long start = System.nanoTime();
+        List<Future<UserSession>> futures = new ArrayList<>(options.users());
+        try (ExecutorService executor = Executors.newFixedThreadPool(options.concurrency())) {
+            for (int i = 0; i < options.users(); i++) {
+                int user = i;
+                futures.add(executor.submit(() -> seedUser(user)));
+            }
+        }
+        List<UserSession> sessions = new ArrayList<>(futures.size());
+        for (Future<UserSession> future : futures) {
+            sessions.add(future.get());
+        }
+        log.info("::: Seeded {} users with {} tasks each in {} ms.", options.users(), options.tasksPerUser(),
+                (System.nanoTime() - start) / 1_000_000);
+        return sessions;
+    }
+
+    private UserSession seedUser(int user) throws Exception {
+        String email = "load-user-" + user + "@loadtest.local";
+        client.register("Load User " + user, email);
+        String token = client.token(client.login(email));
+
+        List<String> ids = client.taskIds(token);
+        if (ids.size() < options.tasksPerUser()) {
+            client.importCsv(token, csv(user, options.tasksPerUser() - ids.size()));
+            ids = client.taskIds(token);
+        }
+        return new UserSession(email, token, ids);
+    }
+
+    private String csv(int user, int tasks) {
+        SplittableRandom random = new SplittableRandom(options.seed() * 1_000_003 + user);
+        StringBuilder csv = new StringBuilder(tasks * 64).append("title,description,completed,taskListName\n");
+        for (int i = 0; i < tasks; i++) {
+            String word = WORDS[random.nextInt(WORDS.length)];
+            csv.append("Task ").append(i).append(' ').append(word).append(',')
+                    .append("Seeded ").append(word).append(" task number ").append(i).append(',')
+                    .append(random.nextInt(10) < 3).append(',')
+                    .append("List ").append(random.nextInt(LISTS_PER_USER)).append('\n');
+        }
+        return csv.toString();
+    }
+}
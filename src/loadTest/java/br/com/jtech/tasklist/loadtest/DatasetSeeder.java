@@ -0,0 +1,82 @@
+/*
+*  @(#)DatasetSeeder.java
+*
+*  Copyright (c) J-Tech Solucoes em Informatica.
+*  All Rights Reserved.
+*
+*  This software is the confidential and proprietary information of J-Tech.
+*  ("Confidential Information"). You shall not disclose such Confidential
+*  Information and shall use it only in accordance with the terms of the
+*  license agreement you entered into with J-Tech.
+*
+*/
+package br.com.jtech.tasklist.loadtest;
+
+import br.com.jtech.tasklist.config.infra.security.RegisteredEmailFilter;
+import br.com.jtech.tasklist.loadtest.datagen.DatasetGenerator;
+import br.com.jtech.tasklist.loadtest.datagen.DatasetSpec;
+import br.com.jtech.tasklist.loadtest.datagen.DatasetSummary;
+import br.com.jtech.tasklist.loadtest.datagen.DatasetSummary.GeneratedUser;
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+* Writes a skewed dataset straight into the embedded database with the {@link DatasetGenerator},
+* then logs every user in through the API. Only the first {@link #SAMPLE_SIZE} ids of each user
+* are loaded for toggles and deletes; the page requests are sized by the generated counts.
+*
+* @author jtech
+*/
+final class DatasetSeeder {
+
+    private static final int SAMPLE_SIZE = 100;
+
+    private final LoadTestClient client;
+    private final LoadTestOptions options;
+    private final ApplicationContext context;
+
+    DatasetSeeder(LoadTestClient client, LoadTestOptions options, ApplicationContext context) {
+        this.client = client;
+        this.options = options;
+        this.context = context;
+    }
+
+    List<UserSession> seed() throws Exception {
+        DatasetSpec spec = DatasetSpec.builder()
+                .seed(options.seed())
+                .users(options.users())
+                .heavyUsers(options.heavyUsers())
+                .heavyUserTasks(options.heavyUserTasks())
+                .tasksPerUser(options.tasksPerUser())
+                .emailDomain("loadtest.local")
+                .build();
+        DatasetSummary summary = new DatasetGenerator(context.getBean(DataSource.class),
+                context.getBean(PasswordEncoder.class)).generate(spec);
+        RegisteredEmailFilter registeredEmailFilter = context.getBean(RegisteredEmailFilter.class);
+        summary.users().forEach(user -> registeredEmailFilter.add(user.email()));
+
+        List<Future<UserSession>> futures = new ArrayList<>(summary.users().size());
+        try (ExecutorService executor = Executors.newFixedThreadPool(options.concurrency())) {
+            for (GeneratedUser user : summary.users()) {
+                futures.add(executor.submit(() -> session(user)));
+            }
+        }
+        List<UserSession> sessions = new ArrayList<>(futures.size());
+        for (Future<UserSession> future : futures) {
+            sessions.add(future.get());
+        }
+        return sessions;
+    }
+
+    private UserSession session(GeneratedUser user) throws Exception {
+        String token = client.token(client.login(user.email()));
+        return new UserSession(user.email(), token, client.firstTaskIds(token, SAMPLE_SIZE), user.activeTasks());
+    }
+}
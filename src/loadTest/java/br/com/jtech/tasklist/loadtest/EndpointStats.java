@@ -0,0 +1,68 @@
+/*
+*  @(#)EndpointStats.java
+*
+*  Copyright (c) J-Tech Solucoes em Informatica.
+*  All Rights Reserved.
+*
+*  This software is the confidential and proprietary information of J-Tech.
+*  ("Confidential Information"). You shall not disclose such Confidential
+*  Information and shall use it only in accordance with the terms of the
+*  license agreement you entered into with J-Tech.
+*
+*/
+package br.com.jtech.tasklist.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+* Latencies (HdrHistogram, microseconds with three significant digits) and error count of one
+* operation. Every request is recorded, failed ones included, so errors that come back fast do
+* not make the percentiles look better than the service is.
+*
+* @author jtech
+*/
+final class EndpointStats {
+
+    private final Operation operation;
+    private final Recorder recorder = new Recorder(TimeUnit.MINUTES.toMicros(1), 3);
+    private final LongAdder errors = new LongAdder();
+    private Histogram histogram;
+
+    EndpointStats(Operation operation) {
+        this.operation = operation;
+    }
+
+    void record(long nanos, boolean success) {
+        recorder.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), TimeUnit.MINUTES.toMicros(1)));
+        if (!success) {
+            errors.increment();
+        }
+    }
+
+    /**
+     * Closes the recording; called once, after the workers stopped.
+     */
+    void finish() {
+        histogram = recorder.getIntervalHistogram();
+    }
+
+    Operation operation() {
+        return operation;
+    }
+
+    long count() {
+        return histogram.getTotalCount();
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    Histogram histogram() {
+        return histogram;
+    }
+}
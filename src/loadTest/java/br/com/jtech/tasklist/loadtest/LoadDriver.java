@@ -0,0 +1,138 @@
+/*
+*  @(#)LoadDriver.java
+*
+*  Copyright (c) J-Tech Solucoes em Informatica.
+*  All Rights Reserved.
+*
+*  This software is the confidential and proprietary information of J-Tech.
+*  ("Confidential Information"). You shall not disclose such Confidential
+*  Information and shall use it only in accordance with the terms of the
+*  license agreement you entered into with J-Tech.
+*
+*/
+package br.com.jtech.tasklist.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.http.HttpResponse;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+* Closed-model traffic: {@code concurrency} virtual users, each sending its next request as soon
+* as the previous one answered, with the operation drawn from the {@link Operation} mix and the
+* user drawn from the seeded sessions. Requests that start during the warmup are not recorded.
+* Every worker has its own random sequence derived from the seed, so two runs send the same mix.
+*
+* @author jtech
+*/
+final class LoadDriver {
+
+    private static final int PAGE_SIZE = 20;
+
+    private static final Logger log = LoggerFactory.getLogger(LoadDriver.class);
+
+    private final LoadTestClient client;
+    private final LoadTestOptions options;
+    private final List<UserSession> sessions;
+    private final Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+
+    LoadDriver(LoadTestClient client, LoadTestOptions options, List<UserSession> sessions) {
+        this.client = client;
+        this.options = options;
+        this.sessions = sessions;
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new EndpointStats(operation));
+        }
+    }
+
+    Map<Operation, EndpointStats> run() {
+        long start = System.nanoTime();
+        long measureFrom = start + options.warmup().toNanos();
+        long end = measureFrom + options.duration().toNanos();
+        log.info("::: Running {} virtual users for {} (+ {} warmup).", options.concurrency(), options.duration(),
+                options.warmup());
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int worker = 0; worker < options.concurrency(); worker++) {
+                SplittableRandom random = new SplittableRandom(options.seed() * 31 + worker);
+                executor.submit(() -> work(random, measureFrom, end));
+            }
+        }
+        stats.values().forEach(EndpointStats::finish);
+        return stats;
+    }
+
+    private void work(SplittableRandom random, long measureFrom, long end) {
+        while (System.nanoTime() < end) {
+            UserSession session = sessions.get(random.nextInt(sessions.size()));
+            Operation operation = Operation.pick(random);
+            if ((operation == Operation.TOGGLE || operation == Operation.DELETE) && session.taskCount() == 0) {
+                operation = Operation.CREATE;
+            }
+            String taskId = switch (operation) {
+                case TOGGLE -> session.anyTask(random);
+                case DELETE -> session.removeAnyTask(random);
+                default -> null;
+            };
+
+            long started = System.nanoTime();
+            boolean success;
+            try {
+                success = execute(operation, session, taskId, random);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                success = false;
+            }
+            if (started >= measureFrom) {
+                stats.get(operation).record(System.nanoTime() - started, success);
+            }
+        }
+    }
+
+    private boolean execute(Operation operation, UserSession session, String taskId, SplittableRandom random)
+            throws Exception {
+        String token = session.token();
+        switch (operation) {
+            case LOGIN -> {
+                HttpResponse<byte[]> response = client.login(session.email());
+                if (response.statusCode() != 200) {
+                    return false;
+                }
+                session.token(client.token(response));
+                return true;
+            }
+            case LIST_PAGE -> {
+                int pages = (int) Math.max(1, session.activeTasks() / PAGE_SIZE);
+                return client.listPage(token, random.nextInt(pages), PAGE_SIZE).statusCode() == 200;
+            }
+            case SEARCH -> {
+                String word = ApiSeeder.WORDS[random.nextInt(ApiSeeder.WORDS.length)];
+                return client.search(token, word, PAGE_SIZE).statusCode() == 200;
+            }
+            case CREATE -> {
+                HttpResponse<byte[]> response = client.create(token, "Task created under load",
+                        "Created by the load test");
+                if (response.statusCode() != 201) {
+                    return false;
+                }
+                session.addTask(client.id(response));
+                return true;
+            }
+            case TOGGLE -> {
+                return client.toggle(token, taskId, random.nextBoolean()).statusCode() == 202;
+            }
+            case DELETE -> {
+                return client.delete(token, taskId).statusCode() == 204;
+            }
+            default -> throw new IllegalStateException("Operação desconhecida: " + operation);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+*  @(#)LoadReport.java
+*
+*  Copyright (c) J-Tech Solucoes em Informatica.
+*  All Rights Reserved.
+*
+*  This software is the confidential and proprietary information of J-Tech.
+*  ("Confidential Information"). You shall not disclose such Confidential
+*  Information and shall use it only in accordance with the terms of the
+*  license agreement you entered into with J-Tech.
+*
+*/
+package br.com.jtech.tasklist.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+* Throughput and latency percentiles per operation and in total, printed as a table and written
+* as JSON to {@code loadtest.report} for comparison between versions. {@link #passed} applies the
+* {@code max-error-rate} and {@code max-p99} limits to the total.
+*
+* @author jtech
+*/
+final class LoadReport {
+
+    private final LoadTestOptions options;
+    private final Map<Operation, EndpointStats> stats;
+    private final Histogram total = new Histogram(3);
+    private long totalErrors;
+
+    LoadReport(LoadTestOptions options, Map<Operation, EndpointStats> stats) {
+        this.options = options;
+        this.stats = stats;
+        for (EndpointStats endpoint : stats.values()) {
+            total.add(endpoint.histogram());
+            totalErrors += endpoint.errors();
+        }
+    }
+
+    void print(PrintStream out) {
+        out.println();
+        out.printf(Locale.ROOT, "%-38s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p90 ms", "p95 ms", "p99 ms", "Max ms");
+        for (EndpointStats endpoint : stats.values()) {
+            printLine(out, endpoint.operation().getEndpoint(), endpoint.histogram(), endpoint.errors());
+        }
+        printLine(out, "Total", total, totalErrors);
+        out.println();
+    }
+
+    void write(ObjectMapper mapper) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("finishedAt", Instant.now().toString());
+        report.put("target", options.embedded() ? "embedded" : options.baseUrl());
+        report.put("users", options.users());
+        report.put("tasksPerUser", options.tasksPerUser());
+        report.put("concurrency", options.concurrency());
+        report.put("durationSeconds", seconds());
+        report.put("seed", options.seed());
+        List<Map<String, Object>> operations = new ArrayList<>();
+        for (EndpointStats endpoint : stats.values()) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("operation", endpoint.operation().name());
+            entry.put("endpoint", endpoint.operation().getEndpoint());
+            entry.putAll(summary(endpoint.histogram(), endpoint.errors()));
+            operations.add(entry);
+        }
+        report.put("operations", operations);
+        report.put("total", summary(total, totalErrors));
+
+        Path parent = options.report().toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        mapper.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValue(options.report().toFile(), report);
+    }
+
+    boolean passed(PrintStream out) {
+        boolean passed = true;
+        double errorRate = total.getTotalCount() == 0 ? 1.0 : (double) totalErrors / total.getTotalCount();
+        if (errorRate > options.maxErrorRate()) {
+            out.printf(Locale.ROOT, "Taxa de erros %.2f%% acima do limite de %.2f%%%n",
+                    errorRate * 100, options.maxErrorRate() * 100);
+            passed = false;
+        }
+        if (options.maxP99() != null && total.getValueAtPercentile(99) > options.maxP99().toNanos() / 1_000) {
+            out.printf(Locale.ROOT, "p99 de %.1f ms acima do limite de %d ms%n",
+                    millis(total.getValueAtPercentile(99)), options.maxP99().toMillis());
+            passed = false;
+        }
+        return passed;
+    }
+
+    private void printLine(PrintStream out, String name, Histogram histogram, long errors) {
+        out.printf(Locale.ROOT, "%-38s %9d %7d %9.1f %9.1f %9.1f %9.1f %9.1f %9.1f%n", name,
+                histogram.getTotalCount(), errors, histogram.getTotalCount() / seconds(),
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(95)), millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getMaxValue()));
+    }
+
+    private Map<String, Object> summary(Histogram histogram, long errors) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", histogram.getTotalCount());
+        summary.put("errors", errors);
+        summary.put("throughput", round(histogram.getTotalCount() / seconds()));
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("mean", round(histogram.getMean() / 1_000));
+        for (double percentile : new double[]{50, 90, 95, 99, 99.9}) {
+            latency.put("p" + (percentile % 1 == 0 ? String.valueOf((int) percentile) : String.valueOf(percentile)),
+                    round(millis(histogram.getValueAtPercentile(percentile))));
+        }
+        latency.put("max", round(millis(histogram.getMaxValue())));
+        summary.put("latencyMs", latency);
+        return summary;
+    }
+
+    private double seconds() {
+        return options.duration().toMillis() / 1_000.0;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1_000.0;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1_000) / 1_000.0;
+    }
+}
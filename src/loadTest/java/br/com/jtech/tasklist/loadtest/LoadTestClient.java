@@ -0,0 +1,147 @@
+/*
+*  @(#)LoadTestClient.java
+*
+*  Copyright (c) J-Tech Solucoes em Informatica.
+*  All Rights Reserved.
+*
+*  This software is the confidential and proprietary information of J-Tech.
+*  ("Confidential Information"). You shall not disclose such Confidential
+*  Information and shall use it only in accordance with the terms of the
+*  license agreement you entered into with J-Tech.
+*
+*/
+package br.com.jtech.tasklist.loadtest;
+
+import br.com.jtech.tasklist.loadtest.datagen.DatasetGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+* The API calls of the seeding and of the traffic mix, over one shared {@link HttpClient}
+* (HTTP/1.1 with keep-alive, as browsers and mobile clients reach the service).
+*
+* @author jtech
+*/
+final class LoadTestClient {
+
+    static final String PASSWORD = DatasetGenerator.PASSWORD;
+
+    private final HttpClient http;
+    private final ObjectMapper mapper;
+    private final String baseUrl;
+
+    LoadTestClient(String baseUrl, ObjectMapper mapper) {
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        this.mapper = mapper;
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+    /**
+     * Registers the user; an existing one (a previous run against the same database) is kept.
+     */
+    void register(String name, String email) throws IOException, InterruptedException {
+        int status = send(json("/api/v1/auth/register", null, "POST",
+                Map.of("name", name, "email", email, "password", PASSWORD))).statusCode();
+        if (status != 201 && status != 409) {
+            throw new IllegalStateException("Cadastro de " + email + " retornou " + status);
+        }
+    }
+
+    HttpResponse<byte[]> login(String email) throws IOException, InterruptedException {
+        return send(json("/api/v1/auth/login", null, "POST", Map.of("email", email, "password", PASSWORD)));
+    }
+
+    String token(HttpResponse<byte[]> login) throws IOException {
+        return mapper.readTree(login.body()).path("accessToken").asText();
+    }
+
+    void importCsv(String token, String csv) throws IOException, InterruptedException {
+        HttpRequest request = request("/api/v1/tasks/import?format=csv", token)
+                .header("Content-Type", "text/csv")
+                .POST(HttpRequest.BodyPublishers.ofString(csv, StandardCharsets.UTF_8))
+                .build();
+        int status = send(request).statusCode();
+        if (status != 200) {
+            throw new IllegalStateException("Importação retornou " + status);
+        }
+    }
+
+    List<String> taskIds(String token) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = send(request("/api/v1/tasks/all", token).GET().build());
+        List<String> ids = new ArrayList<>();
+        for (JsonNode task : mapper.readTree(response.body())) {
+            ids.add(task.path("id").asText());
+        }
+        return ids;
+    }
+
+    List<String> firstTaskIds(String token, int size) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = listPage(token, 0, size);
+        List<String> ids = new ArrayList<>();
+        for (JsonNode task : mapper.readTree(response.body()).path("content")) {
+            ids.add(task.path("id").asText());
+        }
+        return ids;
+    }
+
+    HttpResponse<byte[]> listPage(String token, int page, int size) throws IOException, InterruptedException {
+        return send(request("/api/v1/tasks?page=" + page + "&size=" + size, token).GET().build());
+    }
+
+    HttpResponse<byte[]> search(String token, String title, int size) throws IOException, InterruptedException {
+        return send(request("/api/v1/tasks?size=" + size + "&title=" + URLEncoder.encode(title, StandardCharsets.UTF_8),
+                token).GET().build());
+    }
+
+    HttpResponse<byte[]> create(String token, String title, String description) throws IOException, InterruptedException {
+        return send(json("/api/v1/tasks", token, "POST", Map.of("title", title, "description", description)));
+    }
+
+    String id(HttpResponse<byte[]> created) throws IOException {
+        return mapper.readTree(created.body()).path("id").asText();
+    }
+
+    HttpResponse<byte[]> toggle(String token, String id, boolean completed) throws IOException, InterruptedException {
+        return send(json("/api/v1/tasks/" + id + "/completed", token, "PATCH", Map.of("completed", completed)));
+    }
+
+    HttpResponse<byte[]> delete(String token, String id) throws IOException, InterruptedException {
+        return send(request("/api/v1/tasks/" + id + "/soft", token).DELETE().build());
+    }
+
+    private HttpRequest json(String path, String token, String method, Object body) throws IOException {
+        return request(path, token)
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(body)))
+                .build();
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Accept", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private HttpResponse<byte[]> send(HttpRequest request) throws IOException, InterruptedException {
+        return http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
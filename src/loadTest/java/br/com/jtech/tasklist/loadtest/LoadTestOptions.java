@@ -0,0 +1,72 @@
+/*
+*  @(#)LoadTestOptions.java
+*
+*  Copyright (c) J-Tech Solucoes em Informatica.
+*  All Rights Reserved.
+*
+*  This software is the confidential and proprietary information of J-Tech.
+*  ("Confidential Information"). You shall not disclose such Confidential
+*  Information and shall use it only in accordance with the terms of the
+*  license agreement you entered into with J-Tech.
+*
+*/
+package br.com.jtech.tasklist.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+* Settings of a run, read from {@code loadtest.*} system properties ({@code gradle loadTest
+* -Ploadtest.users=100} passes them on). Without {@code loadtest.base-url} the application is
+* started in the same JVM on H2. {@code loadtest.dataset=generated} (embedded only) seeds with the
+* {@link br.com.jtech.tasklist.loadtest.datagen.DatasetGenerator} instead of the API, adding
+* {@code heavy-users} users with {@code heavy-user-tasks} tasks each and a skewed task count for the
+* others.
+*
+* @author jtech
+*/
+public record LoadTestOptions(
+        String baseUrl,
+        String dataset,
+        int users,
+        int tasksPerUser,
+        int heavyUsers,
+        int heavyUserTasks,
+        int concurrency,
+        Duration warmup,
+        Duration duration,
+        long seed,
+        double maxErrorRate,
+        Duration maxP99,
+        Path report) {
+
+    public static LoadTestOptions fromSystemProperties() {
+        String maxP99 = property("max-p99", "");
+        return new LoadTestOptions(
+                property("base-url", ""),
+                property("dataset", "api"),
+                Integer.parseInt(property("users", "20")),
+                Integer.parseInt(property("tasks-per-user", "200")),
+                Integer.parseInt(property("heavy-users", "2")),
+                Integer.parseInt(property("heavy-user-tasks", "100000")),
+                Integer.parseInt(property("concurrency", "16")),
+                Duration.parse(property("warmup", "PT10S")),
+                Duration.parse(property("duration", "PT30S")),
+                Long.parseLong(property("seed", "42")),
+                Double.parseDouble(property("max-error-rate", "0.01")),
+                maxP99.isEmpty() ? null : Duration.parse(maxP99),
+                Path.of(property("report", "build/reports/load-test/results.json")));
+    }
+
+    public boolean embedded() {
+        return baseUrl.isEmpty();
+    }
+
+    public boolean generated() {
+        return dataset.equals("generated");
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty("loadtest." + name, defaultValue);
+    }
+}
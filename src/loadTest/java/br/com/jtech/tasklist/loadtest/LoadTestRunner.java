@@ -0,0 +1,74 @@
+/*
+*  @(#)LoadTestRunner.java
+*
+*  Copyright (c) J-Tech Solucoes em Informatica.
+*  All Rights Reserved.
+*
+*  This software is the confidential and proprietary information of J-Tech.
+*  ("Confidential Information"). You shall not disclose such Confidential
+*  Information and shall use it only in accordance with the terms of the
+*  license agreement you entered into with J-Tech.
+*
+*/
+package br.com.jtech.tasklist.loadtest;
+
+import br.com.jtech.tasklist.StartTasklist;
+import br.com.jtech.tasklist.config.infra.json.JacksonConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+* Entry point of {@code gradle loadTest}: starts the application on H2 with the {@code loadtest}
+* profile (or targets {@code loadtest.base-url}), seeds the users and tasks through the API or the
+* dataset generator, runs the traffic mix and reports per endpoint. Exits with 1 when the limits of {@link LoadReport#passed} are exceeded,
+* so the task fails the build.
+*
+* @author jtech
+*/
+public final class LoadTestRunner {
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.fromSystemProperties();
+        ObjectMapper mapper = JacksonConfig.standaloneMapper();
+        ConfigurableApplicationContext context = null;
+        boolean passed;
+        try {
+            String baseUrl = options.baseUrl();
+            if (options.embedded()) {
+                System.setProperty("spring.profiles.active", "loadtest");
+                context = new SpringApplicationBuilder(StartTasklist.class).run(args);
+                baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            }
+            LoadTestClient client = new LoadTestClient(baseUrl, mapper);
+            List<UserSession> sessions = options.generated()
+                    ? new DatasetSeeder(client, options, requireContext(context)).seed()
+                    : new ApiSeeder(client, options).seed();
+            Map<Operation, EndpointStats> stats = new LoadDriver(client, options, sessions).run();
+
+            LoadReport report = new LoadReport(options, stats);
+            report.print(System.out);
+            report.write(mapper);
+            System.out.println("Relatório: " + options.report().toAbsolutePath());
+            passed = report.passed(System.out);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+        System.exit(passed ? 0 : 1);
+    }
+
+    private static ConfigurableApplicationContext requireContext(ConfigurableApplicationContext context) {
+        if (context == null) {
+            throw new IllegalArgumentException("loadtest.dataset=generated só funciona sem loadtest.base-url");
+        }
+        return context;
+    }
+}
@@ -0,0 +1,65 @@
+/*
+*  @(#)Operation.java
+*
+*  Copyright (c) J-Tech Solucoes em Informatica.
+*  All Rights Reserved.
+*
+*  This software is the confidential and proprietary information of J-Tech.
+*  ("Confidential Information"). You shall not disclose such Confidential
+*  Information and shall use it only in accordance with the terms of the
+*  license agreement you entered into with J-Tech.
+*
+*/
+package br.com.jtech.tasklist.loadtest;
+
+import java.util.SplittableRandom;
+
+/**
+* Requests of the traffic mix and their share of it, roughly the proportions of a task list
+* client: mostly reads, a steady flow of creations and toggles, few logins and deletions.
+*
+* @author jtech
+*/
+public enum Operation {
+
+    LOGIN("POST /api/v1/auth/login", 5),
+    LIST_PAGE("GET /api/v1/tasks", 35),
+    SEARCH("GET /api/v1/tasks?title=", 20),
+    CREATE("POST /api/v1/tasks", 15),
+    TOGGLE("PATCH /api/v1/tasks/{id}/completed", 20),
+    DELETE("DELETE /api/v1/tasks/{id}/soft", 5);
+
+    private static final Operation[] VALUES = values();
+    private static final int TOTAL_WEIGHT = totalWeight();
+
+    private final String endpoint;
+    private final int weight;
+
+    Operation(String endpoint, int weight) {
+        this.endpoint = endpoint;
+        this.weight = weight;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public static Operation pick(SplittableRandom random) {
+        int value = random.nextInt(TOTAL_WEIGHT);
+        for (Operation operation : VALUES) {
+            value -= operation.weight;
+            if (value < 0) {
+                return operation;
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    private static int totalWeight() {
+        int total = 0;
+        for (Operation operation : VALUES) {
+            total += operation.weight;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,86 @@
+/*
+*  @(#)UserSession.java
+*
+*  Copyright (c) J-Tech Solucoes em Informatica.
+*  All Rights Reserved.
+*
+*  This software is the confidential and proprietary information of J-Tech.
+*  ("Confidential Information"). You shall not disclose such Confidential
+*  Information and shall use it only in accordance with the terms of the
+*  license agreement you entered into with J-Tech.
+*
+*/
+package br.com.jtech.tasklist.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+* A seeded user, its current token and the ids of its active tasks. Workers share sessions, so
+* the id list is only touched under the session lock; a task picked for deletion leaves the list
+* before the request, so no other worker toggles it meanwhile. Users of a generated dataset only
+* hold a sample of their ids, so the number of active tasks, which sizes the page requests, is
+* kept apart.
+*
+* @author jtech
+*/
+final class UserSession {
+
+    private final String email;
+    private final List<String> taskIds;
+    private volatile String token;
+    private long activeTasks;
+
+    UserSession(String email, String token, List<String> taskIds) {
+        this(email, token, taskIds, taskIds.size());
+    }
+
+    UserSession(String email, String token, List<String> taskIds, long activeTasks) {
+        this.email = email;
+        this.token = token;
+        this.taskIds = new ArrayList<>(taskIds);
+        this.activeTasks = activeTasks;
+    }
+
+    String email() {
+        return email;
+    }
+
+    String token() {
+        return token;
+    }
+
+    void token(String token) {
+        this.token = token;
+    }
+
+    synchronized int taskCount() {
+        return taskIds.size();
+    }
+
+    synchronized long activeTasks() {
+        return activeTasks;
+    }
+
+    synchronized String anyTask(SplittableRandom random) {
+        return taskIds.isEmpty() ? null : taskIds.get(random.nextInt(taskIds.size()));
+    }
+
+    synchronized String removeAnyTask(SplittableRandom random) {
+        if (taskIds.isEmpty()) {
+            return null;
+        }
+        int index = random.nextInt(taskIds.size());
+        String id = taskIds.get(index);
+        taskIds.set(index, taskIds.get(taskIds.size() - 1));
+        taskIds.remove(taskIds.size() - 1);
+        activeTasks--;
+        return id;
+    }
+
+    synchronized void addTask(String id) {
+        taskIds.add(id);
+        activeTasks++;
+    }
+}
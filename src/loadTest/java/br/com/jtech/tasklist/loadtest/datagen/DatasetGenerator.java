@@ -0,0 +1,382 @@
+/*
+*  @(#)DatasetGenerator.java
+*
+*  Copyright (c) J-Tech Solucoes em Informatica.
+*  All Rights Reserved.
+*
+*  This software is the confidential and proprietary information of J-Tech.
+*  ("Confidential Information"). You shall not disclose such Confidential
+*  Information and shall use it only in accordance with the terms of the
+*  license agreement you entered into with J-Tech.
+*
+*/
+package br.com.jtech.tasklist.loadtest.datagen;
+
+import br.com.jtech.tasklist.loadtest.datagen.DatasetSummary.GeneratedUser;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+* Writes a synthetic dataset described by a {@link DatasetSpec} straight into users, task_lists
+* and tasks, with the same columns the entities map and the counters the services maintain
+* (active tasks only). Tasks go through {@code COPY ... FROM STDIN} on PostgreSQL and JDBC batches
+* elsewhere (H2 in the tests). Each user is one transaction on its own connection, and users are
+* written in parallel by {@code threads} workers.
+*
+* <p>Every user draws from a random sequence derived only from the seed and its index, so ids,
+* titles, dates and flags are the same on every run and do not depend on the other users or the
+* number of threads. The tasks of a user are generated twice from the same sequence: once to
+* count them for the counter columns and once to write them, so no user is ever held in memory.
+* All users get the password {@link #PASSWORD}.
+*
+* @author jtech
+*/
+@Slf4j
+public class DatasetGenerator {
+
+    public static final String PASSWORD = "password123";
+
+    private static final String[] WORDS = {"report", "meeting", "groceries", "deploy", "review", "invoice", "backup",
+            "release", "budget", "interview", "migration", "dentist", "training", "audit", "payment", "design"};
+
+    private static final String USER_SQL = "INSERT INTO users (id, name, email, password, task_count, completed_task_count, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String LIST_SQL = "INSERT INTO task_lists (id, name, active, user_id, task_count, completed_task_count, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String COPY_SQL = "COPY tasks (id, title, description, completed, active, user_id, task_list_id, created_at, updated_at) "
+            + "FROM STDIN WITH (FORMAT csv)";
+
+    private static final String INSERT_SQL = "INSERT INTO tasks (id, title, description, completed, active, user_id, task_list_id, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final DataSource dataSource;
+    private final PasswordEncoder passwordEncoder;
+
+    public DatasetGenerator(DataSource dataSource, PasswordEncoder passwordEncoder) {
+        this.dataSource = dataSource;
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    public DatasetSummary generate(DatasetSpec spec) throws SQLException {
+        if (exists(spec.email(0))) {
+            throw new IllegalStateException("A base já contém o conjunto de dados de " + spec.email(0));
+        }
+        long start = System.nanoTime();
+        String passwordHash = passwordEncoder.encode(PASSWORD);
+
+        List<Future<GeneratedUser>> futures = new ArrayList<>(spec.getUsers());
+        try (ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, spec.getThreads()))) {
+            for (int user = 0; user < spec.getUsers(); user++) {
+                UserPlan plan = new UserPlan(spec, user);
+                futures.add(executor.submit(() -> write(plan, passwordHash)));
+            }
+        }
+
+        List<GeneratedUser> users = new ArrayList<>(futures.size());
+        long taskLists = 0;
+        long tasks = 0;
+        long deletedTasks = 0;
+        for (Future<GeneratedUser> future : futures) {
+            GeneratedUser user = result(future);
+            users.add(user);
+            taskLists += user.taskLists();
+            tasks += user.activeTasks() + user.deletedTasks();
+            deletedTasks += user.deletedTasks();
+        }
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        log.info("::: Generated {} users, {} task lists and {} tasks ({} soft deleted) in {} ms.",
+                users.size(), taskLists, tasks, deletedTasks, millis);
+        return new DatasetSummary(users, taskLists, tasks, deletedTasks, millis);
+    }
+
+    private boolean exists(String email) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT 1 FROM users WHERE email = ?")) {
+            statement.setString(1, email);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next();
+            }
+        }
+    }
+
+    private GeneratedUser write(UserPlan plan, String passwordHash) throws Exception {
+        Counters counters = plan.count();
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                insertUser(connection, plan, counters, passwordHash);
+                insertLists(connection, plan, counters);
+                if (connection.isWrapperFor(PGConnection.class)) {
+                    copyTasks(connection.unwrap(PGConnection.class), plan);
+                } else {
+                    insertTasks(connection, plan);
+                }
+                connection.commit();
+            } catch (Exception e) {
+                connection.rollback();
+                throw e;
+            }
+        }
+        return new GeneratedUser(plan.id, plan.email, counters.active, counters.deleted, plan.lists.size());
+    }
+
+    private void insertUser(Connection connection, UserPlan plan, Counters counters, String passwordHash) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(USER_SQL)) {
+            Timestamp createdAt = Timestamp.valueOf(plan.createdAt);
+            statement.setObject(1, plan.id);
+            statement.setString(2, plan.name);
+            statement.setString(3, plan.email);
+            statement.setString(4, passwordHash);
+            statement.setLong(5, counters.active);
+            statement.setLong(6, counters.completed);
+            statement.setTimestamp(7, createdAt);
+            statement.setTimestamp(8, createdAt);
+            statement.executeUpdate();
+        }
+    }
+
+    private void insertLists(Connection connection, UserPlan plan, Counters counters) throws SQLException {
+        if (plan.lists.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement statement = connection.prepareStatement(LIST_SQL)) {
+            for (int i = 0; i < plan.lists.size(); i++) {
+                ListPlan list = plan.lists.get(i);
+                Timestamp createdAt = Timestamp.valueOf(list.createdAt);
+                statement.setObject(1, list.id);
+                statement.setString(2, list.name);
+                statement.setBoolean(3, list.active);
+                statement.setObject(4, plan.id);
+                statement.setLong(5, counters.listActive[i]);
+                statement.setLong(6, counters.listCompleted[i]);
+                statement.setTimestamp(7, createdAt);
+                statement.setTimestamp(8, createdAt);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private void copyTasks(PGConnection connection, UserPlan plan) throws SQLException {
+        CopyIn copy = connection.getCopyAPI().copyIn(COPY_SQL);
+        try {
+            StringBuilder csv = new StringBuilder(plan.spec.getBatchSize() * 160);
+            int[] pending = {0};
+            plan.tasks(task -> {
+                appendCsv(csv, plan, task);
+                if (++pending[0] == plan.spec.getBatchSize()) {
+                    byte[] bytes = csv.toString().getBytes(StandardCharsets.UTF_8);
+                    copy.writeToCopy(bytes, 0, bytes.length);
+                    csv.setLength(0);
+                    pending[0] = 0;
+                }
+            });
+            byte[] bytes = csv.toString().getBytes(StandardCharsets.UTF_8);
+            copy.writeToCopy(bytes, 0, bytes.length);
+            copy.endCopy();
+        } finally {
+            if (copy.isActive()) {
+                copy.cancelCopy();
+            }
+        }
+    }
+
+    private void appendCsv(StringBuilder csv, UserPlan plan, TaskPlan task) {
+        csv.append(task.id).append(',');
+        appendQuoted(csv, task.title);
+        csv.append(',');
+        // Unquoted empty field is NULL in COPY csv format
+        if (task.description != null) {
+            appendQuoted(csv, task.description);
+        }
+        csv.append(',').append(task.completed).append(',').append(task.active).append(',').append(plan.id).append(',');
+        if (task.list >= 0) {
+            csv.append(plan.lists.get(task.list).id);
+        }
+        csv.append(',').append(Timestamp.valueOf(task.createdAt))
+                .append(',').append(Timestamp.valueOf(task.updatedAt)).append('\n');
+    }
+
+    private void appendQuoted(StringBuilder csv, String value) {
+        csv.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    private void insertTasks(Connection connection, UserPlan plan) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL)) {
+            int[] pending = {0};
+            plan.tasks(task -> {
+                statement.setObject(1, task.id);
+                statement.setString(2, task.title);
+                statement.setString(3, task.description);
+                statement.setBoolean(4, task.completed);
+                statement.setBoolean(5, task.active);
+                statement.setObject(6, plan.id);
+                statement.setObject(7, task.list >= 0 ? plan.lists.get(task.list).id : null);
+                statement.setTimestamp(8, Timestamp.valueOf(task.createdAt));
+                statement.setTimestamp(9, Timestamp.valueOf(task.updatedAt));
+                statement.addBatch();
+                if (++pending[0] == plan.spec.getBatchSize()) {
+                    statement.executeBatch();
+                    pending[0] = 0;
+                }
+            });
+            if (pending[0] > 0) {
+                statement.executeBatch();
+            }
+        }
+    }
+
+    private static GeneratedUser result(Future<GeneratedUser> future) throws SQLException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Geração de dados interrompida", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            throw new IllegalStateException("Erro ao gerar os dados", e.getCause());
+        }
+    }
+
+    private static UUID uuid(SplittableRandom random) {
+        long mostSigBits = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long leastSigBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    private static LocalDateTime instant(SplittableRandom random, DatasetSpec spec) {
+        return spec.getUntil().minusSeconds(random.nextLong(Math.max(1, spec.getHistoryDays() * 86_400L)));
+    }
+
+    @FunctionalInterface
+    private interface TaskSink {
+        void accept(TaskPlan task) throws SQLException;
+    }
+
+    private record ListPlan(UUID id, String name, boolean active, LocalDateTime createdAt) {
+    }
+
+    private record TaskPlan(UUID id, String title, String description, boolean completed, boolean active, int list,
+                            LocalDateTime createdAt, LocalDateTime updatedAt) {
+    }
+
+    private static final class Counters {
+
+        private final long[] listActive;
+        private final long[] listCompleted;
+        private long active;
+        private long completed;
+        private long deleted;
+
+        private Counters(int lists) {
+            this.listActive = new long[lists];
+            this.listCompleted = new long[lists];
+        }
+    }
+
+    /**
+     * Everything about one user except its tasks, which {@link #tasks} regenerates on each call.
+     */
+    private static final class UserPlan {
+
+        private final DatasetSpec spec;
+        private final UUID id;
+        private final String name;
+        private final String email;
+        private final LocalDateTime createdAt;
+        private final List<ListPlan> lists;
+        private final int taskCount;
+        private final long taskSeed;
+
+        private UserPlan(DatasetSpec spec, int user) {
+            SplittableRandom random = new SplittableRandom(spec.getSeed() * 0x9E3779B97F4A7C15L + user);
+            boolean heavy = user < spec.getHeavyUsers();
+            this.spec = spec;
+            this.id = uuid(random);
+            this.name = "User " + user;
+            this.email = spec.email(user);
+            this.createdAt = instant(random, spec).minusDays(spec.getHistoryDays());
+
+            int listCount = heavy ? spec.getListsPerUser() * 10 : random.nextInt(spec.getListsPerUser() * 2 + 1);
+            this.lists = new ArrayList<>(listCount);
+            for (int i = 0; i < listCount; i++) {
+                lists.add(new ListPlan(uuid(random), "List " + i, random.nextDouble() >= spec.getDeletedListRatio(),
+                        instant(random, spec)));
+            }
+
+            double factor = Math.exp(spec.getSkew() * random.nextGaussian() - spec.getSkew() * spec.getSkew() / 2);
+            this.taskCount = heavy ? spec.getHeavyUserTasks() : (int) Math.round(spec.getTasksPerUser() * factor);
+            this.taskSeed = random.nextLong();
+        }
+
+        private Counters count() throws SQLException {
+            Counters counters = new Counters(lists.size());
+            tasks(task -> {
+                if (!task.active) {
+                    counters.deleted++;
+                    return;
+                }
+                counters.active++;
+                if (task.completed) {
+                    counters.completed++;
+                }
+                if (task.list >= 0) {
+                    counters.listActive[task.list]++;
+                    if (task.completed) {
+                        counters.listCompleted[task.list]++;
+                    }
+                }
+            });
+            return counters;
+        }
+
+        private void tasks(TaskSink sink) throws SQLException {
+            SplittableRandom random = new SplittableRandom(taskSeed);
+            for (int i = 0; i < taskCount; i++) {
+                UUID taskId = uuid(random);
+                String word = WORDS[random.nextInt(WORDS.length)];
+                String description = random.nextInt(10) < 3 ? null : "Generated " + word + " task number " + i;
+                boolean completed = random.nextDouble() < spec.getCompletedRatio();
+                double position = random.nextDouble();
+                // Earlier lists get more tasks: position² concentrates the picks at the start
+                int list = lists.isEmpty() || random.nextDouble() < spec.getNoListRatio()
+                        ? -1 : (int) (lists.size() * position * position);
+                boolean active = (list < 0 || lists.get(list).active) && random.nextDouble() >= spec.getDeletedRatio();
+                LocalDateTime taskCreatedAt = instant(random, spec);
+                LocalDateTime updatedAt = taskCreatedAt.plusSeconds(random.nextLong(30 * 86_400L));
+                if (updatedAt.isAfter(spec.getUntil())) {
+                    updatedAt = spec.getUntil();
+                }
+                sink.accept(new TaskPlan(taskId, capitalize(word) + " " + i, description, completed, active, list,
+                        taskCreatedAt, updatedAt));
+            }
+        }
+
+        private static String capitalize(String word) {
+            return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+*  @(#)DatasetGeneratorRunner.java
+*
+*  Copyright (c) J-Tech Solucoes em Informatica.
+*  All Rights Reserved.
+*
+*  This software is the confidential and proprietary information of J-Tech.
+*  ("Confidential Information"). You shall not disclose such Confidential
+*  Information and shall use it only in accordance with the terms of the
+*  license agreement you entered into with J-Tech.
+*
+*/
+package br.com.jtech.tasklist.loadtest.datagen;
+
+import br.com.jtech.tasklist.loadtest.datagen.DatasetSummary.GeneratedUser;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.LocalDateTime;
+
+/**
+* Entry point of {@code gradle datagen}: applies the Flyway migrations to the target database and
+* fills it with the dataset described by the {@code datagen.*} system properties (see
+* {@link DatasetGenerator}), without starting the application. Run it with the application stopped,
+* or restart it afterwards, so the registered email filter sees the generated users.
+*
+* <pre>
+* gradle datagen -Pdatagen.url=jdbc:postgresql://localhost:5433/tasklist_db -Pdatagen.users=1000
+* </pre>
+*
+* @author jtech
+*/
+public final class DatasetGeneratorRunner {
+
+    private DatasetGeneratorRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        DatasetSpec spec = DatasetSpec.builder()
+                .seed(Long.parseLong(property("seed", "42")))
+                .users(Integer.parseInt(property("users", "100")))
+                .heavyUsers(Integer.parseInt(property("heavy-users", "2")))
+                .heavyUserTasks(Integer.parseInt(property("heavy-user-tasks", "100000")))
+                .tasksPerUser(Integer.parseInt(property("tasks-per-user", "200")))
+                .skew(Double.parseDouble(property("skew", "1.0")))
+                .listsPerUser(Integer.parseInt(property("lists-per-user", "10")))
+                .noListRatio(Double.parseDouble(property("no-list-ratio", "0.2")))
+                .completedRatio(Double.parseDouble(property("completed-ratio", "0.4")))
+                .deletedRatio(Double.parseDouble(property("deleted-ratio", "0.1")))
+                .deletedListRatio(Double.parseDouble(property("deleted-list-ratio", "0.05")))
+                .historyDays(Integer.parseInt(property("history-days", "365")))
+                .until(LocalDateTime.parse(property("until", "2025-01-01T00:00:00")))
+                .emailDomain(property("email-domain", "datagen.local"))
+                .batchSize(Integer.parseInt(property("batch-size", "5000")))
+                .threads(Integer.parseInt(property("threads", "4")))
+                .build();
+
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(property("url", "jdbc:postgresql://localhost:5433/tasklist_db"));
+        config.setUsername(property("username", "postgres"));
+        config.setPassword(property("password", "postgres"));
+        config.setMaximumPoolSize(spec.getThreads() + 1);
+
+        try (HikariDataSource dataSource = new HikariDataSource(config)) {
+            Flyway.configure()
+                    .dataSource(dataSource)
+                    .locations("classpath:db/migration")
+                    .baselineOnMigrate(true)
+                    .load()
+                    .migrate();
+
+            System.out.println("Gerando massa " + spec);
+            DatasetSummary summary = new DatasetGenerator(dataSource, new BCryptPasswordEncoder()).generate(spec);
+            summary.users().stream()
+                    .limit(Math.max(spec.getHeavyUsers(), 1))
+                    .forEach(user -> System.out.println(describe(user)));
+        }
+    }
+
+    private static String describe(GeneratedUser user) {
+        return String.format("%s: %d tarefas ativas, %d com soft delete, %d listas",
+                user.email(), user.activeTasks(), user.deletedTasks(), user.taskLists());
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty("datagen." + name, defaultValue);
+    }
+}
@@ -0,0 +1,84 @@
+/*
+*  @(#)DatasetSpec.java
+*
+*  Copyright (c) J-Tech Solucoes em Informatica.
+*  All Rights Reserved.
+*
+*  This software is the confidential and proprietary information of J-Tech.
+*  ("Confidential Information"). You shall not disclose such Confidential
+*  Information and shall use it only in accordance with the terms of the
+*  license agreement you entered into with J-Tech.
+*
+*/
+package br.com.jtech.tasklist.loadtest.datagen;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+* Size and shape of a synthetic dataset. The first {@code heavyUsers} users get
+* {@code heavyUserTasks} tasks and ten times the lists; the others get a log-normal number of
+* tasks around {@code tasksPerUser} ({@code skew} is the sigma, so a few of them still have many
+* times the median). Dates spread over the {@code historyDays} before {@code until}, which is fixed
+* so the same spec always produces the same rows.
+*
+* @author jtech
+*/
+@Value
+@Builder(toBuilder = true)
+public class DatasetSpec {
+
+    @Builder.Default
+    long seed = 42;
+
+    @Builder.Default
+    int users = 100;
+
+    @Builder.Default
+    int heavyUsers = 2;
+
+    @Builder.Default
+    int heavyUserTasks = 100_000;
+
+    @Builder.Default
+    int tasksPerUser = 200;
+
+    @Builder.Default
+    double skew = 1.0;
+
+    @Builder.Default
+    int listsPerUser = 10;
+
+    @Builder.Default
+    double noListRatio = 0.2;
+
+    @Builder.Default
+    double completedRatio = 0.4;
+
+    @Builder.Default
+    double deletedRatio = 0.1;
+
+    @Builder.Default
+    double deletedListRatio = 0.05;
+
+    @Builder.Default
+    int historyDays = 365;
+
+    @Builder.Default
+    LocalDateTime until = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @Builder.Default
+    String emailDomain = "datagen.local";
+
+    @Builder.Default
+    int batchSize = 5_000;
+
+    @Builder.Default
+    int threads = 4;
+
+    public String email(int user) {
+        return "user-" + user + "@" + emailDomain;
+    }
+}
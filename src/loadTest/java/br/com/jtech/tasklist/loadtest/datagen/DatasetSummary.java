@@ -0,0 +1,28 @@
+/*
+*  @(#)DatasetSummary.java
+*
+*  Copyright (c) J-Tech Solucoes em Informatica.
+*  All Rights Reserved.
+*
+*  This software is the confidential and proprietary information of J-Tech.
+*  ("Confidential Information"). You shall not disclose such Confidential
+*  Information and shall use it only in accordance with the terms of the
+*  license agreement you entered into with J-Tech.
+*
+*/
+package br.com.jtech.tasklist.loadtest.datagen;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+* What {@link DatasetGenerator} wrote. {@code users} is in user order, so index 0 is the first
+* heavy user.
+*
+* @author jtech
+*/
+public record DatasetSummary(List<GeneratedUser> users, long taskLists, long tasks, long deletedTasks, long millis) {
+
+    public record GeneratedUser(UUID id, String email, long activeTasks, long deletedTasks, int taskLists) {
+    }
+}
@@ -0,0 +1,87 @@
+/*
+*  @(#)TaskCompletionBuffer.java
+*
+*  Copyright (c) J-Tech Solucoes em Informatica.
+*  All Rights Reserved.
+*
+*  This software is the confidential and proprietary information of J-Tech.
+*  ("Confidential Information"). You shall not disclose such Confidential
+*  Information and shall use it only in accordance with the terms of the
+*  license agreement you entered into with J-Tech.
+*
+*/
+package br.com.jtech.tasklist.config.infra.buffer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+* Pending completion flags per (user, task), last write wins. Repeated clicks on the same
+* task before a flush overwrite each other, so only the final state reaches the database.
+* Entries are removed one by one while draining, so a submit racing with a drain is either
+* part of this flush or of the next one, never lost.
+*
+* @author jtech
+*/
+@Component
+public class TaskCompletionBuffer {
+
+    private record Key(String userEmail, UUID taskId) {
+    }
+
+    private final Map<Key, Boolean> pending = new ConcurrentHashMap<>();
+    private final Counter submitted;
+    private final Counter coalesced;
+
+    public TaskCompletionBuffer(MeterRegistry registry) {
+        this.submitted = Counter.builder("tasks.completion.submitted")
+                .description("Completion toggles accepted by the write-behind buffer")
+                .register(registry);
+        this.coalesced = Counter.builder("tasks.completion.coalesced")
+                .description("Completion toggles overwritten before reaching the database")
+                .register(registry);
+        Gauge.builder("tasks.completion.pending", pending, Map::size)
+                .description("Completion toggles waiting for the next flush")
+                .register(registry);
+    }
+
+    public void submit(String userEmail, UUID taskId, boolean completed) {
+        submitted.increment();
+        if (pending.put(new Key(userEmail, taskId), completed) != null) {
+            coalesced.increment();
+        }
+    }
+
+    /**
+     * Removes and returns everything pending, grouped by user email.
+     */
+    public Map<String, Map<UUID, Boolean>> drain() {
+        Map<String, Map<UUID, Boolean>> byUser = new HashMap<>();
+        for (Key key : pending.keySet()) {
+            Boolean completed = pending.remove(key);
+            if (completed != null) {
+                byUser.computeIfAbsent(key.userEmail(), k -> new HashMap<>()).put(key.taskId(), completed);
+            }
+        }
+        return byUser;
+    }
+
+    /**
+     * Puts back toggles of a failed flush. A toggle submitted after the drain is newer and
+     * keeps its place; only tasks with nothing pending get their drained state back.
+     */
+    public void requeue(String userEmail, Map<UUID, Boolean> completions) {
+        completions.forEach((taskId, completed) -> pending.putIfAbsent(new Key(userEmail, taskId), completed));
+    }
+
+    public int size() {
+        return pending.size();
+    }
+}
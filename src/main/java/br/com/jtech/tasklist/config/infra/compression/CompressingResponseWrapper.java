@@ -0,0 +1,382 @@
+/*
+*  @(#)CompressingResponseWrapper.java
+*
+*  Copyright (c) J-Tech Solucoes em Informatica.
+*  All Rights Reserved.
+*
+*  This software is the confidential and proprietary information of J-Tech.
+*  ("Confidential Information"). You shall not disclose such Confidential
+*  Information and shall use it only in accordance with the terms of the
+*  license agreement you entered into with J-Tech.
+*
+*/
+package br.com.jtech.tasklist.config.infra.compression;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.FastByteArrayOutputStream;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.Locale;
+
+/**
+* Decides how to send the body at the first write, when the content type is known. Types
+* outside {@code http.compression.mime-types} go straight to the client. The rest are buffered
+* up to {@code http.compression.buffer-size} so that {@link ResponseCompressionFilter} can tag
+* them, answer 304 and reuse compressed bytes; a body that grows past the buffer, or that the
+* application flushes, is compressed as it is written instead. Responses written asynchronously
+* (e.g. {@code StreamingResponseBody} exports) are never taggable, so an explicit flush sends
+* what they have written so far.
+*
+* @author jtech
+*/
+class CompressingResponseWrapper extends HttpServletResponseWrapper {
+
+    private enum State { UNDECIDED, BUFFERING, PLAIN, GZIP }
+
+    private final HttpServletRequest request;
+    private final ResponseCompressionFilter filter;
+    private final boolean acceptsGzip;
+    private State state = State.UNDECIDED;
+    private boolean compressible;
+    private boolean taggable;
+    private long contentLength = -1;
+    private FastByteArrayOutputStream buffer;
+    private GzipEncoder encoder;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    CompressingResponseWrapper(HttpServletRequest request, HttpServletResponse response, ResponseCompressionFilter filter) {
+        super(response);
+        this.request = request;
+        this.filter = filter;
+        this.acceptsGzip = ResponseCompressionFilter.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+    }
+
+    HttpServletRequest request() {
+        return request;
+    }
+
+    boolean isCompressible() {
+        return compressible;
+    }
+
+    FastByteArrayOutputStream buffer() {
+        return buffer;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called");
+        }
+        if (outputStream == null) {
+            outputStream = new BodyOutputStream();
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            if (outputStream != null) {
+                throw new IllegalStateException("getOutputStream() has already been called");
+            }
+            outputStream = new BodyOutputStream();
+            writer = new PrintWriter(new OutputStreamWriter(outputStream, getCharacterEncoding()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void setContentLength(int length) {
+        setContentLengthLong(length);
+    }
+
+    @Override
+    public void setContentLengthLong(long length) {
+        if (state == State.PLAIN) {
+            super.setContentLengthLong(length);
+        } else {
+            contentLength = length;
+        }
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name) && state != State.PLAIN) {
+            contentLength = value != null ? Long.parseLong(value) : -1;
+        } else {
+            super.setHeader(name, value);
+        }
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name) && state != State.PLAIN) {
+            contentLength = value != null ? Long.parseLong(value) : -1;
+        } else {
+            super.addHeader(name, value);
+        }
+    }
+
+    @Override
+    public void setIntHeader(String name, int value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name) && state != State.PLAIN) {
+            contentLength = value;
+        } else {
+            super.setIntHeader(name, value);
+        }
+    }
+
+    @Override
+    public void addIntHeader(String name, int value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name) && state != State.PLAIN) {
+            contentLength = value;
+        } else {
+            super.addIntHeader(name, value);
+        }
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        decide();
+        if (state == State.BUFFERING) {
+            startStreaming();
+        }
+        if (state == State.GZIP) {
+            encoder.flush();
+        }
+        super.flushBuffer();
+    }
+
+    @Override
+    public void resetBuffer() {
+        super.resetBuffer();
+        if (state == State.BUFFERING) {
+            buffer.reset();
+        }
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        if (state == State.BUFFERING) {
+            buffer = null;
+            state = State.UNDECIDED;
+        }
+        contentLength = -1;
+    }
+
+    @Override
+    public void sendError(int status) throws IOException {
+        passThrough();
+        super.sendError(status);
+    }
+
+    @Override
+    public void sendError(int status, String message) throws IOException {
+        passThrough();
+        super.sendError(status, message);
+    }
+
+    @Override
+    public void sendRedirect(String location) throws IOException {
+        passThrough();
+        super.sendRedirect(location);
+    }
+
+    /**
+     * Completes the body: flushes a streamed gzip member or hands the buffered body to the
+     * filter.
+     */
+    void finish() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        switch (state) {
+            case UNDECIDED -> {
+                if (contentLength >= 0) {
+                    super.setContentLengthLong(contentLength);
+                }
+            }
+            case BUFFERING -> filter.completeBuffered(this);
+            case GZIP -> {
+                encoder.finish();
+                filter.completeStreamed(encoder);
+            }
+            case PLAIN -> {
+                // already written
+            }
+        }
+    }
+
+    /**
+     * Drops what a failed request left behind; the container writes the error response.
+     */
+    void abandon() {
+        if (state == State.GZIP) {
+            encoder.abandon();
+        }
+        buffer = null;
+    }
+
+    private void decide() {
+        if (state != State.UNDECIDED) {
+            return;
+        }
+        boolean compressibleType = getHeader(HttpHeaders.CONTENT_ENCODING) == null && filter.isCompressibleType(getContentType());
+        if (compressibleType && !containsVaryAcceptEncoding()) {
+            super.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        compressible = compressibleType && acceptsGzip;
+        taggable = compressibleType && "GET".equals(request.getMethod()) && getStatus() == HttpServletResponse.SC_OK
+                && !request.isAsyncStarted();
+        if (compressible || taggable) {
+            state = State.BUFFERING;
+            buffer = new FastByteArrayOutputStream(4096);
+        } else {
+            switchToPlain();
+        }
+    }
+
+    private void startStreaming() throws IOException {
+        if (compressible && buffer.size() >= filter.minResponseSize()) {
+            super.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            encoder = filter.newEncoder(super.getOutputStream());
+            state = State.GZIP;
+            byte[] buffered = buffer.toByteArrayUnsafe();
+            encoder.write(buffered, 0, buffer.size());
+        } else {
+            FastByteArrayOutputStream buffered = buffer;
+            switchToPlain();
+            buffered.writeTo(super.getOutputStream());
+        }
+        buffer = null;
+    }
+
+    private void passThrough() {
+        if (state == State.UNDECIDED || state == State.BUFFERING) {
+            buffer = null;
+            state = State.PLAIN;
+        }
+    }
+
+    private void switchToPlain() {
+        state = State.PLAIN;
+        if (contentLength >= 0) {
+            super.setContentLengthLong(contentLength);
+        }
+    }
+
+    private boolean containsVaryAcceptEncoding() {
+        for (String vary : getHeaders(HttpHeaders.VARY)) {
+            if (vary.toLowerCase(Locale.ROOT).contains("accept-encoding")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    void writeCompressed(byte[] compressed) throws IOException {
+        super.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        super.setContentLength(compressed.length);
+        super.getOutputStream().write(compressed);
+    }
+
+    void writeBuffered() throws IOException {
+        super.setContentLength(buffer.size());
+        buffer.writeTo(super.getOutputStream());
+    }
+
+    void writeNotModified(String etag) {
+        super.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        super.setHeader(HttpHeaders.ETAG, etag);
+    }
+
+    private class BodyOutputStream extends ServletOutputStream {
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            decide();
+            switch (state) {
+                case BUFFERING -> {
+                    buffer.write(bytes, offset, length);
+                    if (buffer.size() > filter.bufferSize()) {
+                        startStreaming();
+                    }
+                }
+                case GZIP -> encoder.write(bytes, offset, length);
+                default -> CompressingResponseWrapper.super.getOutputStream().write(bytes, offset, length);
+            }
+        }
+
+        /**
+         * Ignored while buffering a taggable body: message converters flush after every body,
+         * and honouring that would commit each response before it could be tagged. Any other
+         * buffered body starts streaming, so a flushing writer is not held up to the buffer size.
+         */
+        @Override
+        public void flush() throws IOException {
+            if (state == State.BUFFERING && !taggable) {
+                startStreaming();
+            }
+            if (state == State.GZIP) {
+                encoder.flush();
+            } else if (state == State.PLAIN) {
+                CompressingResponseWrapper.super.getOutputStream().flush();
+            }
+        }
+
+        /**
+         * Always ready while the body goes to memory; otherwise the container's stream decides.
+         */
+        @Override
+        public boolean isReady() {
+            if (state == State.UNDECIDED || state == State.BUFFERING) {
+                return true;
+            }
+            try {
+                return CompressingResponseWrapper.super.getOutputStream().isReady();
+            } catch (IOException ex) {
+                return false;
+            }
+        }
+
+        /**
+         * Non-blocking writes are sent uncompressed: the body goes straight to the container's
+         * stream, after whatever was buffered, so its readiness is the real one. A body already
+         * being compressed keeps going through the encoder on top of that stream.
+         */
+        @Override
+        public void setWriteListener(WriteListener listener) {
+            try {
+                if (state == State.UNDECIDED) {
+                    switchToPlain();
+                } else if (state == State.BUFFERING) {
+                    FastByteArrayOutputStream buffered = buffer;
+                    buffer = null;
+                    switchToPlain();
+                    buffered.writeTo(CompressingResponseWrapper.super.getOutputStream());
+                }
+                CompressingResponseWrapper.super.getOutputStream().setWriteListener(listener);
+            } catch (IOException ex) {
+                throw new IllegalStateException(ex.getMessage(), ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+*  @(#)GzipEncoder.java
+*
+*  Copyright (c) J-Tech Solucoes em Informatica.
+*  All Rights Reserved.
+*
+*  This software is the confidential and proprietary information of J-Tech.
+*  ("Confidential Information"). You shall not disclose such Confidential
+*  Information and shall use it only in accordance with the terms of the
+*  license agreement you entered into with J-Tech.
+*
+*/
+package br.com.jtech.tasklist.config.infra.compression;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+* Gzip member written to {@code target} as input arrives, like {@code GZIPOutputStream}, but
+* timing only the deflate calls, so the CPU cost reported for a response does not include the
+* time spent blocked on the client socket.
+*
+* @author jtech
+*/
+class GzipEncoder {
+
+    private static final byte[] HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0};
+
+    private final OutputStream target;
+    private final Deflater deflater;
+    private final CRC32 crc = new CRC32();
+    private final byte[] chunk = new byte[8192];
+    private boolean started;
+    private long bytesIn;
+    private long bytesOut;
+    private long nanos;
+
+    GzipEncoder(OutputStream target, int level) {
+        this.target = target;
+        this.deflater = new Deflater(level, true);
+    }
+
+    void write(byte[] bytes, int offset, int length) throws IOException {
+        if (length == 0) {
+            return;
+        }
+        start();
+        long begin = System.nanoTime();
+        crc.update(bytes, offset, length);
+        deflater.setInput(bytes, offset, length);
+        nanos += System.nanoTime() - begin;
+        bytesIn += length;
+        while (!deflater.needsInput()) {
+            deflate(Deflater.NO_FLUSH);
+        }
+    }
+
+    /**
+     * Emits everything written so far (sync flush), for streamed responses that flush.
+     */
+    void flush() throws IOException {
+        if (!started) {
+            return;
+        }
+        while (deflate(Deflater.SYNC_FLUSH) == chunk.length) {
+            // the chunk was full, there may be more pending output
+        }
+        target.flush();
+    }
+
+    void finish() throws IOException {
+        start();
+        deflater.finish();
+        while (!deflater.finished()) {
+            deflate(Deflater.NO_FLUSH);
+        }
+        deflater.end();
+        byte[] trailer = new byte[8];
+        writeIntLe(trailer, 0, (int) crc.getValue());
+        writeIntLe(trailer, 4, (int) bytesIn);
+        emit(trailer, trailer.length);
+    }
+
+    /**
+     * Releases the native deflater of a response that will not be finished.
+     */
+    void abandon() {
+        deflater.end();
+    }
+
+    long bytesIn() {
+        return bytesIn;
+    }
+
+    long bytesOut() {
+        return bytesOut;
+    }
+
+    long nanos() {
+        return nanos;
+    }
+
+    private void start() throws IOException {
+        if (!started) {
+            started = true;
+            emit(HEADER, HEADER.length);
+        }
+    }
+
+    private int deflate(int flush) throws IOException {
+        long begin = System.nanoTime();
+        int length = deflater.deflate(chunk, 0, chunk.length, flush);
+        nanos += System.nanoTime() - begin;
+        if (length > 0) {
+            emit(chunk, length);
+        }
+        return length;
+    }
+
+    private void emit(byte[] bytes, int length) throws IOException {
+        target.write(bytes, 0, length);
+        bytesOut += length;
+    }
+
+    private static void writeIntLe(byte[] buffer, int offset, int value) {
+        buffer[offset] = (byte) value;
+        buffer[offset + 1] = (byte) (value >> 8);
+        buffer[offset + 2] = (byte) (value >> 16);
+        buffer[offset + 3] = (byte) (value >> 24);
+    }
+}
@@ -0,0 +1,298 @@
+/*
+*  @(#)ResponseCompressionFilter.java
+*
+*  Copyright (c) J-Tech Solucoes em Informatica.
+*  All Rights Reserved.
+*
+*  This software is the confidential and proprietary information of J-Tech.
+*  ("Confidential Information"). You shall not disclose such Confidential
+*  Information and shall use it only in accordance with the terms of the
+*  license agreement you entered into with J-Tech.
+*
+*/
+package br.com.jtech.tasklist.config.infra.compression;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.FastByteArrayOutputStream;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+* Gzip for the API responses, done here instead of in Tomcat so that it can be measured and
+* reused. Bodies up to {@code http.compression.buffer-size} get a weak ETag over the
+* uncompressed bytes: a matching {@code If-None-Match} is answered with 304 and no body, and
+* the compressed bytes are kept by that SHA-256 digest and the content type, so a body that did not change since the last
+* request (the {@code /all} polling case) is not deflated again. Larger bodies and streamed
+* exports are compressed as they are written. Runs before the security chain, so error bodies
+* written by it are covered too.
+*
+* @author jtech
+*/
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 10)
+public class ResponseCompressionFilter extends OncePerRequestFilter {
+
+    private final boolean enabled;
+    private final int minResponseSize;
+    private final int bufferSize;
+    private final int level;
+    private final List<MediaType> mimeTypes;
+    private final CompressedBodyCache cache;
+
+    private final Counter originalBytes;
+    private final Counter compressedBytes;
+    private final Counter compressed;
+    private final Counter streamed;
+    private final Counter reused;
+    private final Counter notModified;
+    private final Timer duration;
+
+    public ResponseCompressionFilter(
+            MeterRegistry registry,
+            @Value("${http.compression.enabled:true}") boolean enabled,
+            @Value("${http.compression.min-response-size:2KB}") DataSize minResponseSize,
+            @Value("${http.compression.buffer-size:512KB}") DataSize bufferSize,
+            @Value("${http.compression.level:6}") int level,
+            @Value("${http.compression.mime-types:application/json,application/x-ndjson,text/csv,text/plain}") String[] mimeTypes,
+            @Value("${http.compression.cache-size:16MB}") DataSize cacheSize) {
+        this.enabled = enabled;
+        this.minResponseSize = (int) minResponseSize.toBytes();
+        this.bufferSize = (int) Math.max(bufferSize.toBytes(), minResponseSize.toBytes());
+        this.level = level;
+        this.mimeTypes = Arrays.stream(mimeTypes).map(String::trim).map(MediaType::parseMediaType).toList();
+        this.cache = new CompressedBodyCache(cacheSize.toBytes());
+
+        this.originalBytes = Counter.builder("http.server.compression.bytes")
+                .description("Bytes of compressed responses before compression")
+                .baseUnit("bytes").tag("stage", "original").register(registry);
+        this.compressedBytes = Counter.builder("http.server.compression.bytes")
+                .description("Bytes of compressed responses sent to the client")
+                .baseUnit("bytes").tag("stage", "compressed").register(registry);
+        this.compressed = responsesCounter(registry, "compressed");
+        this.streamed = responsesCounter(registry, "streamed");
+        this.reused = responsesCounter(registry, "reused");
+        this.notModified = Counter.builder("http.server.etag.not_modified")
+                .description("Requests answered with 304 through the ETag")
+                .register(registry);
+        this.duration = Timer.builder("http.server.compression.duration")
+                .description("CPU time spent compressing each response")
+                .register(registry);
+        Gauge.builder("http.server.compression.cache.bytes", cache, CompressedBodyCache::totalBytes)
+                .description("Bytes of compressed bodies held in the ETag cache")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled
+                || "HEAD".equals(request.getMethod())
+                || request.getHeader(HttpHeaders.RANGE) != null;
+    }
+
+    /**
+     * Streamed responses finish on the async dispatch, where the wrapper created by the first
+     * dispatch is found again.
+     */
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        CompressingResponseWrapper wrapper = WebUtils.getNativeResponse(response, CompressingResponseWrapper.class);
+        HttpServletResponse target = response;
+        if (wrapper == null) {
+            wrapper = new CompressingResponseWrapper(request, response, this);
+            target = wrapper;
+        }
+
+        try {
+            chain.doFilter(request, target);
+        } catch (IOException | ServletException | RuntimeException e) {
+            wrapper.abandon();
+            throw e;
+        }
+
+        if (!isAsyncStarted(request)) {
+            wrapper.finish();
+        }
+    }
+
+    boolean isCompressibleType(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        MediaType type;
+        try {
+            type = MediaType.parseMediaType(contentType);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        for (MediaType candidate : mimeTypes) {
+            if (candidate.isCompatibleWith(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    int minResponseSize() {
+        return minResponseSize;
+    }
+
+    int bufferSize() {
+        return bufferSize;
+    }
+
+    GzipEncoder newEncoder(OutputStream target) {
+        return new GzipEncoder(target, level);
+    }
+
+    /**
+     * Tags, answers 304 or sends the whole buffered body, compressed when it is worth it.
+     */
+    void completeBuffered(CompressingResponseWrapper response) throws IOException {
+        FastByteArrayOutputStream body = response.buffer();
+        HttpServletRequest request = response.request();
+        String digest = null;
+
+        if ("GET".equals(request.getMethod()) && response.getStatus() == HttpServletResponse.SC_OK) {
+            digest = sha256(body);
+            String etag = response.getHeader(HttpHeaders.ETAG);
+            if (etag == null) {
+                etag = "W/\"" + digest + "\"";
+                response.setHeader(HttpHeaders.ETAG, etag);
+            }
+            if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+                notModified.increment();
+                response.writeNotModified(etag);
+                return;
+            }
+        }
+
+        if (!response.isCompressible() || body.size() < minResponseSize) {
+            response.writeBuffered();
+            return;
+        }
+
+        if (digest == null) {
+            digest = sha256(body);
+        }
+        // Shared by all users: the key is only ever equal for the same type and the same bytes
+        String key = response.getContentType() + " " + digest;
+        byte[] gzip = cache.get(key);
+        if (gzip != null) {
+            reused.increment();
+        } else {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(body.size() / 4 + 64);
+            GzipEncoder encoder = newEncoder(out);
+            encoder.write(body.toByteArrayUnsafe(), 0, body.size());
+            encoder.finish();
+            gzip = out.toByteArray();
+            cache.put(key, gzip);
+            compressed.increment();
+            duration.record(encoder.nanos(), TimeUnit.NANOSECONDS);
+        }
+        originalBytes.increment(body.size());
+        compressedBytes.increment(gzip.length);
+        response.writeCompressed(gzip);
+    }
+
+    private static String sha256(FastByteArrayOutputStream body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(body.toByteArrayUnsafe(), 0, body.size());
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    void completeStreamed(GzipEncoder encoder) {
+        streamed.increment();
+        originalBytes.increment(encoder.bytesIn());
+        compressedBytes.increment(encoder.bytesOut());
+        duration.record(encoder.nanos(), TimeUnit.NANOSECONDS);
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Boolean gzip = null;
+        boolean wildcard = false;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            boolean accepted = true;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        accepted = Double.parseDouble(parameter.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        accepted = false;
+                    }
+                }
+            }
+            if (name.equalsIgnoreCase("gzip") || name.equalsIgnoreCase("x-gzip")) {
+                gzip = accepted;
+            } else if (name.equals("*")) {
+                wildcard = accepted;
+            }
+        }
+        return gzip != null ? gzip : wildcard;
+    }
+
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String tag = weakless(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.equals("*") || weakless(candidate).equals(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String weakless(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    private static Counter responsesCounter(MeterRegistry registry, String result) {
+        return Counter.builder("http.server.compression.responses")
+                .description("Compressed responses: whole, streamed or reused from the cache")
+                .tag("result", result)
+                .register(registry);
+    }
+}
@@ -0,0 +1,71 @@
+/*
+*  @(#)DataSourceProxyConfig.java
+*
+*  Copyright (c) J-Tech Solucoes em Informatica.
+*  All Rights Reserved.
+*
+*  This software is the confidential and proprietary information of J-Tech.
+*  ("Confidential Information"). You shall not disclose such Confidential
+*  Information and shall use it only in accordance with the terms of the
+*  license agreement you entered into with J-Tech.
+*
+*/
+package br.com.jtech.tasklist.config.infra.datasource;
+
+import io.micrometer.observation.ObservationRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import net.ttddyy.observation.tracing.DataSourceObservationListener;
+import net.ttddyy.observation.tracing.JdbcObservationDocumentation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.Set;
+
+/**
+* Wraps the application DataSource in a datasource-proxy that reports every statement to
+* {@link RequestSqlStatsListener} ({@code jdbc.request-stats.enabled}) and opens an observation
+* per connection and per statement ({@code tracing.jdbc.enabled}), which become the JDBC spans:
+* the connection span carries an {@code acquired} event, so the Hikari wait shows up between its
+* start and that event. The pool stays underneath and is still reachable through {@code unwrap},
+* which the pool metrics and the COPY import rely on; statements sent over the COPY API bypass
+* JDBC and are neither counted nor traced.
+*
+* @author jtech
+*/
+@Configuration
+public class DataSourceProxyConfig {
+
+    @Bean
+    public static BeanPostProcessor dataSourceProxy(Environment environment,
+                                                    ObjectProvider<ObservationRegistry> observationRegistry) {
+        boolean requestStats = environment.getProperty("jdbc.request-stats.enabled", Boolean.class, true);
+        boolean tracing = environment.getProperty("tracing.jdbc.enabled", Boolean.class, true);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource
+                        || (!requestStats && !tracing)) {
+                    return bean;
+                }
+                ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(dataSource).name(beanName);
+                if (requestStats) {
+                    builder.listener(new RequestSqlStatsListener());
+                }
+                if (tracing) {
+                    DataSourceObservationListener listener = new DataSourceObservationListener(
+                            () -> observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP));
+                    // Result-set spans would only repeat the query span for the short reads of this API
+                    listener.setSupportedTypes(Set.of(JdbcObservationDocumentation.CONNECTION,
+                            JdbcObservationDocumentation.QUERY));
+                    builder.listener(listener).methodListener(listener);
+                }
+                return builder.build();
+            }
+        };
+    }
+}
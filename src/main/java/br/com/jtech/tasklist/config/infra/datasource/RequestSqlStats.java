@@ -0,0 +1,74 @@
+/*
+*  @(#)RequestSqlStats.java
+*
+*  Copyright (c) J-Tech Solucoes em Informatica.
+*  All Rights Reserved.
+*
+*  This software is the confidential and proprietary information of J-Tech.
+*  ("Confidential Information"). You shall not disclose such Confidential
+*  Information and shall use it only in accordance with the terms of the
+*  license agreement you entered into with J-Tech.
+*
+*/
+package br.com.jtech.tasklist.config.infra.datasource;
+
+/**
+* JDBC statements executed and time spent in them by the thread serving a request, from
+* {@link #start()} to {@link #stop()}. Statements run on other threads (async exports, jobs)
+* are not attributed to any request. Each batch execution counts as one statement.
+*
+* @author jtech
+*/
+public final class RequestSqlStats {
+
+    /**
+     * Request attribute holding the final stats of the request, for logs and tests.
+     */
+    public static final String ATTRIBUTE = RequestSqlStats.class.getName();
+
+    private static final ThreadLocal<RequestSqlStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long jdbcNanos;
+    private long statementStart;
+
+    private RequestSqlStats() {
+    }
+
+    public static RequestSqlStats start() {
+        RequestSqlStats stats = new RequestSqlStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static RequestSqlStats current() {
+        return CURRENT.get();
+    }
+
+    public void stop() {
+        if (CURRENT.get() == this) {
+            CURRENT.remove();
+        }
+    }
+
+    void statementStarted() {
+        statementStart = System.nanoTime();
+    }
+
+    void statementFinished() {
+        statements++;
+        jdbcNanos += System.nanoTime() - statementStart;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getJdbcNanos() {
+        return jdbcNanos;
+    }
+
+    public double getJdbcMillis() {
+        return jdbcNanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,156 @@
+/*
+*  @(#)RequestSqlStatsFilter.java
+*
+*  Copyright (c) J-Tech Solucoes em Informatica.
+*  All Rights Reserved.
+*
+*  This software is the confidential and proprietary information of J-Tech.
+*  ("Confidential Information"). You shall not disclose such Confidential
+*  Information and shall use it only in accordance with the terms of the
+*  license agreement you entered into with J-Tech.
+*
+*/
+package br.com.jtech.tasklist.config.infra.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+* Counts the SQL statements and JDBC time of each request (see {@link RequestSqlStats}) and
+* logs the requests above {@code jdbc.request-stats.max-statements},
+* {@code max-jdbc-time} or {@code max-request-time}. With {@code jdbc.request-stats.header}
+* (on in the dev profile and in tests) the counts also go out as {@code X-SQL-Statements} and
+* {@code X-SQL-Time-Ms}; headers must precede the body, so they cover the statements run
+* before the response started to be written. The complete numbers are in the
+* {@link RequestSqlStats#ATTRIBUTE} request attribute.
+*
+* @author jtech
+*/
+@Slf4j
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 5)
+@ConditionalOnProperty(name = "jdbc.request-stats.enabled", havingValue = "true", matchIfMissing = true)
+public class RequestSqlStatsFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_HEADER = "X-SQL-Statements";
+    public static final String TIME_HEADER = "X-SQL-Time-Ms";
+
+    private final int maxStatements;
+    private final long maxJdbcNanos;
+    private final long maxRequestNanos;
+    private final boolean header;
+
+    public RequestSqlStatsFilter(
+            @Value("${jdbc.request-stats.max-statements:20}") int maxStatements,
+            @Value("${jdbc.request-stats.max-jdbc-time:PT0.5S}") Duration maxJdbcTime,
+            @Value("${jdbc.request-stats.max-request-time:PT2S}") Duration maxRequestTime,
+            @Value("${jdbc.request-stats.header:false}") boolean header) {
+        this.maxStatements = maxStatements;
+        this.maxJdbcNanos = maxJdbcTime.toNanos();
+        this.maxRequestNanos = maxRequestTime.toNanos();
+        this.header = header;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        RequestSqlStats stats = RequestSqlStats.start();
+        StatsHeaderResponse wrapper = header ? new StatsHeaderResponse(response, stats) : null;
+        try {
+            chain.doFilter(request, wrapper != null ? wrapper : response);
+        } finally {
+            stats.stop();
+            if (wrapper != null) {
+                wrapper.writeHeaders();
+            }
+            request.setAttribute(RequestSqlStats.ATTRIBUTE, stats);
+            long elapsed = System.nanoTime() - start;
+            if (stats.getStatements() > maxStatements || stats.getJdbcNanos() > maxJdbcNanos || elapsed > maxRequestNanos) {
+                log.warn("::: {} {} ran {} SQL statements, {} ms in JDBC, {} ms in total.",
+                        request.getMethod(), request.getRequestURI(), stats.getStatements(),
+                        millis(stats.getJdbcNanos()), millis(elapsed));
+            }
+        }
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0);
+    }
+
+    /**
+     * Writes the headers right before the first byte of the body, or at the end for responses
+     * without one.
+     */
+    private static final class StatsHeaderResponse extends HttpServletResponseWrapper {
+
+        private final RequestSqlStats stats;
+        private boolean written;
+
+        private StatsHeaderResponse(HttpServletResponse response, RequestSqlStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int status) throws IOException {
+            writeHeaders();
+            super.sendError(status);
+        }
+
+        @Override
+        public void sendError(int status, String message) throws IOException {
+            writeHeaders();
+            super.sendError(status, message);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeHeaders();
+            super.sendRedirect(location);
+        }
+
+        private void writeHeaders() {
+            if (written || isCommitted()) {
+                return;
+            }
+            written = true;
+            setHeader(STATEMENTS_HEADER, String.valueOf(stats.getStatements()));
+            setHeader(TIME_HEADER, millis(stats.getJdbcNanos()));
+        }
+    }
+}
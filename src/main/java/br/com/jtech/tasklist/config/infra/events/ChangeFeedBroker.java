@@ -0,0 +1,282 @@
+/*
+*  @(#)ChangeFeedBroker.java
+*
+*  Copyright (c) J-Tech Solucoes em Informatica.
+*  All Rights Reserved.
+*
+*  This software is the confidential and proprietary information of J-Tech.
+*  ("Confidential Information"). You shall not disclose such Confidential
+*  Information and shall use it only in accordance with the terms of the
+*  license agreement you entered into with J-Tech.
+*
+*/
+package br.com.jtech.tasklist.config.infra.events;
+
+import br.com.jtech.tasklist.config.infra.exceptions.TooManyRequestsException;
+import br.com.jtech.tasklist.dto.ChangeEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+* Fans task and task list changes out to the Server-Sent Events subscribers of the same user.
+* Events are received only after the publishing transaction commits, numbered and kept in a
+* short in-memory ring so a client reconnecting with {@code Last-Event-ID} gets what it missed;
+* when the id is older than the ring it receives a {@code reset} event and must reload.
+* <p>
+* The sequence is local to this node and restarts with it, so event ids are sent as
+* {@code epoch:sequence} with an epoch drawn at startup. An id from another epoch (a restart, or
+* a reconnect routed to a different node) cannot be mapped onto this ring and also gets a
+* {@code reset}, instead of a replay of unrelated events that happen to carry the same numbers.
+* Each subscriber has a bounded buffer drained on a virtual thread, and a subscriber that
+* lets it fill up is disconnected instead of slowing down the others.
+*
+* @author jtech
+*/
+@Slf4j
+@Component
+public class ChangeFeedBroker {
+
+    private final int maxSubscribers;
+    private final int bufferSize;
+    private final long timeoutMillis;
+
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    private final ChangeEvent[] ring;
+    private long lastId;
+
+    private final Map<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final Counter dropped;
+
+    public ChangeFeedBroker(
+            MeterRegistry registry,
+            @Value("${events.sse.max-subscribers:1000}") int maxSubscribers,
+            @Value("${events.sse.buffer-size:256}") int bufferSize,
+            @Value("${events.sse.replay-size:1024}") int replaySize,
+            @Value("${events.sse.timeout:PT30M}") Duration timeout) {
+        this.maxSubscribers = maxSubscribers;
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeout.toMillis();
+        this.ring = new ChangeEvent[replaySize];
+
+        Gauge.builder("events.sse.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open Server-Sent Events connections on this node")
+                .register(registry);
+        this.dropped = Counter.builder("events.sse.dropped")
+                .description("Subscribers disconnected because their buffer was full")
+                .register(registry);
+    }
+
+    /**
+     * Opens a change feed for the user, replaying the events after {@code lastEventId} when informed.
+     *
+     * @throws TooManyRequestsException when the node already holds the maximum number of subscribers.
+     */
+    public SseEmitter subscribe(String userEmail, String lastEventId) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new TooManyRequestsException("Limite de conexões de eventos atingido. Tente novamente mais tarde.", 5);
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(key(userEmail), emitter, bufferSize);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(ex -> remove(subscriber));
+
+        // Registration and replay happen under the same lock as publish, so no event is lost or repeated
+        synchronized (ring) {
+            subscribers.computeIfAbsent(subscriber.key, k -> ConcurrentHashMap.newKeySet()).add(subscriber);
+            if (lastEventId != null && !lastEventId.isBlank()) {
+                Long since = sequenceOf(lastEventId);
+                List<ChangeEvent> missed = since != null ? eventsSince(subscriber.key, since) : null;
+                if (missed == null) {
+                    subscriber.offer(SseEmitter.event().id(eventId(lastId)).name("reset").data(""));
+                } else {
+                    for (ChangeEvent event : missed) {
+                        subscriber.offer(toSse(event));
+                    }
+                }
+            }
+        }
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void publish(ChangeEvent event) {
+        synchronized (ring) {
+            event.setId(++lastId);
+            ring[(int) (lastId % ring.length)] = event;
+
+            Set<Subscriber> targets = subscribers.get(key(event.getUserEmail()));
+            if (targets != null) {
+                // One builder per subscriber: build() appends to the builder, so it cannot be shared
+                for (Subscriber subscriber : targets) {
+                    subscriber.offer(toSse(event));
+                }
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${events.sse.heartbeat:PT15S}")
+    public void heartbeat() {
+        for (Set<Subscriber> targets : subscribers.values()) {
+            for (Subscriber subscriber : targets) {
+                subscriber.offer(SseEmitter.event().comment("heartbeat"));
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Set<Subscriber> targets : subscribers.values()) {
+            for (Subscriber subscriber : targets) {
+                subscriber.emitter.complete();
+            }
+        }
+        senders.shutdown();
+    }
+
+    /**
+     * Returns the events of the user after {@code lastEventId} still in the ring, or {@code null}
+     * when some of them were already overwritten. Must be called holding the ring lock.
+     */
+    List<ChangeEvent> eventsSince(String key, long lastEventId) {
+        if (lastEventId > lastId) {
+            return null;
+        }
+        if (lastId - lastEventId > ring.length) {
+            return null;
+        }
+
+        List<ChangeEvent> events = new ArrayList<>();
+        for (long id = lastEventId + 1; id <= lastId; id++) {
+            ChangeEvent event = ring[(int) (id % ring.length)];
+            if (event != null && event.getId() == id && key.equals(key(event.getUserEmail()))) {
+                events.add(event);
+            }
+        }
+        return events;
+    }
+
+    /**
+     * Returns the sequence of an event id issued by this node since it started, or {@code null}
+     * for ids of another epoch or malformed ones.
+     */
+    Long sequenceOf(String eventId) {
+        String value = eventId.trim();
+        int separator = value.indexOf(':');
+        if (separator < 0 || !epoch.equals(value.substring(0, separator))) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.substring(separator + 1));
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    String eventId(long sequence) {
+        return epoch + ":" + sequence;
+    }
+
+    int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return;
+        }
+        subscriberCount.decrementAndGet();
+        subscribers.computeIfPresent(subscriber.key, (k, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private SseEmitter.SseEventBuilder toSse(ChangeEvent event) {
+        return SseEmitter.event()
+                .id(eventId(event.getId()))
+                .name(event.getEntity().name().toLowerCase(Locale.ROOT) + "." + event.getAction().name().toLowerCase(Locale.ROOT))
+                .data(event, MediaType.APPLICATION_JSON);
+    }
+
+    private static String key(String userEmail) {
+        return userEmail.toLowerCase(Locale.ROOT);
+    }
+
+    private final class Subscriber {
+
+        private final String key;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscriber(String key, SseEmitter emitter, int bufferSize) {
+            this.key = key;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        private void offer(SseEmitter.SseEventBuilder event) {
+            if (closed.get()) {
+                return;
+            }
+            if (!queue.offer(event)) {
+                dropped.increment();
+                log.debug("Change feed buffer full, disconnecting subscriber of {}", key);
+                remove(this);
+                emitter.complete();
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while (!closed.get() && (event = queue.poll()) != null) {
+                    emitter.send(event);
+                }
+            } catch (IOException | IllegalStateException ex) {
+                remove(this);
+                emitter.completeWithError(ex);
+            } finally {
+                draining.set(false);
+            }
+            if (!closed.get() && !queue.isEmpty() && draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+/*
+*  @(#)JobLeaseLostException.java
+*
+*  Copyright (c) J-Tech Solucoes em Informatica.
+*  All Rights Reserved.
+*
+*  This software is the confidential and proprietary information of J-Tech.
+*  ("Confidential Information"). You shall not disclose such Confidential
+*  Information and shall use it only in accordance with the terms of the
+*  license agreement you entered into with J-Tech.
+*
+*/
+package br.com.jtech.tasklist.config.infra.exceptions;
+
+/**
+* Thrown by a transfer job run that no longer owns its job: the job was requeued after its lease
+* expired and claimed again, so a newer attempt is running it. The stale run must stop without
+* touching the job or its files.
+*
+* @author jtech
+*/
+public class JobLeaseLostException extends RuntimeException {
+
+    public JobLeaseLostException(String message) {
+        super(message);
+    }
+}
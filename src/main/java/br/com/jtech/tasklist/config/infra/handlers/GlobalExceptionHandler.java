@@ -12,7 +12,10 @@
 package br.com.jtech.tasklist.config.infra.handlers;
 
 import br.com.jtech.tasklist.config.infra.exceptions.*;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.swagger.v3.oas.annotations.Hidden;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -20,6 +23,7 @@ import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -27,6 +31,8 @@ import java.util.List;
 
 /**
  * Create a global exception handler for intercepting all exceptions in the api.
+ * Each handled exception increments {@code http.server.errors{type}}; the counters are
+ * registered once here, not per error.
  *
  * @author jtech
  * class GlobalExceptionHandler
@@ -34,9 +40,34 @@ import java.util.List;
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private final Counter validationErrors;
+    private final Counter typeMismatchErrors;
+    private final Counter illegalArgumentErrors;
+    private final Counter notFoundErrors;
+    private final Counter conflictErrors;
+    private final Counter forbiddenErrors;
+    private final Counter badCredentialsErrors;
+    private final Counter tooManyRequestsErrors;
+    private final Counter payloadTooLargeErrors;
+    private final Counter internalErrors;
+
+    public GlobalExceptionHandler(MeterRegistry registry) {
+        this.validationErrors = errorCounter(registry, "validation");
+        this.typeMismatchErrors = errorCounter(registry, "type_mismatch");
+        this.illegalArgumentErrors = errorCounter(registry, "illegal_argument");
+        this.notFoundErrors = errorCounter(registry, "not_found");
+        this.conflictErrors = errorCounter(registry, "conflict");
+        this.forbiddenErrors = errorCounter(registry, "forbidden");
+        this.badCredentialsErrors = errorCounter(registry, "bad_credentials");
+        this.tooManyRequestsErrors = errorCounter(registry, "too_many_requests");
+        this.payloadTooLargeErrors = errorCounter(registry, "payload_too_large");
+        this.internalErrors = errorCounter(registry, "internal");
+    }
+
     @Hidden
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiError> handleValidationErrors(MethodArgumentNotValidException ex) {
+        validationErrors.increment();
         ApiError error = new ApiError(HttpStatus.BAD_REQUEST);
         error.setMessage("Erro na validação dos dados");
         error.setTimestamp(LocalDateTime.now());
@@ -45,9 +76,21 @@ public class GlobalExceptionHandler {
         return buildResponseEntity(error);
     }
 
+    @Hidden
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ApiError> handleTypeMismatchException(MethodArgumentTypeMismatchException ex) {
+        typeMismatchErrors.increment();
+        ApiError error = new ApiError(HttpStatus.BAD_REQUEST);
+        error.setMessage("Valor inválido para o parâmetro " + ex.getName());
+        error.setTimestamp(LocalDateTime.now());
+        error.setDebugMessage(ex.getLocalizedMessage());
+        return buildResponseEntity(error);
+    }
+
     @Hidden
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ApiError> handleIllegalArgumentException(IllegalArgumentException ex) {
+        illegalArgumentErrors.increment();
         ApiError error = new ApiError(HttpStatus.BAD_REQUEST);
         error.setMessage(ex.getMessage());
         error.setTimestamp(LocalDateTime.now());
@@ -58,6 +101,7 @@ public class GlobalExceptionHandler {
     @Hidden
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<ApiError> handleResourceNotFoundException(ResourceNotFoundException ex) {
+        notFoundErrors.increment();
         ApiError error = new ApiError(HttpStatus.NOT_FOUND);
         error.setMessage(ex.getMessage());
         error.setTimestamp(LocalDateTime.now());
@@ -65,9 +109,21 @@ public class GlobalExceptionHandler {
         return buildResponseEntity(error);
     }
 
+    @Hidden
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<ApiError> handleConflictException(ConflictException ex) {
+        conflictErrors.increment();
+        ApiError error = new ApiError(HttpStatus.CONFLICT);
+        error.setMessage(ex.getMessage());
+        error.setTimestamp(LocalDateTime.now());
+        error.setDebugMessage(ex.getLocalizedMessage());
+        return buildResponseEntity(error);
+    }
+
     @Hidden
     @ExceptionHandler(UnauthorizedException.class)
     public ResponseEntity<ApiError> handleUnauthorizedException(UnauthorizedException ex) {
+        forbiddenErrors.increment();
         ApiError error = new ApiError(HttpStatus.FORBIDDEN);
         error.setMessage(ex.getMessage());
         error.setTimestamp(LocalDateTime.now());
@@ -78,6 +134,7 @@ public class GlobalExceptionHandler {
     @Hidden
     @ExceptionHandler(BadCredentialsException.class)
     public ResponseEntity<ApiError> handleBadCredentialsException(BadCredentialsException ex) {
+        badCredentialsErrors.increment();
         ApiError error = new ApiError(HttpStatus.UNAUTHORIZED);
         error.setMessage("Credenciais inválidas");
         error.setTimestamp(LocalDateTime.now());
@@ -85,9 +142,34 @@ public class GlobalExceptionHandler {
         return buildResponseEntity(error);
     }
 
+    @Hidden
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ApiError> handleTooManyRequestsException(TooManyRequestsException ex) {
+        tooManyRequestsErrors.increment();
+        ApiError error = new ApiError(HttpStatus.TOO_MANY_REQUESTS);
+        error.setMessage(ex.getMessage());
+        error.setTimestamp(LocalDateTime.now());
+        error.setDebugMessage(ex.getLocalizedMessage());
+        return ResponseEntity.status(error.getStatus())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(error);
+    }
+
+    @Hidden
+    @ExceptionHandler(PayloadTooLargeException.class)
+    public ResponseEntity<ApiError> handlePayloadTooLargeException(PayloadTooLargeException ex) {
+        payloadTooLargeErrors.increment();
+        ApiError error = new ApiError(HttpStatus.PAYLOAD_TOO_LARGE);
+        error.setMessage(ex.getMessage());
+        error.setTimestamp(LocalDateTime.now());
+        error.setDebugMessage(ex.getLocalizedMessage());
+        return buildResponseEntity(error);
+    }
+
     @Hidden
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiError> handleGenericException(Exception ex) {
+        internalErrors.increment();
         ApiError error = new ApiError(HttpStatus.INTERNAL_SERVER_ERROR);
         error.setMessage("Erro interno do servidor");
         error.setTimestamp(LocalDateTime.now());
@@ -95,6 +177,13 @@ public class GlobalExceptionHandler {
         return buildResponseEntity(error);
     }
 
+    private static Counter errorCounter(MeterRegistry registry, String type) {
+        return Counter.builder("http.server.errors")
+                .description("Erros tratados pelo GlobalExceptionHandler, por tipo")
+                .tag("type", type)
+                .register(registry);
+    }
+
     private ResponseEntity<ApiError> buildResponseEntity(ApiError apiError) {
         return new ResponseEntity<>(apiError, apiError.getStatus());
     }
@@ -0,0 +1,98 @@
+/*
+*  @(#)OutboxRelayJob.java
+*
+*  Copyright (c) J-Tech Solucoes em Informatica.
+*  All Rights Reserved.
+*
+*  This software is the confidential and proprietary information of J-Tech.
+*  ("Confidential Information"). You shall not disclose such Confidential
+*  Information and shall use it only in accordance with the terms of the
+*  license agreement you entered into with J-Tech.
+*
+*/
+package br.com.jtech.tasklist.config.infra.jobs;
+
+import br.com.jtech.tasklist.service.OutboxService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+* Drains the outbox every {@code outbox.relay.poll-interval}, one batch per transaction, until
+* a batch comes back short or {@code outbox.relay.max-batches} is reached. A failing sink stops
+* the run; the batch stays in the table and is retried on the next poll.
+*
+* @author jtech
+*/
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelayJob {
+
+    private final OutboxService outboxService;
+    private final int batchSize;
+    private final int maxBatches;
+
+    private final Counter relayed;
+    private final Counter failures;
+    private final Timer batchDuration;
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    public OutboxRelayJob(
+            OutboxService outboxService,
+            MeterRegistry registry,
+            @Value("${outbox.relay.batch-size:100}") int batchSize,
+            @Value("${outbox.relay.max-batches:50}") int maxBatches) {
+        this.outboxService = outboxService;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+
+        this.relayed = Counter.builder("outbox.relay.events")
+                .description("Outbox events delivered to the sink")
+                .register(registry);
+        this.failures = Counter.builder("outbox.relay.failures")
+                .description("Outbox batches rejected by the sink")
+                .register(registry);
+        this.batchDuration = Timer.builder("outbox.relay.batch.duration")
+                .description("Time to lock, deliver and delete one outbox batch")
+                .register(registry);
+        Gauge.builder("outbox.relay.lag", lagMillis, AtomicLong::get)
+                .description("Age in milliseconds of the oldest undelivered outbox event after the last poll")
+                .baseUnit("milliseconds")
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-interval:PT1S}")
+    public void run() {
+        try {
+            for (int i = 0; i < maxBatches; i++) {
+                Integer sent = batchDuration.record(() -> outboxService.relayBatch(batchSize));
+                int count = sent != null ? sent : 0;
+                relayed.increment(count);
+                if (count < batchSize) {
+                    break;
+                }
+            }
+        } catch (RuntimeException ex) {
+            failures.increment();
+            log.warn("::: Outbox relay failed, batch will be retried: {}", ex.getMessage());
+        } finally {
+            updateLag();
+        }
+    }
+
+    private void updateLag() {
+        LocalDateTime oldest = outboxService.oldestPendingCreatedAt();
+        lagMillis.set(oldest != null ? Math.max(0, Duration.between(oldest, LocalDateTime.now()).toMillis()) : 0);
+    }
+}
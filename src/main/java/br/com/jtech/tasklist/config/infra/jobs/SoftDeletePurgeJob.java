@@ -0,0 +1,156 @@
+/*
+*  @(#)SoftDeletePurgeJob.java
+*
+*  Copyright (c) J-Tech Solucoes em Informatica.
+*  All Rights Reserved.
+*
+*  This software is the confidential and proprietary information of J-Tech.
+*  ("Confidential Information"). You shall not disclose such Confidential
+*  Information and shall use it only in accordance with the terms of the
+*  license agreement you entered into with J-Tech.
+*
+*/
+package br.com.jtech.tasklist.config.infra.jobs;
+
+import br.com.jtech.tasklist.service.PurgeService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+
+/**
+* Periodically moves tasks and task lists soft deleted for longer than the retention into
+* the archive tables (or deletes them when {@code jobs.purge.mode=DELETE}). Rows are handled
+* in small batches, one transaction each, with a pause in between so the job never holds
+* locks for long. With {@code jobs.purge.dry-run=true} it only reports what would be moved.
+*
+* @author jtech
+*/
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "jobs.purge.enabled", havingValue = "true", matchIfMissing = true)
+public class SoftDeletePurgeJob {
+
+    public enum Mode { ARCHIVE, DELETE }
+
+    private final PurgeService purgeService;
+    private final Duration retention;
+    private final int batchSize;
+    private final int maxBatches;
+    private final Duration pause;
+    private final Mode mode;
+    private final boolean dryRun;
+
+    private final Counter tasksPurged;
+    private final Counter taskListsPurged;
+    private final Counter batches;
+    private final Timer duration;
+    private final AtomicLong pendingTasks = new AtomicLong();
+    private final AtomicLong pendingTaskLists = new AtomicLong();
+
+    public SoftDeletePurgeJob(
+            PurgeService purgeService,
+            MeterRegistry registry,
+            @Value("${jobs.purge.retention:P30D}") Duration retention,
+            @Value("${jobs.purge.batch-size:500}") int batchSize,
+            @Value("${jobs.purge.max-batches:100}") int maxBatches,
+            @Value("${jobs.purge.pause:PT0.2S}") Duration pause,
+            @Value("${jobs.purge.mode:ARCHIVE}") Mode mode,
+            @Value("${jobs.purge.dry-run:false}") boolean dryRun) {
+        this.purgeService = purgeService;
+        this.retention = retention;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.pause = pause;
+        this.mode = mode;
+        this.dryRun = dryRun;
+
+        String action = mode == Mode.ARCHIVE ? "archived" : "deleted";
+        this.tasksPurged = Counter.builder("jobs.purge.rows")
+                .description("Soft deleted rows moved out of the hot tables")
+                .tags("table", "tasks", "action", action)
+                .register(registry);
+        this.taskListsPurged = Counter.builder("jobs.purge.rows")
+                .description("Soft deleted rows moved out of the hot tables")
+                .tags("table", "task_lists", "action", action)
+                .register(registry);
+        this.batches = Counter.builder("jobs.purge.batches")
+                .description("Batches executed by the purge job")
+                .register(registry);
+        this.duration = Timer.builder("jobs.purge.duration")
+                .description("Duration of a complete purge run")
+                .register(registry);
+        Gauge.builder("jobs.purge.pending", pendingTasks, AtomicLong::get)
+                .description("Rows eligible for purge at the start of the last run")
+                .tag("table", "tasks")
+                .register(registry);
+        Gauge.builder("jobs.purge.pending", pendingTaskLists, AtomicLong::get)
+                .description("Rows eligible for purge at the start of the last run")
+                .tag("table", "task_lists")
+                .register(registry);
+    }
+
+    @Scheduled(cron = "${jobs.purge.cron:0 0 3 * * *}")
+    public void run() {
+        duration.record(this::execute);
+    }
+
+    private void execute() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        pendingTasks.set(purgeService.countPurgeableTasks(cutoff));
+        pendingTaskLists.set(purgeService.countPurgeableTaskLists(cutoff));
+
+        if (dryRun) {
+            log.info("::: [dry-run] Purge ({}) before {} would move {} tasks and {} task lists.",
+                    mode, cutoff, pendingTasks.get(), pendingTaskLists.get());
+            return;
+        }
+
+        boolean archive = mode == Mode.ARCHIVE;
+        int tasks = drain(() -> purgeService.purgeTasks(cutoff, batchSize, archive), tasksPurged, "tasks");
+        int taskLists = drain(() -> purgeService.purgeTaskLists(cutoff, batchSize, archive), taskListsPurged, "task_lists");
+        log.info("::: Purge ({}) before {} moved {} of {} tasks and {} of {} task lists.",
+                mode, cutoff, tasks, pendingTasks.get(), taskLists, pendingTaskLists.get());
+    }
+
+    private int drain(IntSupplier batch, Counter purged, String table) {
+        int total = 0;
+        for (int i = 0; i < maxBatches; i++) {
+            int moved = batch.getAsInt();
+            batches.increment();
+            purged.increment(moved);
+            total += moved;
+            if (moved < batchSize) {
+                break;
+            }
+            log.debug("::: Purge of {} progressed: {} rows so far.", table, total);
+            if (!sleep()) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    private boolean sleep() {
+        if (pause.isZero() || pause.isNegative()) {
+            return true;
+        }
+        try {
+            Thread.sleep(pause.toMillis());
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+*  @(#)TaskCompletionFlushJob.java
+*
+*  Copyright (c) J-Tech Solucoes em Informatica.
+*  All Rights Reserved.
+*
+*  This software is the confidential and proprietary information of J-Tech.
+*  ("Confidential Information"). You shall not disclose such Confidential
+*  Information and shall use it only in accordance with the terms of the
+*  license agreement you entered into with J-Tech.
+*
+*/
+package br.com.jtech.tasklist.config.infra.jobs;
+
+import br.com.jtech.tasklist.config.infra.buffer.TaskCompletionBuffer;
+import br.com.jtech.tasklist.service.TaskService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+* Flushes the completion buffer every {@code tasks.completion-buffer.max-delay}, which is the
+* longest a toggle waits before reaching the database, and once more on shutdown. Toggles still
+* in memory when the process dies without a graceful shutdown are lost; that is why the toggle
+* endpoint answers 202 Accepted instead of returning the saved task.
+* <p>
+* A user's batch that fails goes back to the buffer and is retried on the next flush, up to
+* {@code tasks.completion-buffer.max-attempts} consecutive failures; only then it is dropped.
+* The scheduled flush and the shutdown flush share a lock, so they never apply the same
+* drained toggles twice or interleave their retries.
+*
+* @author jtech
+*/
+@Slf4j
+@Component
+public class TaskCompletionFlushJob {
+
+    private final TaskCompletionBuffer buffer;
+    private final TaskService taskService;
+    private final Counter applied;
+    private final Counter failed;
+    private final Timer duration;
+    private final int maxAttempts;
+    private final Map<String, Integer> failures = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public TaskCompletionFlushJob(TaskCompletionBuffer buffer, TaskService taskService, MeterRegistry registry,
+                                  @Value("${tasks.completion-buffer.max-attempts:3}") int maxAttempts) {
+        this.buffer = buffer;
+        this.taskService = taskService;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.applied = Counter.builder("tasks.completion.flushed")
+                .description("Tasks whose completion flag changed in a flush")
+                .register(registry);
+        this.failed = Counter.builder("tasks.completion.failed")
+                .description("Completion toggles discarded after their flush failed max-attempts times")
+                .register(registry);
+        this.duration = Timer.builder("tasks.completion.flush.duration")
+                .description("Duration of a write-behind flush")
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${tasks.completion-buffer.max-delay:PT0.5S}")
+    public void flush() {
+        if (buffer.size() == 0) {
+            return;
+        }
+        duration.record(this::execute);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        log.info("::: Flushing {} pending completion toggles before shutdown.", buffer.size());
+        execute();
+    }
+
+    private void execute() {
+        lock.lock();
+        try {
+            for (Map.Entry<String, Map<UUID, Boolean>> entry : buffer.drain().entrySet()) {
+                apply(entry.getKey(), entry.getValue());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void apply(String userEmail, Map<UUID, Boolean> completions) {
+        try {
+            applied.increment(taskService.applyCompletions(userEmail, completions));
+            failures.remove(userEmail);
+        } catch (RuntimeException ex) {
+            int attempts = failures.merge(userEmail, 1, Integer::sum);
+            if (attempts < maxAttempts) {
+                buffer.requeue(userEmail, completions);
+                log.warn("::: Failed to flush {} completion toggles of {} (attempt {}/{}), retrying: {}",
+                        completions.size(), userEmail, attempts, maxAttempts, ex.getMessage());
+            } else {
+                failures.remove(userEmail);
+                failed.increment(completions.size());
+                log.warn("::: Dropping {} completion toggles of {} after {} failed attempts: {}",
+                        completions.size(), userEmail, attempts, ex.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+*  @(#)TransferJobWorker.java
+*
+*  Copyright (c) J-Tech Solucoes em Informatica.
+*  All Rights Reserved.
+*
+*  This software is the confidential and proprietary information of J-Tech.
+*  ("Confidential Information"). You shall not disclose such Confidential
+*  Information and shall use it only in accordance with the terms of the
+*  license agreement you entered into with J-Tech.
+*
+*/
+package br.com.jtech.tasklist.config.infra.jobs;
+
+import br.com.jtech.tasklist.entity.TransferJobEntity;
+import br.com.jtech.tasklist.service.TransferJobService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+* Polls the transfer job queue every {@code jobs.transfer.poll-interval} and runs claimed jobs
+* on a fixed pool of {@code jobs.transfer.workers} threads; no more jobs are claimed than there
+* are idle workers. On shutdown running jobs stop at the next batch and go back to the queue.
+*
+* @author jtech
+*/
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "jobs.transfer.enabled", havingValue = "true", matchIfMissing = true)
+public class TransferJobWorker {
+
+    private final TransferJobService transferJobService;
+    private final MeterRegistry registry;
+    private final int workers;
+    private final ExecutorService executor;
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicBoolean stopping = new AtomicBoolean();
+
+    private final Counter recovered;
+
+    public TransferJobWorker(
+            TransferJobService transferJobService,
+            MeterRegistry registry,
+            @Value("${jobs.transfer.workers:2}") int workers) {
+        this.transferJobService = transferJobService;
+        this.registry = registry;
+        this.workers = workers;
+
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "transfer-job-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.recovered = Counter.builder("jobs.transfer.recovered")
+                .description("Running transfer jobs without heartbeat put back in the queue")
+                .register(registry);
+        Gauge.builder("jobs.transfer.running", running, AtomicInteger::get)
+                .description("Transfer jobs currently running on this instance")
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${jobs.transfer.poll-interval:PT1S}")
+    public void poll() {
+        if (stopping.get()) {
+            return;
+        }
+        try {
+            recovered.increment(transferJobService.recoverStale());
+            for (TransferJobService.ClaimedJob claimed : transferJobService.claim(workers - running.get())) {
+                running.incrementAndGet();
+                executor.execute(() -> execute(claimed));
+            }
+        } catch (RuntimeException ex) {
+            log.warn("::: Transfer job poll failed: {}", ex.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jobs.transfer.purge-interval:PT1H}")
+    public void purge() {
+        int purged = transferJobService.purgeExpired();
+        if (purged > 0) {
+            log.info("::: Purged {} finished transfer jobs and their files.", purged);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        stopping.set(true);
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("::: Transfer jobs still running at shutdown; they will be resumed after the lease expires.");
+        }
+    }
+
+    private void execute(TransferJobService.ClaimedJob claimed) {
+        long start = System.nanoTime();
+        try {
+            TransferJobEntity.Status status = transferJobService.run(claimed, stopping::get);
+            if (status != null) {
+                registry.timer("jobs.transfer.duration", "status", status.name().toLowerCase(Locale.ROOT))
+                        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        } catch (RuntimeException ex) {
+            log.error("::: Transfer job {} crashed: {}", claimed.id(), ex.getMessage(), ex);
+        } finally {
+            running.decrementAndGet();
+        }
+    }
+}
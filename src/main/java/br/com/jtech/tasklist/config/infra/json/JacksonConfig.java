@@ -0,0 +1,103 @@
+/*
+*  @(#)JacksonConfig.java
+*
+*  Copyright (c) J-Tech Solucoes em Informatica.
+*  All Rights Reserved.
+*
+*  This software is the confidential and proprietary information of J-Tech.
+*  ("Confidential Information"). You shall not disclose such Confidential
+*  Information and shall use it only in accordance with the terms of the
+*  license agreement you entered into with J-Tech.
+*
+*/
+package br.com.jtech.tasklist.config.infra.json;
+
+import br.com.jtech.tasklist.config.infra.utils.Jsons;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.util.TimeZone;
+
+/**
+* Single ObjectMapper for the application: the one Spring Boot builds for MVC, tuned here and
+* handed to {@link Jsons}, so every path serializes a DTO the same way and only one mapper
+* warms up its serializer caches. Blackbird replaces reflective getter/setter calls with
+* generated lambdas. The CBOR and Smile converters are built from the same configuration, so
+* {@code Accept: application/cbor} or {@code application/x-jackson-smile} gets the same
+* document, binary-encoded.
+*
+* @author jtech
+*/
+@Configuration
+public class JacksonConfig {
+
+    public static final String TIME_ZONE = "America/Sao_Paulo";
+
+    /**
+     * Picked up by Spring Boot together with the other {@code Module} beans.
+     */
+    @Bean
+    public BlackbirdModule blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer tasklistObjectMapperCustomizer() {
+        return JacksonConfig::customize;
+    }
+
+    /**
+     * Spring MVC registers CBOR and Smile converters by itself once the dataformats are on the
+     * classpath, but with a default mapper; declared as beans they replace those and keep the
+     * modules and settings above. JSON stays ahead of them in the converter list, so it is still
+     * the answer when the client does not ask for a binary type.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    @Bean
+    public SmartInitializingSingleton jsonsObjectMapperBinding(ObjectMapper objectMapper) {
+        return () -> Jsons.use(objectMapper);
+    }
+
+    /**
+     * Mapper equivalent to the Spring one, for code that runs without the application context
+     * (benchmarks, {@link Jsons} before startup).
+     */
+    public static ObjectMapper standaloneMapper() {
+        return standaloneMapper(new JsonFactory());
+    }
+
+    /**
+     * Same, over another Jackson format ({@code CBORFactory}, {@code SmileFactory}).
+     */
+    public static ObjectMapper standaloneMapper(JsonFactory factory) {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json().factory(factory);
+        customize(builder);
+        builder.modulesToInstall(new BlackbirdModule());
+        return builder.build();
+    }
+
+    private static void customize(Jackson2ObjectMapperBuilder builder) {
+        builder.timeZone(TimeZone.getTimeZone(TIME_ZONE));
+        builder.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS);
+    }
+}
@@ -0,0 +1,170 @@
+/*
+*  @(#)PageResponseSerializer.java
+*
+*  Copyright (c) J-Tech Solucoes em Informatica.
+*  All Rights Reserved.
+*
+*  This software is the confidential and proprietary information of J-Tech.
+*  ("Confidential Information"). You shall not disclose such Confidential
+*  Information and shall use it only in accordance with the terms of the
+*  license agreement you entered into with J-Tech.
+*
+*/
+package br.com.jtech.tasklist.config.infra.json;
+
+import br.com.jtech.tasklist.dto.PageResponse;
+import br.com.jtech.tasklist.entity.TaskEntity;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+
+/**
+* Writes a {@link PageResponse} field by field. A {@link TaskResponseList} content is written
+* straight from the {@link TaskEntity} rows behind it, in the same shape as {@code TaskResponse},
+* so a page costs no intermediate DTO per item and no bean introspection. Ids and timestamps are
+* formatted into one reused char buffer instead of temporary Strings. Any other content type
+* goes through the regular serializers.
+*
+* @author jtech
+*/
+public class PageResponseSerializer extends StdSerializer<PageResponse<?>> {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    public PageResponseSerializer() {
+        super(PageResponse.class, false);
+    }
+
+    @Override
+    public void serialize(PageResponse<?> page, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        char[] buffer = new char[36];
+        generator.writeStartObject();
+        generator.writeArrayFieldStart("content");
+        if (page.getContent() instanceof TaskResponseList tasks) {
+            for (TaskEntity task : tasks.tasks()) {
+                writeTask(task, generator, buffer);
+            }
+        } else if (page.getContent() != null) {
+            for (Object item : page.getContent()) {
+                provider.defaultSerializeValue(item, generator);
+            }
+        }
+        generator.writeEndArray();
+        generator.writeNumberField("page", page.getPage());
+        generator.writeNumberField("size", page.getSize());
+        generator.writeNumberField("totalElements", page.getTotalElements());
+        generator.writeNumberField("totalPages", page.getTotalPages());
+        generator.writeBooleanField("first", page.isFirst());
+        generator.writeBooleanField("last", page.isLast());
+        generator.writeEndObject();
+    }
+
+    /**
+     * Same fields, order and formats as Jackson's output for {@code TaskResponse}. The task list
+     * id is read from the lazy proxy without initializing it.
+     */
+    public static void writeTask(TaskEntity task, JsonGenerator generator) throws IOException {
+        writeTask(task, generator, new char[36]);
+    }
+
+    private static void writeTask(TaskEntity task, JsonGenerator generator, char[] buffer) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName("id");
+        writeUuid(task.getId(), generator, buffer);
+        generator.writeStringField("title", task.getTitle());
+        generator.writeStringField("description", task.getDescription());
+        generator.writeFieldName("completed");
+        if (task.getCompleted() != null) {
+            generator.writeBoolean(task.getCompleted());
+        } else {
+            generator.writeNull();
+        }
+        generator.writeFieldName("taskListId");
+        writeUuid(task.getTaskList() != null ? task.getTaskList().getId() : null, generator, buffer);
+        generator.writeFieldName("createdAt");
+        writeDateTime(task.getCreatedAt(), generator, buffer);
+        generator.writeFieldName("updatedAt");
+        writeDateTime(task.getUpdatedAt(), generator, buffer);
+        generator.writeEndObject();
+    }
+
+    /**
+     * Same text as {@link UUID#toString()}.
+     */
+    private static void writeUuid(UUID id, JsonGenerator generator, char[] buffer) throws IOException {
+        if (id == null) {
+            generator.writeNull();
+            return;
+        }
+        long msb = id.getMostSignificantBits();
+        long lsb = id.getLeastSignificantBits();
+        hex(msb >>> 32, buffer, 0, 8);
+        buffer[8] = '-';
+        hex(msb >>> 16, buffer, 9, 4);
+        buffer[13] = '-';
+        hex(msb, buffer, 14, 4);
+        buffer[18] = '-';
+        hex(lsb >>> 48, buffer, 19, 4);
+        buffer[23] = '-';
+        hex(lsb, buffer, 24, 12);
+        generator.writeString(buffer, 0, 36);
+    }
+
+    /**
+     * Same text as {@link DateTimeFormatter#ISO_LOCAL_DATE_TIME}: seconds always present, the
+     * fraction only when non-zero and without trailing zeros. Years outside 0..9999 fall back
+     * to the formatter.
+     */
+    private static void writeDateTime(LocalDateTime value, JsonGenerator generator, char[] buffer) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+            return;
+        }
+        int year = value.getYear();
+        if (year < 0 || year > 9999) {
+            generator.writeString(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value));
+            return;
+        }
+        digits(year, buffer, 0, 4);
+        buffer[4] = '-';
+        digits(value.getMonthValue(), buffer, 5, 2);
+        buffer[7] = '-';
+        digits(value.getDayOfMonth(), buffer, 8, 2);
+        buffer[10] = 'T';
+        digits(value.getHour(), buffer, 11, 2);
+        buffer[13] = ':';
+        digits(value.getMinute(), buffer, 14, 2);
+        buffer[16] = ':';
+        digits(value.getSecond(), buffer, 17, 2);
+        int length = 19;
+        int nano = value.getNano();
+        if (nano > 0) {
+            buffer[19] = '.';
+            digits(nano, buffer, 20, 9);
+            length = 29;
+            while (buffer[length - 1] == '0') {
+                length--;
+            }
+        }
+        generator.writeString(buffer, 0, length);
+    }
+
+    private static void hex(long value, char[] buffer, int offset, int count) {
+        for (int i = offset + count - 1; i >= offset; i--) {
+            buffer[i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+
+    private static void digits(int value, char[] buffer, int offset, int count) {
+        for (int i = offset + count - 1; i >= offset; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+*  @(#)TaskResponseList.java
+*
+*  Copyright (c) J-Tech Solucoes em Informatica.
+*  All Rights Reserved.
+*
+*  This software is the confidential and proprietary information of J-Tech.
+*  ("Confidential Information"). You shall not disclose such Confidential
+*  Information and shall use it only in accordance with the terms of the
+*  license agreement you entered into with J-Tech.
+*
+*/
+package br.com.jtech.tasklist.config.infra.json;
+
+import br.com.jtech.tasklist.dto.TaskResponse;
+import br.com.jtech.tasklist.entity.TaskEntity;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+* Read-only {@code List<TaskResponse>} view over the {@link TaskEntity} rows of a query. An item
+* is mapped with {@link TaskResponse#from(TaskEntity)} only when read through {@link #get(int)};
+* {@link PageResponseSerializer} recognizes the view and writes the entities directly, so the
+* API keeps its {@code TaskResponse} contract without a DTO per item on the serialization path.
+*
+* @author jtech
+*/
+public final class TaskResponseList extends AbstractList<TaskResponse> implements RandomAccess {
+
+    private final List<TaskEntity> tasks;
+
+    private TaskResponseList(List<TaskEntity> tasks) {
+        this.tasks = tasks;
+    }
+
+    public static TaskResponseList of(List<TaskEntity> tasks) {
+        return new TaskResponseList(List.copyOf(tasks));
+    }
+
+    @Override
+    public TaskResponse get(int index) {
+        return TaskResponse.from(tasks.get(index));
+    }
+
+    @Override
+    public int size() {
+        return tasks.size();
+    }
+
+    List<TaskEntity> tasks() {
+        return tasks;
+    }
+}
@@ -0,0 +1,87 @@
+/*
+*  @(#)MetricsConfig.java
+*
+*  Copyright (c) J-Tech Solucoes em Informatica.
+*  All Rights Reserved.
+*
+*  This software is the confidential and proprietary information of J-Tech.
+*  ("Confidential Information"). You shall not disclose such Confidential
+*  Information and shall use it only in accordance with the terms of the
+*  license agreement you entered into with J-Tech.
+*
+*/
+package br.com.jtech.tasklist.config.infra.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.Pointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import java.lang.reflect.Method;
+
+/**
+* Timers for every public method of the service implementations ({@code service.invocations})
+* and every repository query ({@code repository.invocations}), both through
+* {@link TimedInvocationInterceptor}. Percentiles and histogram buckets are set per meter in
+* {@code management.metrics.distribution}; Spring Boot's own repository timer is disabled there
+* because it builds its tags on every call.
+*
+* @author jtech
+*/
+@Configuration
+public class MetricsConfig {
+
+    private static final String SERVICE_PACKAGE = "br.com.jtech.tasklist.service.impl";
+
+    /**
+     * Outermost advice of the service beans, so the time includes the transaction commit.
+     */
+    @Bean
+    public static Advisor serviceTimingAdvisor(ObjectProvider<MeterRegistry> registry) {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(servicePointcut(),
+                new TimedInvocationInterceptor(registry::getObject, "service.invocations", "class", null));
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+
+    /**
+     * Every method of the service implementations except the ones inherited from {@link Object}.
+     */
+    public static Pointcut servicePointcut() {
+        StaticMethodMatcherPointcut pointcut = new StaticMethodMatcherPointcut() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return method.getDeclaringClass() != Object.class;
+            }
+        };
+        pointcut.setClassFilter(type -> type.getPackageName().equals(SERVICE_PACKAGE));
+        return pointcut;
+    }
+
+    /**
+     * Adds the timer to each repository proxy as it is created; the repository interface names
+     * the series, since the proxy target is always the same {@code SimpleJpaRepository}.
+     */
+    @Bean
+    public static BeanPostProcessor repositoryTimingPostProcessor(ObjectProvider<MeterRegistry> registry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, information) -> proxyFactory.addAdvice(new TimedInvocationInterceptor(
+                                    registry::getObject, "repository.invocations", "repository",
+                                    information.getRepositoryInterface().getSimpleName()))));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,65 @@
+/*
+*  @(#)HttpOutboxSink.java
+*
+*  Copyright (c) J-Tech Solucoes em Informatica.
+*  All Rights Reserved.
+*
+*  This software is the confidential and proprietary information of J-Tech.
+*  ("Confidential Information"). You shall not disclose such Confidential
+*  Information and shall use it only in accordance with the terms of the
+*  license agreement you entered into with J-Tech.
+*
+*/
+package br.com.jtech.tasklist.config.infra.outbox;
+
+import br.com.jtech.tasklist.entity.OutboxEventEntity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+* POSTs each batch as a JSON array to {@code outbox.http.url}. Any non-2xx answer or I/O
+* error is thrown, which rolls back the relay transaction and keeps the batch in the outbox.
+*
+* @author jtech
+*/
+@Component
+@ConditionalOnProperty(name = "outbox.sink", havingValue = "http")
+public class HttpOutboxSink implements OutboxSink {
+
+    private final RestClient restClient;
+
+    public HttpOutboxSink(
+            RestClient.Builder builder,
+            @Value("${outbox.http.url:http://localhost:8089/events}") String url,
+            @Value("${outbox.http.timeout:PT5S}") Duration timeout) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(timeout);
+        requestFactory.setReadTimeout(timeout);
+        this.restClient = builder
+                .baseUrl(url)
+                .requestFactory(requestFactory)
+                .build();
+    }
+
+    @Override
+    public void send(List<OutboxEventEntity> events) {
+        List<OutboxMessage> messages = new ArrayList<>(events.size());
+        for (OutboxEventEntity event : events) {
+            messages.add(OutboxMessage.from(event));
+        }
+
+        restClient.post()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(messages)
+                .retrieve()
+                .toBodilessEntity();
+    }
+}
@@ -0,0 +1,51 @@
+/*
+*  @(#)LoggingOutboxSink.java
+*
+*  Copyright (c) J-Tech Solucoes em Informatica.
+*  All Rights Reserved.
+*
+*  This software is the confidential and proprietary information of J-Tech.
+*  ("Confidential Information"). You shall not disclose such Confidential
+*  Information and shall use it only in accordance with the terms of the
+*  license agreement you entered into with J-Tech.
+*
+*/
+package br.com.jtech.tasklist.config.infra.outbox;
+
+import br.com.jtech.tasklist.entity.OutboxEventEntity;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+* Writes each event as one JSON line to the {@code outbox} logger, which goes to the
+* application log file unless routed elsewhere by the logging configuration.
+*
+* @author jtech
+*/
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "outbox.sink", havingValue = "log", matchIfMissing = true)
+public class LoggingOutboxSink implements OutboxSink {
+
+    private static final Logger OUTBOX = LoggerFactory.getLogger("outbox");
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void send(List<OutboxEventEntity> events) {
+        try {
+            for (OutboxEventEntity event : events) {
+                OUTBOX.info(objectMapper.writeValueAsString(OutboxMessage.from(event)));
+            }
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Erro ao serializar evento do outbox", ex);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/*
+*  @(#)OutboxMessage.java
+*
+*  Copyright (c) J-Tech Solucoes em Informatica.
+*  All Rights Reserved.
+*
+*  This software is the confidential and proprietary information of J-Tech.
+*  ("Confidential Information"). You shall not disclose such Confidential
+*  Information and shall use it only in accordance with the terms of the
+*  license agreement you entered into with J-Tech.
+*
+*/
+package br.com.jtech.tasklist.config.infra.outbox;
+
+import br.com.jtech.tasklist.entity.OutboxEventEntity;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+* class OutboxMessage
+*
+* @author jtech
+*/
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxMessage {
+
+    private Long id;
+    private String aggregateType;
+    private String aggregateId;
+    private String eventType;
+    private String userEmail;
+    private LocalDateTime occurredAt;
+
+    @JsonRawValue
+    private String payload;
+
+    public static OutboxMessage from(OutboxEventEntity event) {
+        return OutboxMessage.builder()
+                .id(event.getId())
+                .aggregateType(event.getAggregateType())
+                .aggregateId(event.getAggregateId().toString())
+                .eventType(event.getEventType())
+                .userEmail(event.getUserEmail())
+                .occurredAt(event.getCreatedAt())
+                .payload(event.getPayload())
+                .build();
+    }
+}
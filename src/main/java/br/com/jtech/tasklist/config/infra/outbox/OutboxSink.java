@@ -0,0 +1,28 @@
+/*
+*  @(#)OutboxSink.java
+*
+*  Copyright (c) J-Tech Solucoes em Informatica.
+*  All Rights Reserved.
+*
+*  This software is the confidential and proprietary information of J-Tech.
+*  ("Confidential Information"). You shall not disclose such Confidential
+*  Information and shall use it only in accordance with the terms of the
+*  license agreement you entered into with J-Tech.
+*
+*/
+package br.com.jtech.tasklist.config.infra.outbox;
+
+import br.com.jtech.tasklist.entity.OutboxEventEntity;
+
+import java.util.List;
+
+/**
+* Destination of the events drained from the outbox, selected by {@code outbox.sink}.
+* Implementations must throw when the batch was not accepted, so the relay retries it.
+*
+* @author jtech
+*/
+public interface OutboxSink {
+
+    void send(List<OutboxEventEntity> events);
+}
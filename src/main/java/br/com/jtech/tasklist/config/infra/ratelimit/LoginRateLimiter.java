@@ -0,0 +1,92 @@
+/*
+*  @(#)LoginRateLimiter.java
+*
+*  Copyright (c) J-Tech Solucoes em Informatica.
+*  All Rights Reserved.
+*
+*  This software is the confidential and proprietary information of J-Tech.
+*  ("Confidential Information"). You shall not disclose such Confidential
+*  Information and shall use it only in accordance with the terms of the
+*  license agreement you entered into with J-Tech.
+*
+*/
+package br.com.jtech.tasklist.config.infra.ratelimit;
+
+import br.com.jtech.tasklist.config.infra.exceptions.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+* Throttles the public authentication endpoints per client IP and per email,
+* so credential stuffing cannot turn each attempt into a users query plus a
+* BCrypt compare.
+*
+* @author jtech
+*/
+@Component
+public class LoginRateLimiter {
+
+    private final boolean enabled;
+    private final TokenBucketLimiter ipLimiter;
+    private final TokenBucketLimiter emailLimiter;
+    private final Counter ipRejected;
+    private final Counter emailRejected;
+
+    public LoginRateLimiter(
+            MeterRegistry registry,
+            @Value("${security.rate-limit.enabled:true}") boolean enabled,
+            @Value("${security.rate-limit.ip.capacity:20}") int ipCapacity,
+            @Value("${security.rate-limit.ip.period:PT1M}") Duration ipPeriod,
+            @Value("${security.rate-limit.email.capacity:5}") int emailCapacity,
+            @Value("${security.rate-limit.email.period:PT1M}") Duration emailPeriod,
+            @Value("${security.rate-limit.max-entries:100000}") int maxEntries) {
+        this.enabled = enabled;
+        this.ipLimiter = new TokenBucketLimiter(ipCapacity, ipPeriod, maxEntries);
+        this.emailLimiter = new TokenBucketLimiter(emailCapacity, emailPeriod, maxEntries);
+        this.ipRejected = rejectedCounter(registry, "ip");
+        this.emailRejected = rejectedCounter(registry, "email");
+    }
+
+    /**
+     * Consumes one attempt for the client IP and the informed email.
+     *
+     * @throws TooManyRequestsException when any of the buckets is empty.
+     */
+    public void acquire(String clientIp, String email) {
+        if (!enabled) {
+            return;
+        }
+
+        long waitNanos = ipLimiter.tryAcquire(clientIp != null ? clientIp : "unknown");
+        if (waitNanos > 0) {
+            ipRejected.increment();
+            throw tooManyRequests(waitNanos);
+        }
+
+        if (email != null && !email.isBlank()) {
+            waitNanos = emailLimiter.tryAcquire(email.trim().toLowerCase(Locale.ROOT));
+            if (waitNanos > 0) {
+                emailRejected.increment();
+                throw tooManyRequests(waitNanos);
+            }
+        }
+    }
+
+    private TooManyRequestsException tooManyRequests(long waitNanos) {
+        long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        return new TooManyRequestsException("Muitas tentativas. Tente novamente mais tarde.", retryAfter);
+    }
+
+    private static Counter rejectedCounter(MeterRegistry registry, String scope) {
+        return Counter.builder("auth.rate_limit.rejected")
+                .description("Authentication attempts rejected by the rate limiter")
+                .tag("scope", scope)
+                .register(registry);
+    }
+}
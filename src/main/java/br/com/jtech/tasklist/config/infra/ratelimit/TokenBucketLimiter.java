@@ -0,0 +1,137 @@
+/*
+*  @(#)TokenBucketLimiter.java
+*
+*  Copyright (c) J-Tech Solucoes em Informatica.
+*  All Rights Reserved.
+*
+*  This software is the confidential and proprietary information of J-Tech.
+*  ("Confidential Information"). You shall not disclose such Confidential
+*  Information and shall use it only in accordance with the terms of the
+*  license agreement you entered into with J-Tech.
+*
+*/
+package br.com.jtech.tasklist.config.infra.ratelimit;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+* Lock-free token bucket keyed by an arbitrary string (IP, email...).
+* <p>
+* Each bucket is a single {@link AtomicLong} holding its "theoretical arrival
+* time" (GCRA), so acquiring a token is one CAS and buckets never need a lock.
+* Buckets that are completely refilled carry no state and are swept
+* periodically. When {@code maxEntries} keys are tracked and a new one arrives,
+* refilled buckets are swept right away and, if that is not enough, the tenth
+* of the buckets closest to full is evicted: those lose the least state, while
+* the clients that are actually being throttled keep their limit. Memory stays
+* bounded when an attacker rotates keys, and new clients still get their own
+* bucket instead of sharing one the attacker can drain.
+*
+* @author jtech
+*/
+public class TokenBucketLimiter {
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweep;
+    private final long emissionIntervalNanos;
+    private final long burstNanos;
+    private final long sweepIntervalNanos;
+    private final int maxEntries;
+    private final LongSupplier clock;
+
+    /**
+     * @param capacity   Tokens available in a full bucket (burst size).
+     * @param period     Time to refill a full bucket.
+     * @param maxEntries Maximum number of keys tracked individually.
+     */
+    public TokenBucketLimiter(int capacity, Duration period, int maxEntries) {
+        this(capacity, period, maxEntries, System::nanoTime);
+    }
+
+    TokenBucketLimiter(int capacity, Duration period, int maxEntries, LongSupplier clock) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be greater than 0");
+        }
+        this.emissionIntervalNanos = Math.max(1, period.toNanos() / capacity);
+        this.burstNanos = emissionIntervalNanos * capacity;
+        this.sweepIntervalNanos = Math.max(burstNanos, Duration.ofSeconds(1).toNanos());
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+        this.nextSweep = new AtomicLong(clock.getAsLong() + sweepIntervalNanos);
+    }
+
+    /**
+     * Tries to take one token for the key.
+     *
+     * @return 0 when the token was granted, otherwise the nanoseconds to wait
+     *         until a token becomes available.
+     */
+    public long tryAcquire(String key) {
+        long now = clock.getAsLong();
+        sweepIfDue(now);
+
+        AtomicLong tat = buckets.get(key);
+        if (tat == null) {
+            if (buckets.size() >= maxEntries) {
+                evict(now);
+            }
+            tat = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+        while (true) {
+            long current = tat.get();
+            long next = Math.max(current, now) + emissionIntervalNanos;
+            long excess = next - now - burstNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (tat.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    private void sweepIfDue(long now) {
+        long due = nextSweep.get();
+        if (now - due < 0) {
+            return;
+        }
+        if (!nextSweep.compareAndSet(due, now + sweepIntervalNanos)) {
+            return;
+        }
+        buckets.entrySet().removeIf(entry -> entry.getValue().get() - now <= 0);
+    }
+
+    /**
+     * Makes room for new keys. Only one thread evicts at a time; the others wait and
+     * find the room already made.
+     */
+    private synchronized void evict(long now) {
+        if (buckets.size() < maxEntries) {
+            return;
+        }
+        buckets.entrySet().removeIf(entry -> entry.getValue().get() - now <= 0);
+        if (buckets.isEmpty() || buckets.size() < maxEntries) {
+            return;
+        }
+
+        long[] tats = new long[buckets.size()];
+        int count = 0;
+        for (AtomicLong tat : buckets.values()) {
+            if (count == tats.length) {
+                break;
+            }
+            tats[count++] = tat.get() - now;
+        }
+        Arrays.sort(tats, 0, count);
+        long threshold = tats[Math.min(count - 1, Math.max(0, count / 10 - 1))];
+        buckets.entrySet().removeIf(entry -> entry.getValue().get() - now <= threshold);
+    }
+}
@@ -15,6 +15,7 @@ package br.com.jtech.tasklist.config.infra.security;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -40,6 +41,18 @@ public class JwtTokenProvider {
     @Value("${jwt.refresh-expiration:604800000}")
     private Long refreshExpiration;
 
+    /**
+     * jjwt 0.12.3 finds its builder, parser and JSON implementations through a ServiceLoader
+     * the first time they are used, and that lookup is not thread-safe: concurrent first logins
+     * or token checks right after startup failed with {@code NoSuchElementException}. Using them
+     * once here, before the server takes requests, resolves them on a single thread. Remove it
+     * when jjwt is upgraded to 0.12.4 or later, which makes the lookup thread-safe.
+     */
+    @PostConstruct
+    void warmUp() {
+        getAllClaimsFromToken(generateToken("warm-up"));
+    }
+
     private SecretKey getSigningKey() {
         return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
     }
@@ -0,0 +1,72 @@
+/*
+*  @(#)RegisteredEmailFilter.java
+*
+*  Copyright (c) J-Tech Solucoes em Informatica.
+*  All Rights Reserved.
+*
+*  This software is the confidential and proprietary information of J-Tech.
+*  ("Confidential Information"). You shall not disclose such Confidential
+*  Information and shall use it only in accordance with the terms of the
+*  license agreement you entered into with J-Tech.
+*
+*/
+package br.com.jtech.tasklist.config.infra.security;
+
+import br.com.jtech.tasklist.config.infra.utils.BloomFilter;
+import br.com.jtech.tasklist.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+* In-memory prefilter over the registered emails. A negative answer means the
+* email is certainly not in this node's view of the users table, so
+* registration can skip the existence query and rely on the conflict-aware
+* insert. Until the filter is warmed every email is reported as "maybe".
+*
+* @author jtech
+*/
+@Slf4j
+@Component
+public class RegisteredEmailFilter {
+
+    private final UserRepository userRepository;
+    private final BloomFilter filter;
+    private volatile boolean ready;
+
+    public RegisteredEmailFilter(
+            UserRepository userRepository,
+            @Value("${security.email-filter.expected-insertions:1000000}") long expectedInsertions,
+            @Value("${security.email-filter.fpp:0.01}") double fpp) {
+        this.userRepository = userRepository;
+        this.filter = new BloomFilter(expectedInsertions, fpp);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUp() {
+        AtomicLong loaded = new AtomicLong();
+        try (Stream<String> emails = userRepository.streamAllEmails()) {
+            emails.forEach(email -> {
+                filter.put(email);
+                loaded.incrementAndGet();
+            });
+        }
+        ready = true;
+        log.info("::: Registered email filter loaded with {} emails.", loaded.get());
+    }
+
+    public boolean mightContain(String email) {
+        return !ready || filter.mightContain(email);
+    }
+
+    public void add(String email) {
+        filter.put(email);
+    }
+}
@@ -0,0 +1,80 @@
+/*
+*  @(#)TracedInvocationInterceptor.java
+*
+*  Copyright (c) J-Tech Solucoes em Informatica.
+*  All Rights Reserved.
+*
+*  This software is the confidential and proprietary information of J-Tech.
+*  ("Confidential Information"). You shall not disclose such Confidential
+*  Information and shall use it only in accordance with the terms of the
+*  license agreement you entered into with J-Tech.
+*
+*/
+package br.com.jtech.tasklist.config.infra.tracing;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+* Opens a child span {@code <TargetClass>.<method>} around every call of the advised bean. Calls
+* outside a sampled trace proceed untouched, so with a low sampling ratio almost every call
+* costs only the {@code currentSpan} lookup; the span names are built once per {@link Method}.
+*
+* @author jtech
+*/
+public class TracedInvocationInterceptor implements MethodInterceptor {
+
+    private final Supplier<Tracer> tracerSupplier;
+    private final ConcurrentHashMap<Method, String> spanNames = new ConcurrentHashMap<>();
+    private volatile Tracer tracer;
+
+    public TracedInvocationInterceptor(Supplier<Tracer> tracer) {
+        this.tracerSupplier = tracer;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Tracer tracer = tracer();
+        Span parent = tracer.currentSpan();
+        if (parent == null || !Boolean.TRUE.equals(parent.context().sampled())) {
+            return invocation.proceed();
+        }
+
+        Span span = tracer.nextSpan(parent).name(spanName(invocation)).start();
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+            return invocation.proceed();
+        } catch (Throwable e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    private Tracer tracer() {
+        Tracer current = tracer;
+        if (current == null) {
+            current = tracerSupplier.get();
+            tracer = current;
+        }
+        return current;
+    }
+
+    private String spanName(MethodInvocation invocation) {
+        Method method = invocation.getMethod();
+        String name = spanNames.get(method);
+        if (name == null) {
+            Class<?> type = invocation.getThis() != null ? AopUtils.getTargetClass(invocation.getThis())
+                    : method.getDeclaringClass();
+            name = spanNames.computeIfAbsent(method, key -> type.getSimpleName() + "." + key.getName());
+        }
+        return name;
+    }
+}
@@ -0,0 +1,60 @@
+/*
+*  @(#)TracingConfig.java
+*
+*  Copyright (c) J-Tech Solucoes em Informatica.
+*  All Rights Reserved.
+*
+*  This software is the confidential and proprietary information of J-Tech.
+*  ("Confidential Information"). You shall not disclose such Confidential
+*  Information and shall use it only in accordance with the terms of the
+*  license agreement you entered into with J-Tech.
+*
+*/
+package br.com.jtech.tasklist.config.infra.tracing;
+
+import br.com.jtech.tasklist.config.infra.metrics.MetricsConfig;
+import io.micrometer.tracing.Tracer;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.nio.file.Path;
+
+/**
+* Spans beyond the ones Spring creates for HTTP and the security filter chain: one per service
+* method ({@link TracedInvocationInterceptor}), the JWT and password checks (see
+* {@code JwtAuthenticationFilter} and {@code ObservedPasswordEncoder}) and one per JDBC connection
+* and statement (see {@code DataSourceProxyConfig}). The sampling ratio is
+* {@code management.tracing.sampling.probability}; spans go to OTLP when
+* {@code management.otlp.tracing.endpoint} is set and to {@link FileSpanExporter} with
+* {@code tracing.file.enabled}.
+*
+* @author jtech
+*/
+@Configuration
+public class TracingConfig {
+
+    /**
+     * Runs inside the timing advice of {@link MetricsConfig}, so both see the same call.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "tracing.service.enabled", havingValue = "true", matchIfMissing = true)
+    public static Advisor serviceTracingAdvisor(ObjectProvider<Tracer> tracer) {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(MetricsConfig.servicePointcut(),
+                new TracedInvocationInterceptor(() -> tracer.getIfAvailable(() -> Tracer.NOOP)));
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return advisor;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "tracing.file.enabled", havingValue = "true")
+    public SpanExporter fileSpanExporter(@Value("${tracing.file.path:./logs/spans.ndjson}") Path path) {
+        return new FileSpanExporter(path);
+    }
+}
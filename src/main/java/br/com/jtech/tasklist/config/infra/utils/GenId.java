@@ -31,4 +31,19 @@ public class GenId {
     public static String newId(String id) {
         return (id != null && !id.isEmpty()) ? id : UUID.randomUUID().toString();
     }
+
+    /**
+     * Whether {@code id} parses as a UUID; {@code null} and blank are not valid.
+     */
+    public static boolean isValid(String id) {
+        if (id == null || id.isEmpty()) {
+            return false;
+        }
+        try {
+            UUID.fromString(id);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package br.com.jtech.tasklist.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 import org.springframework.http.HttpStatus;
@@ -11,6 +12,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import br.com.jtech.tasklist.config.infra.ratelimit.LoginRateLimiter;
 import br.com.jtech.tasklist.dto.AuthRequest;
 import br.com.jtech.tasklist.dto.AuthResponse;
 import br.com.jtech.tasklist.dto.RegisterRequest;
@@ -25,14 +27,18 @@ public class AuthController {
 
     private final AuthService authService;
 
+    private final LoginRateLimiter loginRateLimiter;
+
     @PostMapping("/register")
     @ResponseStatus(code = HttpStatus.CREATED)
-    public void register(@Valid @RequestBody RegisterRequest request) {
+    public void register(@Valid @RequestBody RegisterRequest request, HttpServletRequest httpRequest) {
+        loginRateLimiter.acquire(httpRequest.getRemoteAddr(), request.getEmail());
         authService.register(request);
     }
 
     @PostMapping("/login")
-    public AuthResponse login(@Valid @RequestBody AuthRequest request) {
+    public AuthResponse login(@Valid @RequestBody AuthRequest request, HttpServletRequest httpRequest) {
+        loginRateLimiter.acquire(httpRequest.getRemoteAddr(), request.getEmail());
         return authService.login(request);
     }
 
@@ -0,0 +1,28 @@
+package br.com.jtech.tasklist.controller;
+
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import br.com.jtech.tasklist.config.infra.events.ChangeFeedBroker;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/v1/events")
+@RequiredArgsConstructor
+public class ChangeFeedController {
+
+    private final ChangeFeedBroker changeFeedBroker;
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            Authentication authentication) {
+        String userEmail = authentication.getName();
+        return changeFeedBroker.subscribe(userEmail, lastEventId);
+    }
+}
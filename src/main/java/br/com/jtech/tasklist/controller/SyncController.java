@@ -0,0 +1,27 @@
+package br.com.jtech.tasklist.controller;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.com.jtech.tasklist.dto.SyncResponse;
+import br.com.jtech.tasklist.service.SyncService;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/v1/sync")
+@RequiredArgsConstructor
+public class SyncController {
+
+    private final SyncService syncService;
+
+    @GetMapping
+    public SyncResponse sync(
+            @RequestParam(required = false) String since,
+            Authentication authentication) {
+        String userEmail = authentication.getName();
+        return syncService.changesSince(since, userEmail);
+    }
+}
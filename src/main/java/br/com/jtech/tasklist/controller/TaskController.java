@@ -1,28 +1,50 @@
 package br.com.jtech.tasklist.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
 import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import br.com.jtech.tasklist.dto.PageResponse;
+import br.com.jtech.tasklist.dto.TaskCompletionRequest;
+import br.com.jtech.tasklist.dto.TaskExportFormat;
 import br.com.jtech.tasklist.dto.TaskFilterDTO;
+import br.com.jtech.tasklist.dto.TaskImportResponse;
 import br.com.jtech.tasklist.dto.TaskRequest;
 import br.com.jtech.tasklist.dto.TaskResponse;
+import br.com.jtech.tasklist.dto.TaskStatsResponse;
+import br.com.jtech.tasklist.service.TaskExportService;
+import br.com.jtech.tasklist.service.TaskImportService;
 import br.com.jtech.tasklist.service.TaskService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
@@ -32,6 +54,11 @@ import org.springframework.data.domain.Pageable;
 public class TaskController {
 
     private final TaskService taskService;
+    private final TaskExportService taskExportService;
+    private final TaskImportService taskImportService;
+
+    @Value("${tasks.export.timeout:PT10M}")
+    private Duration exportTimeout;
 
     @PostMapping
     @ResponseStatus(code = HttpStatus.CREATED)
@@ -43,7 +70,7 @@ public class TaskController {
     }
 
     @GetMapping
-    public Page<TaskResponse> findAll(
+    public PageResponse<TaskResponse> findAll(
             @Valid @ModelAttribute TaskFilterDTO filter,
             Authentication authentication) {
         String userEmail = authentication.getName();
@@ -59,6 +86,58 @@ public class TaskController {
         return taskService.list(filter, userEmail);
     }
 
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(name = "format", defaultValue = "csv") String formatParam,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            Authentication authentication,
+            HttpServletRequest request) {
+        String userEmail = authentication.getName();
+        TaskExportFormat format = TaskExportFormat.from(formatParam);
+        // Only this request may stream for minutes; the other async requests keep the container default
+        WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest().setTimeout(exportTimeout.toMillis());
+        String extension = format.name().toLowerCase(Locale.ROOT);
+        MediaType contentType = format == TaskExportFormat.NDJSON
+                ? MediaType.parseMediaType("application/x-ndjson")
+                : MediaType.parseMediaType("text/csv;charset=UTF-8");
+
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                try (GZIPOutputStream gzipOut = new GZIPOutputStream(out, 64 * 1024)) {
+                    taskExportService.export(userEmail, format, gzipOut);
+                }
+            } else {
+                taskExportService.export(userEmail, format, out);
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(gzip ? MediaType.parseMediaType("application/gzip") : contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"tasks." + extension + (gzip ? ".gz" : "") + "\"")
+                .body(body);
+    }
+
+    @PostMapping("/import")
+    public TaskImportResponse importTasks(
+            @RequestParam(name = "format", defaultValue = "csv") String formatParam,
+            @RequestHeader(name = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding,
+            InputStream body,
+            Authentication authentication) throws IOException {
+        String userEmail = authentication.getName();
+        TaskExportFormat format = TaskExportFormat.from(formatParam);
+        InputStream in = "gzip".equalsIgnoreCase(contentEncoding) ? new GZIPInputStream(body, 64 * 1024) : body;
+        return taskImportService.importTasks(userEmail, format, in);
+    }
+
+    @GetMapping("/stats")
+    public TaskStatsResponse stats(
+            @Valid @ModelAttribute TaskFilterDTO filter,
+            Authentication authentication) {
+        String userEmail = authentication.getName();
+        return taskService.stats(filter, userEmail);
+    }
+
     @GetMapping("/{id}")
     public TaskResponse findById(
             @PathVariable String id,
@@ -77,6 +156,16 @@ public class TaskController {
         return taskService.update(id, request, userEmail);
     }
 
+    @PatchMapping("/{id}/completed")
+    @ResponseStatus(code = HttpStatus.ACCEPTED)
+    public void setCompleted(
+            @PathVariable String id,
+            @Valid @RequestBody TaskCompletionRequest request,
+            Authentication authentication) {
+        String userEmail = authentication.getName();
+        taskService.setCompleted(id, request.getCompleted(), userEmail);
+    }
+
     @DeleteMapping("/{id}/soft")
     @ResponseStatus(code = HttpStatus.NO_CONTENT)
     public void softDelete(
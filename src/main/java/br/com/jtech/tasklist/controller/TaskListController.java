@@ -13,16 +13,20 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import br.com.jtech.tasklist.dto.PageResponse;
+import br.com.jtech.tasklist.dto.TaskListDeleteMode;
+import br.com.jtech.tasklist.dto.TaskListDetailFilterDTO;
 import br.com.jtech.tasklist.dto.TaskListFilterDTO;
 import br.com.jtech.tasklist.dto.TaskListRequest;
 import br.com.jtech.tasklist.dto.TaskListResponse;
+import br.com.jtech.tasklist.dto.TaskStatsResponse;
 import br.com.jtech.tasklist.service.TaskListService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
@@ -43,7 +47,7 @@ public class TaskListController {
     }
 
     @GetMapping
-    public Page<TaskListResponse> findAll(
+    public PageResponse<TaskListResponse> findAll(
             @Valid @ModelAttribute TaskListFilterDTO filter,
             Authentication authentication) {
         String userEmail = authentication.getName();
@@ -62,9 +66,18 @@ public class TaskListController {
     @GetMapping("/{id}")
     public TaskListResponse findById(
             @PathVariable String id,
+            @Valid @ModelAttribute TaskListDetailFilterDTO filter,
             Authentication authentication) {
         String userEmail = authentication.getName();
-        return taskListService.findById(id, userEmail);
+        return taskListService.findById(id, filter, userEmail);
+    }
+
+    @GetMapping("/{id}/stats")
+    public TaskStatsResponse stats(
+            @PathVariable String id,
+            Authentication authentication) {
+        String userEmail = authentication.getName();
+        return taskListService.stats(id, userEmail);
     }
 
     @PutMapping("/{id}")
@@ -81,9 +94,10 @@ public class TaskListController {
     @ResponseStatus(code = HttpStatus.NO_CONTENT)
     public void softDelete(
             @PathVariable String id,
+            @RequestParam(name = "tasks", defaultValue = "DEACTIVATE") TaskListDeleteMode tasks,
             Authentication authentication) {
         String userEmail = authentication.getName();
-        taskListService.softDelete(id, userEmail);
+        taskListService.softDelete(id, tasks, userEmail);
     }
 }
 
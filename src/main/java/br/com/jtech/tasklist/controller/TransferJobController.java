@@ -0,0 +1,98 @@
+package br.com.jtech.tasklist.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.com.jtech.tasklist.dto.TaskExportFormat;
+import br.com.jtech.tasklist.dto.TransferJobResponse;
+import br.com.jtech.tasklist.service.TransferJobService;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/v1/tasks/jobs")
+@RequiredArgsConstructor
+public class TransferJobController {
+
+    private final TransferJobService transferJobService;
+
+    @PostMapping("/import")
+    public ResponseEntity<TransferJobResponse> submitImport(
+            @RequestParam(name = "format", defaultValue = "csv") String formatParam,
+            @RequestHeader(name = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding,
+            InputStream body,
+            Authentication authentication) throws IOException {
+        String userEmail = authentication.getName();
+        TransferJobResponse job = transferJobService.submitImport(TaskExportFormat.from(formatParam),
+                "gzip".equalsIgnoreCase(contentEncoding), body, userEmail);
+        return ResponseEntity.accepted().location(URI.create("/api/v1/tasks/jobs/" + job.getId())).body(job);
+    }
+
+    @PostMapping("/export")
+    public ResponseEntity<TransferJobResponse> submitExport(
+            @RequestParam(name = "format", defaultValue = "csv") String formatParam,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            Authentication authentication) {
+        String userEmail = authentication.getName();
+        TransferJobResponse job = transferJobService.submitExport(TaskExportFormat.from(formatParam), gzip, userEmail);
+        return ResponseEntity.accepted().location(URI.create("/api/v1/tasks/jobs/" + job.getId())).body(job);
+    }
+
+    @GetMapping
+    public List<TransferJobResponse> list(Authentication authentication) {
+        String userEmail = authentication.getName();
+        return transferJobService.list(userEmail);
+    }
+
+    @GetMapping("/{id}")
+    public TransferJobResponse findById(
+            @PathVariable String id,
+            Authentication authentication) {
+        String userEmail = authentication.getName();
+        return transferJobService.findById(id, userEmail);
+    }
+
+    @GetMapping("/{id}/download")
+    public ResponseEntity<Resource> download(
+            @PathVariable String id,
+            Authentication authentication) {
+        String userEmail = authentication.getName();
+        Path file = transferJobService.downloadPath(id, userEmail);
+        String fileName = file.getFileName().toString();
+        String extension = fileName.substring(fileName.indexOf('.') + 1);
+
+        MediaType contentType = extension.endsWith(".gz") ? MediaType.parseMediaType("application/gzip")
+                : extension.equals("ndjson") ? MediaType.parseMediaType("application/x-ndjson")
+                : MediaType.parseMediaType("text/csv;charset=UTF-8");
+
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tasks." + extension + "\"")
+                .body(new FileSystemResource(file));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<TransferJobResponse> cancel(
+            @PathVariable String id,
+            Authentication authentication) {
+        String userEmail = authentication.getName();
+        return ResponseEntity.accepted().body(transferJobService.cancel(id, userEmail));
+    }
+}
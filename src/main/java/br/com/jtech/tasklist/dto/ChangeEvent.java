@@ -0,0 +1,37 @@
+package br.com.jtech.tasklist.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+* class ChangeEvent
+*
+* @author jtech
+*/
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ChangeEvent {
+
+    public enum Entity { TASK, TASK_LIST }
+
+    public enum Action { CREATED, UPDATED, DELETED }
+
+    private long id;
+    private Entity entity;
+    private Action action;
+    private String entityId;
+    private Object data;
+    private LocalDateTime occurredAt;
+
+    @JsonIgnore
+    private String userEmail;
+}
@@ -1,9 +1,12 @@
 package br.com.jtech.tasklist.dto;
 
+import br.com.jtech.tasklist.config.infra.json.PageResponseSerializer;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
 
 import java.util.List;
 
@@ -11,6 +14,7 @@ import java.util.List;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonSerialize(using = PageResponseSerializer.class)
 public class PageResponse<T> {
     private List<T> content;
     private int page;
@@ -19,5 +23,24 @@ public class PageResponse<T> {
     private int totalPages;
     private boolean first;
     private boolean last;
-}
 
+    public static <T> PageResponse<T> of(Page<T> page) {
+        return of(page, page.getContent());
+    }
+
+    /**
+     * Page metadata from {@code page} with {@code content} as the items, e.g. a mapped view of
+     * the page's rows.
+     */
+    public static <T> PageResponse<T> of(Page<?> page, List<T> content) {
+        return PageResponse.<T>builder()
+                .content(content)
+                .page(page.getNumber())
+                .size(page.getSize())
+                .totalElements(page.getTotalElements())
+                .totalPages(page.getTotalPages())
+                .first(page.isFirst())
+                .last(page.isLast())
+                .build();
+    }
+}
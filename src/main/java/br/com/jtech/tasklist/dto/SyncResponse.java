@@ -0,0 +1,36 @@
+package br.com.jtech.tasklist.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+* class SyncResponse 
+* 
+* @author jtech
+*/
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncResponse {
+
+    private String nextToken;
+    private boolean fullResync;
+
+    @Builder.Default
+    private List<TaskListResponse> taskLists = new ArrayList<>();
+
+    @Builder.Default
+    private List<TaskResponse> tasks = new ArrayList<>();
+
+    @Builder.Default
+    private List<String> deletedTaskListIds = new ArrayList<>();
+
+    @Builder.Default
+    private List<String> deletedTaskIds = new ArrayList<>();
+}
@@ -0,0 +1,22 @@
+package br.com.jtech.tasklist.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+* class TaskCompletionRequest 
+* 
+* @author jtech
+*/
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskCompletionRequest {
+
+    @NotNull(message = "Campo completed é obrigatório")
+    private Boolean completed;
+}
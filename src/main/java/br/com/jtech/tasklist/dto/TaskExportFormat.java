@@ -0,0 +1,30 @@
+package br.com.jtech.tasklist.dto;
+
+import java.util.Locale;
+
+/**
+* Output formats of the task export.
+*
+* @author jtech
+*/
+public enum TaskExportFormat {
+
+    /** Comma separated values with a header line (RFC 4180 quoting). */
+    CSV,
+
+    /** One JSON object per line. */
+    NDJSON;
+
+    /**
+     * Parses the {@code format} query parameter, case insensitive.
+     *
+     * @throws IllegalArgumentException when the value is not a known format.
+     */
+    public static TaskExportFormat from(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | NullPointerException ex) {
+            throw new IllegalArgumentException("Formato de exportação inválido: " + value);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package br.com.jtech.tasklist.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+* class TaskImportError 
+* 
+* @author jtech
+*/
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskImportError {
+
+    private long line;
+    private String message;
+}
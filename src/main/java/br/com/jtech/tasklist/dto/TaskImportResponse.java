@@ -0,0 +1,30 @@
+package br.com.jtech.tasklist.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+* class TaskImportResponse 
+* 
+* @author jtech
+*/
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskImportResponse {
+
+    private long processed;
+    private long imported;
+    private long failed;
+
+    @Builder.Default
+    private List<TaskImportError> errors = new ArrayList<>();
+
+    private boolean errorsTruncated;
+}
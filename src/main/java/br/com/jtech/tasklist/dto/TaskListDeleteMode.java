@@ -0,0 +1,15 @@
+package br.com.jtech.tasklist.dto;
+
+/**
+* What happens to the tasks of a task list when the list is soft deleted.
+*
+* @author jtech
+*/
+public enum TaskListDeleteMode {
+
+    /** Tasks of the list are soft deleted together with it. */
+    DEACTIVATE,
+
+    /** Tasks stay active and are moved out of the list. */
+    DETACH
+}
@@ -0,0 +1,38 @@
+package br.com.jtech.tasklist.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskListDetailFilterDTO {
+
+    @Pattern(regexp = "tasks", message = "Valor de include inválido")
+    private String include;
+
+    @Min(value = 0, message = "Página deve ser maior ou igual a 0")
+    private Integer taskPage;
+
+    @Min(value = 1, message = "Tamanho da página deve ser maior que 0")
+    @Max(value = 100, message = "Tamanho da página deve ser no máximo 100")
+    private Integer taskSize;
+
+    public boolean isIncludeTasks() {
+        return "tasks".equals(include);
+    }
+
+    public int getTaskPageOrDefault() {
+        return taskPage != null ? taskPage : 0;
+    }
+
+    public int getTaskSizeOrDefault() {
+        return taskSize != null ? taskSize : 10;
+    }
+}
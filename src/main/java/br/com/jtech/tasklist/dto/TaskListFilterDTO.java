@@ -22,6 +22,8 @@ public class TaskListFilterDTO {
     @Size(max = 200, message = "Nome deve ter no máximo 200 caracteres")
     private String name;
 
+    private Boolean includeCounts;
+
     public int getPageOrDefault() {
         return page != null ? page : 0;
     }
@@ -29,5 +31,9 @@ public class TaskListFilterDTO {
     public int getSizeOrDefault() {
         return size != null ? size : 10;
     }
+
+    public boolean isIncludeCountsOrDefault() {
+        return Boolean.TRUE.equals(includeCounts);
+    }
 }
 
@@ -1,5 +1,6 @@
 package br.com.jtech.tasklist.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -22,5 +23,17 @@ public class TaskListResponse {
     private String name;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long taskCount;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long completedTaskCount;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double completionRatio;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private PageResponse<TaskResponse> tasks;
 }
 
@@ -1,5 +1,6 @@
 package br.com.jtech.tasklist.dto;
 
+import br.com.jtech.tasklist.entity.TaskEntity;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -25,5 +26,17 @@ public class TaskResponse {
     private String taskListId;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+
+    public static TaskResponse from(TaskEntity task) {
+        return TaskResponse.builder()
+                .id(task.getId().toString())
+                .title(task.getTitle())
+                .description(task.getDescription())
+                .completed(task.getCompleted())
+                .taskListId(task.getTaskList() != null ? task.getTaskList().getId().toString() : null)
+                .createdAt(task.getCreatedAt())
+                .updatedAt(task.getUpdatedAt())
+                .build();
+    }
 }
 
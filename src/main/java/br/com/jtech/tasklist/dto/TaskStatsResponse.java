@@ -0,0 +1,23 @@
+package br.com.jtech.tasklist.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+* class TaskStatsResponse 
+* 
+* @author jtech
+*/
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskStatsResponse {
+
+    private String taskListId;
+    private long total;
+    private long completed;
+    private long active;
+}
@@ -0,0 +1,39 @@
+package br.com.jtech.tasklist.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+* class TransferJobResponse 
+* 
+* @author jtech
+*/
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TransferJobResponse {
+
+    private String id;
+    private String type;
+    private String format;
+    private Boolean gzip;
+    private String status;
+    private Long processedRows;
+    private Long succeededRows;
+    private Long failedRows;
+    private Long totalRows;
+    private Integer percent;
+    private TaskImportResponse result;
+    private String errorMessage;
+    private String downloadUrl;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
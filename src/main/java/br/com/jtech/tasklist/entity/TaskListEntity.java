@@ -3,6 +3,7 @@ package br.com.jtech.tasklist.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.GenericGenerator;
 
 import java.time.LocalDateTime;
@@ -36,6 +37,15 @@ public class TaskListEntity {
     @JoinColumn(name = "user_id", nullable = false)
     private UserEntity user;
 
+    // Contadores mantidos apenas por UPDATE incremental; nunca escritos pelo Hibernate
+    @Column(name = "task_count", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private Long taskCount;
+
+    @Column(name = "completed_task_count", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private Long completedTaskCount;
+
     @OneToMany(mappedBy = "taskList", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private List<TaskEntity> tasks = new ArrayList<>();
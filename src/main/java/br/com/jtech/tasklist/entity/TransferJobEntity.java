@@ -0,0 +1,94 @@
+package br.com.jtech.tasklist.entity;
+
+import br.com.jtech.tasklist.dto.TaskExportFormat;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "transfer_jobs")
+public class TransferJobEntity {
+
+    public enum Type {
+        IMPORT,
+        EXPORT
+    }
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED,
+        CANCELLED
+    }
+
+    @Id
+    private UUID id;
+
+    @Column(nullable = false)
+    private UUID userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Type type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private TaskExportFormat format;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Boolean gzip = false;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 12)
+    private Status status;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Boolean cancelRequested = false;
+
+    @Column(length = 500)
+    private String filePath;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Long processedRows = 0L;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Long succeededRows = 0L;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Long failedRows = 0L;
+
+    private Long totalRows;
+
+    @Column(columnDefinition = "TEXT")
+    private String result;
+
+    @Column(length = 1000)
+    private String errorMessage;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    private LocalDateTime heartbeatAt;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,96 @@
+package br.com.jtech.tasklist.repository;
+
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+* Inserts tasks in bulk, bypassing the entity layer. On PostgreSQL a batch is sent with a
+* single {@code COPY ... FROM STDIN}; other databases (H2 in the tests) get a JDBC batched
+* INSERT. Uses the connection of the current transaction.
+*
+* @author jtech
+*/
+@Repository
+public class TaskBulkInsertRepository {
+
+    private static final String COPY_SQL = "COPY tasks (id, title, description, completed, active, user_id, task_list_id, created_at, updated_at) "
+            + "FROM STDIN WITH (FORMAT csv)";
+
+    private static final String INSERT_SQL = "INSERT INTO tasks (id, title, description, completed, active, user_id, task_list_id, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, true, ?, ?, ?, ?)";
+
+    public record Row(UUID id, String title, String description, boolean completed, UUID taskListId) {
+    }
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    public TaskBulkInsertRepository(DataSource dataSource, JdbcTemplate jdbcTemplate) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public long insert(UUID userId, List<Row> rows, LocalDateTime now) throws SQLException, IOException {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            if (connection.isWrapperFor(PGConnection.class)) {
+                return copy(connection.unwrap(PGConnection.class), userId, rows, now);
+            }
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+
+        Timestamp timestamp = Timestamp.valueOf(now);
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (ps, row) -> {
+            ps.setObject(1, row.id());
+            ps.setString(2, row.title());
+            ps.setString(3, row.description());
+            ps.setBoolean(4, row.completed());
+            ps.setObject(5, userId);
+            ps.setObject(6, row.taskListId());
+            ps.setTimestamp(7, timestamp);
+            ps.setTimestamp(8, timestamp);
+        });
+        return rows.size();
+    }
+
+    private long copy(PGConnection connection, UUID userId, List<Row> rows, LocalDateTime now) throws SQLException, IOException {
+        String timestamp = Timestamp.valueOf(now).toString();
+        StringBuilder csv = new StringBuilder(rows.size() * 128);
+        for (Row row : rows) {
+            csv.append(row.id()).append(',');
+            appendQuoted(csv, row.title());
+            csv.append(',');
+            // Unquoted empty field is NULL in COPY csv format
+            if (row.description() != null) {
+                appendQuoted(csv, row.description());
+            }
+            csv.append(',').append(row.completed()).append(",true,").append(userId).append(',');
+            if (row.taskListId() != null) {
+                csv.append(row.taskListId());
+            }
+            csv.append(',').append(timestamp).append(',').append(timestamp).append('\n');
+        }
+        return connection.getCopyAPI().copyIn(COPY_SQL, new StringReader(csv.toString()));
+    }
+
+    private void appendQuoted(StringBuilder csv, String value) {
+        csv.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+}
@@ -2,13 +2,23 @@
 package br.com.jtech.tasklist.repository;
 
 import br.com.jtech.tasklist.entity.TaskListEntity;
+import br.com.jtech.tasklist.repository.projection.TaskCounters;
+import br.com.jtech.tasklist.repository.projection.TaskListRef;
+import br.com.jtech.tasklist.repository.projection.TaskListView;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -29,7 +39,63 @@ public interface TaskListRepository extends JpaRepository<TaskListEntity, UUID>
     @Query("SELECT tl FROM TaskListEntity tl WHERE tl.user.id = :userId AND tl.active = true AND LOWER(tl.name) LIKE LOWER(CONCAT('%', :name, '%'))")
     Page<TaskListEntity> findByUser_IdAndNameContainingIgnoreCase(@Param("userId") UUID userId, @Param("name") String name, Pageable pageable);
     
+    @Query("SELECT tl FROM TaskListEntity tl WHERE tl.user.id = :userId AND tl.updatedAt > :since ORDER BY tl.updatedAt, tl.id")
+    List<TaskListEntity> findChangedSince(@Param("userId") UUID userId, @Param("since") LocalDateTime since, Limit limit);
+
+    @Query("SELECT tl.id AS id, tl.name AS name FROM TaskListEntity tl WHERE tl.user.id = :userId AND tl.active = true AND tl.id IN :ids")
+    List<TaskListRef> findActiveRefsByUser_IdAndIdIn(@Param("userId") UUID userId, @Param("ids") Collection<UUID> ids);
+
+    @Query("SELECT tl.id AS id, tl.name AS name FROM TaskListEntity tl WHERE tl.user.id = :userId AND tl.active = true AND tl.name IN :names ORDER BY tl.createdAt, tl.id")
+    List<TaskListRef> findActiveRefsByUser_IdAndNameIn(@Param("userId") UUID userId, @Param("names") Collection<String> names);
+
     @Query("SELECT tl FROM TaskListEntity tl WHERE tl.id = :id AND tl.user.id = :userId AND tl.active = true")
     Optional<TaskListEntity> findByIdAndUser_Id(UUID id, UUID userId);
-}
 
+    /**
+     * Row lock on the list. Every task write that touches the list also updates its counters, so
+     * holding this lock keeps the counters and the tasks of the list stable until commit.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT tl FROM TaskListEntity tl WHERE tl.id = :id AND tl.user.id = :userId AND tl.active = true")
+    Optional<TaskListEntity> findForUpdateByIdAndUser_Id(@Param("id") UUID id, @Param("userId") UUID userId);
+
+    @Query("SELECT tl.id AS id, tl.name AS name, tl.createdAt AS createdAt, tl.updatedAt AS updatedAt, "
+            + "tl.taskCount AS total, tl.completedTaskCount AS completed "
+            + "FROM TaskListEntity tl WHERE tl.id = :id AND tl.user.email = :email AND tl.active = true")
+    Optional<TaskListView> findViewByIdAndUser_Email(@Param("id") UUID id, @Param("email") String email);
+
+    @Query("SELECT tl.taskCount AS total, tl.completedTaskCount AS completed FROM TaskListEntity tl WHERE tl.id = :id AND tl.user.id = :userId AND tl.active = true")
+    Optional<TaskCounters> findTaskCountersByIdAndUser_Id(@Param("id") UUID id, @Param("userId") UUID userId);
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE task_lists SET task_count = task_count + :total, completed_task_count = completed_task_count + :completed "
+            + "WHERE id = :id", nativeQuery = true)
+    int incrementTaskCounters(@Param("id") UUID id, @Param("total") long total, @Param("completed") long completed);
+
+    @Query("SELECT COUNT(tl) FROM TaskListEntity tl WHERE tl.active = false AND tl.updatedAt < :cutoff "
+            + "AND NOT EXISTS (SELECT 1 FROM TaskEntity t WHERE t.taskList = tl)")
+    long countInactiveBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * Lists still referenced by any task (active or not yet purged) are skipped, so the
+     * tasks are always moved out before the list they point to. SKIP LOCKED keeps concurrent
+     * purge runs on disjoint batches, so no id is archived twice.
+     */
+    @Query(value = "SELECT tl.* FROM task_lists tl WHERE tl.active = false AND tl.updated_at < :cutoff "
+            + "AND NOT EXISTS (SELECT 1 FROM tasks t WHERE t.task_list_id = tl.id) "
+            + "LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<TaskListEntity> lockInactiveBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO task_lists_archive (id, name, active, user_id, task_count, completed_task_count, created_at, updated_at, archived_at) "
+            + "SELECT id, name, active, user_id, task_count, completed_task_count, created_at, updated_at, :now "
+            + "FROM task_lists WHERE id IN (:ids)", nativeQuery = true)
+    int archiveByIdIn(@Param("ids") Collection<UUID> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM TaskListEntity tl WHERE tl.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<UUID> ids);
+}
@@ -2,16 +2,30 @@
 package br.com.jtech.tasklist.repository;
 
 import br.com.jtech.tasklist.entity.TaskEntity;
+import br.com.jtech.tasklist.repository.projection.TaskExportRow;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 
 @Repository
@@ -41,7 +55,65 @@ public interface TaskRepository extends JpaRepository<TaskEntity, UUID> {
     @Query("SELECT t FROM TaskEntity t WHERE t.taskList.id = :taskListId AND t.user.id = :userId AND t.active = true AND LOWER(t.title) LIKE LOWER(CONCAT('%', :title, '%'))")
     Page<TaskEntity> findByTaskList_IdAndUser_IdAndTitleContainingIgnoreCase(@Param("taskListId") UUID taskListId, @Param("userId") UUID userId, @Param("title") String title, Pageable pageable);
     
+    @Query("SELECT t FROM TaskEntity t WHERE t.taskList.id = :taskListId AND t.active = true ORDER BY t.createdAt, t.id")
+    List<TaskEntity> findActiveByTaskList_Id(@Param("taskListId") UUID taskListId, Pageable pageable);
+    
+    @Query("SELECT t FROM TaskEntity t WHERE t.user.id = :userId AND t.updatedAt > :since ORDER BY t.updatedAt, t.id")
+    List<TaskEntity> findChangedSince(@Param("userId") UUID userId, @Param("since") LocalDateTime since, Limit limit);
+
     @Query("SELECT t FROM TaskEntity t WHERE t.id = :id AND t.user.id = :userId AND t.active = true")
     Optional<TaskEntity> findByIdAndUser_Id(UUID id, UUID userId);
-}
 
+    // Forward-only cursor: the driver keeps one fetch batch in memory (PostgreSQL needs a transaction for that)
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT t.id AS id, t.title AS title, t.description AS description, t.completed AS completed, "
+            + "tl.id AS taskListId, t.createdAt AS createdAt, t.updatedAt AS updatedAt "
+            + "FROM TaskEntity t LEFT JOIN t.taskList tl WHERE t.user.id = :userId AND t.active = true ORDER BY t.createdAt, t.id")
+    Stream<TaskExportRow> streamExportRowsByUser_Id(@Param("userId") UUID userId);
+
+    // Tuples, not entities: read only to announce the tasks a list delete is about to update in bulk
+    @Query("SELECT t.id AS id, t.title AS title, t.description AS description, t.completed AS completed, "
+            + "t.taskList.id AS taskListId, t.createdAt AS createdAt, t.updatedAt AS updatedAt "
+            + "FROM TaskEntity t WHERE t.taskList.id = :taskListId AND t.active = true")
+    List<TaskExportRow> findActiveRowsByTaskList_Id(@Param("taskListId") UUID taskListId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM TaskEntity t WHERE t.id IN :ids AND t.user.id = :userId AND t.active = true")
+    List<TaskEntity> findActiveForUpdateByIdInAndUser_Id(@Param("ids") Collection<UUID> ids, @Param("userId") UUID userId);
+
+    // Clears the persistence context so the tasks locked before the update are not read stale afterwards
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE TaskEntity t SET t.completed = :completed, t.updatedAt = :now WHERE t.id IN :ids")
+    int updateCompletedByIdIn(@Param("ids") Collection<UUID> ids, @Param("completed") boolean completed, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE TaskEntity t SET t.active = false, t.updatedAt = :now WHERE t.taskList.id = :taskListId AND t.active = true")
+    int deactivateByTaskList_Id(@Param("taskListId") UUID taskListId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE TaskEntity t SET t.taskList = null, t.updatedAt = :now WHERE t.taskList.id = :taskListId")
+    int detachFromTaskList(@Param("taskListId") UUID taskListId, @Param("now") LocalDateTime now);
+
+    @Query("SELECT COUNT(t) FROM TaskEntity t WHERE t.active = false AND t.updatedAt < :cutoff")
+    long countInactiveBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    // SKIP LOCKED keeps concurrent purge runs on disjoint batches, so no id is archived twice
+    @Query(value = "SELECT * FROM tasks WHERE active = false AND updated_at < :cutoff "
+            + "LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<TaskEntity> lockInactiveBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO tasks_archive (id, title, description, completed, active, user_id, task_list_id, created_at, updated_at, archived_at) "
+            + "SELECT id, title, description, completed, active, user_id, task_list_id, created_at, updated_at, :now "
+            + "FROM tasks WHERE id IN (:ids)", nativeQuery = true)
+    int archiveByIdIn(@Param("ids") Collection<UUID> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM TaskEntity t WHERE t.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<UUID> ids);
+}
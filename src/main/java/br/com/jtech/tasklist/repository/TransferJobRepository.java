@@ -0,0 +1,88 @@
+package br.com.jtech.tasklist.repository;
+
+import br.com.jtech.tasklist.entity.TransferJobEntity;
+import br.com.jtech.tasklist.repository.projection.UserJobCount;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+
+@Repository
+public interface TransferJobRepository extends JpaRepository<TransferJobEntity, UUID> {
+
+    Optional<TransferJobEntity> findByIdAndUserId(UUID id, UUID userId);
+
+    List<TransferJobEntity> findByUserIdOrderByCreatedAtDesc(UUID userId, Limit limit);
+
+    long countByUserIdAndStatusIn(UUID userId, Collection<TransferJobEntity.Status> statuses);
+
+    // SKIP LOCKED lets several instances claim from the queue without waiting on each other
+    @Query(value = "SELECT * FROM transfer_jobs WHERE status = 'QUEUED' ORDER BY created_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<TransferJobEntity> lockQueued(@Param("limit") int limit);
+
+    // Read after UserRepository.lockByIdIn, so it sees the jobs committed by other claimers of these users
+    @Query("SELECT j.userId AS userId, COUNT(j) AS jobs FROM TransferJobEntity j WHERE j.status = 'RUNNING' "
+            + "AND j.userId IN :userIds GROUP BY j.userId")
+    List<UserJobCount> countRunningByUserIdIn(@Param("userIds") Collection<UUID> userIds);
+
+    @Query("SELECT j.cancelRequested FROM TransferJobEntity j WHERE j.id = :id")
+    Boolean isCancelRequested(@Param("id") UUID id);
+
+    // Joins the caller's transaction: for imports the progress commits together with the batch.
+    // The attempt fences off a run whose job was requeued and claimed again: it updates 0 rows
+    @Modifying
+    @Transactional
+    @Query("UPDATE TransferJobEntity j SET j.processedRows = :processed, j.succeededRows = :succeeded, j.failedRows = :failed, "
+            + "j.heartbeatAt = :now WHERE j.id = :id AND j.status = 'RUNNING' AND j.attempts = :attempt")
+    int updateProgress(@Param("id") UUID id, @Param("attempt") int attempt, @Param("processed") long processed,
+                       @Param("succeeded") long succeeded, @Param("failed") long failed, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE TransferJobEntity j SET j.status = :status, j.processedRows = :processed, j.succeededRows = :succeeded, "
+            + "j.failedRows = :failed, j.result = :result, j.errorMessage = :error, j.finishedAt = :now "
+            + "WHERE j.id = :id AND j.status = 'RUNNING' AND j.attempts = :attempt")
+    int finish(@Param("id") UUID id, @Param("attempt") int attempt, @Param("status") TransferJobEntity.Status status,
+               @Param("processed") long processed, @Param("succeeded") long succeeded, @Param("failed") long failed,
+               @Param("result") String result, @Param("error") String error, @Param("now") LocalDateTime now);
+
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE TransferJobEntity j SET j.status = 'CANCELLED', j.finishedAt = :now WHERE j.id = :id AND j.status = 'QUEUED'")
+    int cancelQueued(@Param("id") UUID id, @Param("now") LocalDateTime now);
+
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE TransferJobEntity j SET j.cancelRequested = true WHERE j.id = :id AND j.status = 'RUNNING'")
+    int requestCancel(@Param("id") UUID id);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE TransferJobEntity j SET j.status = 'QUEUED' WHERE j.id = :id AND j.status = 'RUNNING' AND j.attempts = :attempt")
+    int requeue(@Param("id") UUID id, @Param("attempt") int attempt);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE TransferJobEntity j SET j.status = 'QUEUED' WHERE j.status = 'RUNNING' AND j.heartbeatAt < :before "
+            + "AND j.attempts < :maxAttempts")
+    int requeueStale(@Param("before") LocalDateTime before, @Param("maxAttempts") int maxAttempts);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE TransferJobEntity j SET j.status = 'FAILED', j.errorMessage = :error, j.finishedAt = :now "
+            + "WHERE j.status = 'RUNNING' AND j.heartbeatAt < :before AND j.attempts >= :maxAttempts")
+    int failStale(@Param("before") LocalDateTime before, @Param("maxAttempts") int maxAttempts,
+                  @Param("error") String error, @Param("now") LocalDateTime now);
+
+    List<TransferJobEntity> findByStatusInAndFinishedAtBefore(Collection<TransferJobEntity.Status> statuses, LocalDateTime before, Limit limit);
+}
@@ -2,11 +2,20 @@
 package br.com.jtech.tasklist.repository;
 
 import br.com.jtech.tasklist.entity.UserEntity;
+import br.com.jtech.tasklist.repository.projection.TaskCounters;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 
 @Repository
@@ -15,5 +24,36 @@ public interface UserRepository extends JpaRepository<UserEntity, UUID> {
     Optional<UserEntity> findByEmail(String email);
     
     boolean existsByEmail(String email);
+
+    /**
+     * Inserts the user in a single statement, ignoring unique violations.
+     *
+     * @return 1 when the user was created, 0 when the email is already in use.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO users (id, name, email, password, created_at, updated_at) "
+            + "VALUES (:id, :name, :email, :password, :now, :now) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIgnoringConflict(@Param("id") UUID id, @Param("name") String name, @Param("email") String email,
+                               @Param("password") String password, @Param("now") LocalDateTime now);
+
+    /**
+     * Row locks on the given users, taken in id order so concurrent callers cannot deadlock.
+     * Serializes the transfer job claimers of the same users across instances.
+     */
+    @Query(value = "SELECT id FROM users WHERE id IN (:ids) ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<Object> lockByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query("SELECT u.email FROM UserEntity u")
+    Stream<String> streamAllEmails();
+
+    @Query("SELECT u.taskCount AS total, u.completedTaskCount AS completed FROM UserEntity u WHERE u.email = :email")
+    Optional<TaskCounters> findTaskCountersByEmail(@Param("email") String email);
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE users SET task_count = task_count + :total, completed_task_count = completed_task_count + :completed "
+            + "WHERE id = :id", nativeQuery = true)
+    int incrementTaskCounters(@Param("id") UUID id, @Param("total") long total, @Param("completed") long completed);
 }
 
@@ -0,0 +1,13 @@
+package br.com.jtech.tasklist.repository.projection;
+
+/**
+* Projection over the task counters kept on users and task_lists.
+*
+* @author jtech
+*/
+public interface TaskCounters {
+
+    long getTotal();
+
+    long getCompleted();
+}
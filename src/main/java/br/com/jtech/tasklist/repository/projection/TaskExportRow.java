@@ -0,0 +1,26 @@
+package br.com.jtech.tasklist.repository.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+* Flat row of the task export, read as a tuple so streamed rows never enter the persistence context.
+*
+* @author jtech
+*/
+public interface TaskExportRow {
+
+    UUID getId();
+
+    String getTitle();
+
+    String getDescription();
+
+    Boolean getCompleted();
+
+    UUID getTaskListId();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+}
@@ -0,0 +1,15 @@
+package br.com.jtech.tasklist.repository.projection;
+
+import java.util.UUID;
+
+/**
+* Id and name of a task list, used to resolve list references in bulk.
+*
+* @author jtech
+*/
+public interface TaskListRef {
+
+    UUID getId();
+
+    String getName();
+}
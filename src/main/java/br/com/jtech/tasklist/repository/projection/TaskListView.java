@@ -0,0 +1,20 @@
+package br.com.jtech.tasklist.repository.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+* Read-only view of a task list with its counters, loaded without hydrating the entity.
+*
+* @author jtech
+*/
+public interface TaskListView extends TaskCounters {
+
+    UUID getId();
+
+    String getName();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+}
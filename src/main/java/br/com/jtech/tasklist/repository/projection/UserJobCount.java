@@ -0,0 +1,15 @@
+package br.com.jtech.tasklist.repository.projection;
+
+import java.util.UUID;
+
+/**
+* Number of jobs of a user in a given status.
+*
+* @author jtech
+*/
+public interface UserJobCount {
+
+    UUID getUserId();
+
+    long getJobs();
+}
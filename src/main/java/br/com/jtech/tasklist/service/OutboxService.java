@@ -0,0 +1,17 @@
+package br.com.jtech.tasklist.service;
+
+import br.com.jtech.tasklist.dto.ChangeEvent;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OutboxService {
+
+    void append(ChangeEvent event);
+
+    void appendAll(List<ChangeEvent> events);
+
+    int relayBatch(int batchSize);
+
+    LocalDateTime oldestPendingCreatedAt();
+}
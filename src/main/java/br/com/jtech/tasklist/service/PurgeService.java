@@ -0,0 +1,14 @@
+package br.com.jtech.tasklist.service;
+
+import java.time.LocalDateTime;
+
+public interface PurgeService {
+
+    long countPurgeableTasks(LocalDateTime cutoff);
+
+    long countPurgeableTaskLists(LocalDateTime cutoff);
+
+    int purgeTasks(LocalDateTime cutoff, int batchSize, boolean archive);
+
+    int purgeTaskLists(LocalDateTime cutoff, int batchSize, boolean archive);
+}
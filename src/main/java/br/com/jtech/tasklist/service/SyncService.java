@@ -0,0 +1,8 @@
+package br.com.jtech.tasklist.service;
+
+import br.com.jtech.tasklist.dto.SyncResponse;
+
+public interface SyncService {
+
+    SyncResponse changesSince(String since, String userEmail);
+}
@@ -0,0 +1,19 @@
+package br.com.jtech.tasklist.service;
+
+import br.com.jtech.tasklist.dto.TaskExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.function.LongConsumer;
+
+public interface TaskExportService {
+
+    long export(String userEmail, TaskExportFormat format, OutputStream out) throws IOException;
+
+    /**
+     * Same as {@link #export(String, TaskExportFormat, OutputStream)}, calling {@code progress}
+     * with the number of rows written so far every few hundred rows. The callback may throw to
+     * abort the export.
+     */
+    long export(String userEmail, TaskExportFormat format, OutputStream out, LongConsumer progress) throws IOException;
+}
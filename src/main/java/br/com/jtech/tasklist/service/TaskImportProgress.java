@@ -0,0 +1,27 @@
+package br.com.jtech.tasklist.service;
+
+import br.com.jtech.tasklist.config.infra.exceptions.JobLeaseLostException;
+import br.com.jtech.tasklist.dto.TaskImportResponse;
+
+/**
+ * Hooks used by the job engine to resume an import and to record its progress.
+ */
+public interface TaskImportProgress {
+
+    /**
+     * Rows already committed by a previous run over the same input; they are read and skipped.
+     */
+    long skipRows();
+
+    /**
+     * Runs inside the transaction of each batch, after its rows were written, with the totals of
+     * the current run (errors are not included). Throwing {@link JobLeaseLostException} rolls the
+     * batch back and stops the import with that exception.
+     */
+    void batchWritten(TaskImportResponse progress);
+
+    /**
+     * Checked between batches; when true the import stops after the last committed batch.
+     */
+    boolean isCancelled();
+}
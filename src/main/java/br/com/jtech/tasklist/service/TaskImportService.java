@@ -0,0 +1,14 @@
+package br.com.jtech.tasklist.service;
+
+import br.com.jtech.tasklist.dto.TaskExportFormat;
+import br.com.jtech.tasklist.dto.TaskImportResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface TaskImportService {
+
+    TaskImportResponse importTasks(String userEmail, TaskExportFormat format, InputStream in) throws IOException;
+
+    TaskImportResponse importTasks(String userEmail, TaskExportFormat format, InputStream in, TaskImportProgress progress) throws IOException;
+}
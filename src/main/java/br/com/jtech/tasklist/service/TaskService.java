@@ -1,27 +1,36 @@
 package br.com.jtech.tasklist.service;
 
+import br.com.jtech.tasklist.dto.PageResponse;
 import br.com.jtech.tasklist.dto.TaskFilterDTO;
 import br.com.jtech.tasklist.dto.TaskRequest;
 import br.com.jtech.tasklist.dto.TaskResponse;
+import br.com.jtech.tasklist.dto.TaskStatsResponse;
 import br.com.jtech.tasklist.entity.TaskEntity;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 public interface TaskService {
 
-    Page<TaskResponse> findAll(TaskFilterDTO filter, Pageable pageable, String userEmail);
+    PageResponse<TaskResponse> findAll(TaskFilterDTO filter, Pageable pageable, String userEmail);
 
     List<TaskResponse> list(TaskFilterDTO filter, String userEmail);
 
     TaskResponse findById(String id, String userEmail);
 
+    TaskStatsResponse stats(TaskFilterDTO filter, String userEmail);
+
     TaskResponse save(TaskRequest request, String userEmail);
 
     TaskResponse update(String id, TaskRequest request, String userEmail);
 
     void softDelete(String id, String userEmail);
 
+    void setCompleted(String id, boolean completed, String userEmail);
+
+    int applyCompletions(String userEmail, Map<UUID, Boolean> completions);
+
     TaskEntity convert(TaskRequest dto, String userEmail);
 }
@@ -0,0 +1,50 @@
+package br.com.jtech.tasklist.service;
+
+import br.com.jtech.tasklist.dto.TaskExportFormat;
+import br.com.jtech.tasklist.dto.TransferJobResponse;
+import br.com.jtech.tasklist.entity.TransferJobEntity;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+public interface TransferJobService {
+
+    TransferJobResponse submitImport(TaskExportFormat format, boolean gzip, InputStream body, String userEmail) throws IOException;
+
+    TransferJobResponse submitExport(TaskExportFormat format, boolean gzip, String userEmail);
+
+    TransferJobResponse findById(String id, String userEmail);
+
+    List<TransferJobResponse> list(String userEmail);
+
+    TransferJobResponse cancel(String id, String userEmail);
+
+    Path downloadPath(String id, String userEmail);
+
+    /**
+     * A job marked RUNNING by {@link #claim}. The attempt is the fencing token of the run: every
+     * later update of the job is conditioned on it.
+     */
+    record ClaimedJob(UUID id, int attempt) {
+    }
+
+    /**
+     * Marks up to {@code limit} queued jobs as RUNNING, respecting the per-user running limit.
+     */
+    List<ClaimedJob> claim(int limit);
+
+    /**
+     * Runs a claimed job to completion. When {@code stopping} turns true the job goes back to the
+     * queue at the next batch boundary instead of being cancelled. Returns {@code null} when the
+     * job is no longer this attempt's to run.
+     */
+    TransferJobEntity.Status run(ClaimedJob claimed, BooleanSupplier stopping);
+
+    int recoverStale();
+
+    int purgeExpired();
+}
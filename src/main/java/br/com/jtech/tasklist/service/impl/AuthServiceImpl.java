@@ -1,5 +1,8 @@
 package br.com.jtech.tasklist.service.impl;
 
+import java.time.LocalDateTime;
+import java.util.UUID;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -14,6 +17,7 @@ import br.com.jtech.tasklist.dto.UserResponse;
 import br.com.jtech.tasklist.entity.UserEntity;
 import br.com.jtech.tasklist.repository.UserRepository;
 import br.com.jtech.tasklist.config.infra.security.JwtTokenProvider;
+import br.com.jtech.tasklist.config.infra.security.RegisteredEmailFilter;
 import br.com.jtech.tasklist.service.AuthService;
 
 @Service
@@ -28,22 +32,38 @@ public class AuthServiceImpl implements AuthService {
     @Autowired
     private JwtTokenProvider jwtTokenProvider;
 
+    @Autowired
+    private RegisteredEmailFilter registeredEmailFilter;
+
     @Override
     @Transactional(propagation = Propagation.SUPPORTS)
     public UserEntity register(RegisterRequest request) {
-        if (repository.existsByEmail(request.getEmail())) {
+        // O filtro só consulta o banco quando o email pode existir, evitando o BCrypt desnecessário;
+        // a unicidade de fato é garantida pelo INSERT ... ON CONFLICT DO NOTHING.
+        if (registeredEmailFilter.mightContain(request.getEmail()) && repository.existsByEmail(request.getEmail())) {
             throw new IllegalArgumentException("Email já está em uso");
         }
 
+        int inserted;
+        UserEntity user;
         try {
-            UserEntity user = convert(request);
-            repository.save(user);
-            return user;
+            user = convert(request);
+            user.setId(UUID.randomUUID());
+            user.setCreatedAt(LocalDateTime.now());
+            user.setUpdatedAt(user.getCreatedAt());
+            inserted = repository.insertIgnoringConflict(user.getId(), user.getName(), user.getEmail(),
+                    user.getPassword(), user.getCreatedAt());
         } catch (DataIntegrityViolationException ex) {
             throw new IllegalArgumentException("Erro de integridade: " + ex.getMessage());
         } catch (Exception ex) {
             throw new IllegalArgumentException("Erro ao registrar usuário: " + ex.getMessage());
         }
+
+        registeredEmailFilter.add(user.getEmail());
+        if (inserted == 0) {
+            throw new IllegalArgumentException("Email já está em uso");
+        }
+        return user;
     }
 
     @Override
@@ -0,0 +1,115 @@
+package br.com.jtech.tasklist.service.impl;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.jtech.tasklist.config.infra.outbox.OutboxSink;
+import br.com.jtech.tasklist.dto.ChangeEvent;
+import br.com.jtech.tasklist.entity.OutboxEventEntity;
+import br.com.jtech.tasklist.repository.OutboxEventRepository;
+import br.com.jtech.tasklist.service.OutboxService;
+
+/**
+ * Writes every task and task list change to the outbox table inside the transaction of the
+ * change itself (synchronous {@link EventListener}), so the event exists if and only if the
+ * change committed. The relay later locks a batch, hands it to the sink and deletes it in one
+ * transaction: a sink failure rolls back and the batch is retried (at-least-once delivery).
+ * Bulk writers that bypass the entity layer (the task import) call {@link #appendAll} with a
+ * whole batch instead, which goes out as one JDBC batched INSERT.
+ */
+@Service
+public class OutboxServiceImpl implements OutboxService {
+
+    @Autowired
+    private OutboxEventRepository repository;
+
+    @Autowired
+    private OutboxSink sink;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static final String INSERT_SQL = "INSERT INTO outbox_events (aggregate_type, aggregate_id, event_type, user_email, payload, created_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?)";
+
+    @Override
+    @EventListener
+    @Transactional
+    public void append(ChangeEvent event) {
+        try {
+            repository.save(OutboxEventEntity.builder()
+                    .aggregateType(event.getEntity().name())
+                    .aggregateId(UUID.fromString(event.getEntityId()))
+                    .eventType(event.getAction().name())
+                    .userEmail(event.getUserEmail())
+                    .payload(event.getData() != null ? objectMapper.writeValueAsString(event.getData()) : null)
+                    .createdAt(event.getOccurredAt() != null ? event.getOccurredAt() : LocalDateTime.now())
+                    .build());
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Erro ao serializar evento: " + ex.getMessage());
+        }
+    }
+
+    @Override
+    @Transactional
+    public void appendAll(List<ChangeEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> rows = new ArrayList<>(events.size());
+        for (ChangeEvent event : events) {
+            try {
+                rows.add(new Object[]{
+                        event.getEntity().name(),
+                        UUID.fromString(event.getEntityId()),
+                        event.getAction().name(),
+                        event.getUserEmail(),
+                        event.getData() != null ? objectMapper.writeValueAsString(event.getData()) : null,
+                        Timestamp.valueOf(event.getOccurredAt() != null ? event.getOccurredAt() : LocalDateTime.now())});
+            } catch (JsonProcessingException ex) {
+                throw new IllegalArgumentException("Erro ao serializar evento: " + ex.getMessage());
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int relayBatch(int batchSize) {
+        List<OutboxEventEntity> events = repository.lockNextBatch(batchSize);
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        sink.send(events);
+
+        List<Long> ids = new ArrayList<>(events.size());
+        for (OutboxEventEntity event : events) {
+            ids.add(event.getId());
+        }
+        repository.deleteByIdIn(ids);
+        return events.size();
+    }
+
+    @Override
+    public LocalDateTime oldestPendingCreatedAt() {
+        return repository.findOldestCreatedAt();
+    }
+}
@@ -0,0 +1,70 @@
+package br.com.jtech.tasklist.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.jtech.tasklist.entity.TaskEntity;
+import br.com.jtech.tasklist.entity.TaskListEntity;
+import br.com.jtech.tasklist.repository.TaskListRepository;
+import br.com.jtech.tasklist.repository.TaskRepository;
+import br.com.jtech.tasklist.service.PurgeService;
+
+/**
+ * Moves (or hard deletes) rows soft deleted before a cutoff. Each purge call handles at
+ * most one batch of ids in its own transaction, so locks are held only for that batch.
+ */
+@Service
+public class PurgeServiceImpl implements PurgeService {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskListRepository taskListRepository;
+
+    @Override
+    public long countPurgeableTasks(LocalDateTime cutoff) {
+        return taskRepository.countInactiveBefore(cutoff);
+    }
+
+    @Override
+    public long countPurgeableTaskLists(LocalDateTime cutoff) {
+        return taskListRepository.countInactiveBefore(cutoff);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int purgeTasks(LocalDateTime cutoff, int batchSize, boolean archive) {
+        List<UUID> ids = taskRepository.lockInactiveBefore(cutoff, batchSize).stream()
+                .map(TaskEntity::getId)
+                .toList();
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        if (archive) {
+            taskRepository.archiveByIdIn(ids, LocalDateTime.now());
+        }
+        return taskRepository.deleteByIdIn(ids);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int purgeTaskLists(LocalDateTime cutoff, int batchSize, boolean archive) {
+        List<UUID> ids = taskListRepository.lockInactiveBefore(cutoff, batchSize).stream()
+                .map(TaskListEntity::getId)
+                .toList();
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        if (archive) {
+            taskListRepository.archiveByIdIn(ids, LocalDateTime.now());
+        }
+        return taskListRepository.deleteByIdIn(ids);
+    }
+}
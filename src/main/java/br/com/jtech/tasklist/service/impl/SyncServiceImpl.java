@@ -0,0 +1,140 @@
+package br.com.jtech.tasklist.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.jtech.tasklist.dto.SyncResponse;
+import br.com.jtech.tasklist.dto.TaskListResponse;
+import br.com.jtech.tasklist.dto.TaskResponse;
+import br.com.jtech.tasklist.entity.TaskEntity;
+import br.com.jtech.tasklist.entity.TaskListEntity;
+import br.com.jtech.tasklist.entity.UserEntity;
+import br.com.jtech.tasklist.repository.TaskListRepository;
+import br.com.jtech.tasklist.repository.TaskRepository;
+import br.com.jtech.tasklist.repository.UserRepository;
+import br.com.jtech.tasklist.service.SyncService;
+
+/**
+ * Delta sync based on updated_at. The token is an opaque encoding of the instant the previous
+ * sync started, minus a safety lag that covers transactions committed after that instant with
+ * an earlier updated_at; clients upsert by id, so rows sent twice are harmless. A full resync
+ * is requested when there is no token, when the token is older than the soft delete retention
+ * (tombstones may already be purged) or when there are more changes than {@code sync.max-changes}.
+ */
+@Service
+public class SyncServiceImpl implements SyncService {
+
+    private static final String TOKEN_PREFIX = "v1:";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskListRepository taskListRepository;
+
+    @Value("${sync.max-changes:1000}")
+    private int maxChanges;
+
+    @Value("${sync.safety-lag:PT5S}")
+    private Duration safetyLag;
+
+    @Value("${jobs.purge.retention:P30D}")
+    private Duration tombstoneRetention;
+
+    @Override
+    @Transactional(readOnly = true)
+    public SyncResponse changesSince(String since, String userEmail) {
+        UserEntity user = userRepository.findByEmail(userEmail)
+                .orElseThrow(() -> new IllegalArgumentException("Usuário não encontrado"));
+
+        LocalDateTime now = LocalDateTime.now();
+        String nextToken = encode(now.minus(safetyLag));
+
+        if (since == null || since.isBlank()) {
+            return fullResync(nextToken);
+        }
+
+        LocalDateTime sinceTime = decode(since);
+        if (sinceTime.isBefore(now.minus(tombstoneRetention))) {
+            return fullResync(nextToken);
+        }
+
+        List<TaskListEntity> taskLists = taskListRepository.findChangedSince(user.getId(), sinceTime, Limit.of(maxChanges + 1));
+        if (taskLists.size() > maxChanges) {
+            return fullResync(nextToken);
+        }
+
+        List<TaskEntity> tasks = taskRepository.findChangedSince(user.getId(), sinceTime, Limit.of(maxChanges - taskLists.size() + 1));
+        if (taskLists.size() + tasks.size() > maxChanges) {
+            return fullResync(nextToken);
+        }
+
+        SyncResponse response = SyncResponse.builder()
+                .nextToken(nextToken)
+                .build();
+
+        for (TaskListEntity taskList : taskLists) {
+            if (Boolean.TRUE.equals(taskList.getActive())) {
+                response.getTaskLists().add(toResponse(taskList));
+            } else {
+                response.getDeletedTaskListIds().add(taskList.getId().toString());
+            }
+        }
+
+        for (TaskEntity task : tasks) {
+            if (Boolean.TRUE.equals(task.getActive())) {
+                response.getTasks().add(TaskResponse.from(task));
+            } else {
+                response.getDeletedTaskIds().add(task.getId().toString());
+            }
+        }
+
+        return response;
+    }
+
+    private SyncResponse fullResync(String nextToken) {
+        return SyncResponse.builder()
+                .nextToken(nextToken)
+                .fullResync(true)
+                .build();
+    }
+
+    private String encode(LocalDateTime instant) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((TOKEN_PREFIX + instant).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private LocalDateTime decode(String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(TOKEN_PREFIX)) {
+                throw new IllegalArgumentException("Token de sincronização inválido");
+            }
+            return LocalDateTime.parse(decoded.substring(TOKEN_PREFIX.length()));
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new IllegalArgumentException("Token de sincronização inválido");
+        }
+    }
+
+    private TaskListResponse toResponse(TaskListEntity taskList) {
+        return TaskListResponse.builder()
+                .id(taskList.getId().toString())
+                .name(taskList.getName())
+                .createdAt(taskList.getCreatedAt())
+                .updatedAt(taskList.getUpdatedAt())
+                .build();
+    }
+}
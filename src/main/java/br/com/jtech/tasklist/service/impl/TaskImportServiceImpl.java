@@ -0,0 +1,421 @@
+package br.com.jtech.tasklist.service.impl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.jtech.tasklist.config.infra.exceptions.JobLeaseLostException;
+import br.com.jtech.tasklist.config.infra.utils.CsvReader;
+import br.com.jtech.tasklist.dto.ChangeEvent;
+import br.com.jtech.tasklist.dto.TaskExportFormat;
+import br.com.jtech.tasklist.dto.TaskImportError;
+import br.com.jtech.tasklist.dto.TaskImportResponse;
+import br.com.jtech.tasklist.dto.TaskResponse;
+import br.com.jtech.tasklist.entity.UserEntity;
+import br.com.jtech.tasklist.repository.TaskBulkInsertRepository;
+import br.com.jtech.tasklist.repository.TaskListRepository;
+import br.com.jtech.tasklist.repository.UserRepository;
+import br.com.jtech.tasklist.repository.projection.TaskListRef;
+import br.com.jtech.tasklist.service.OutboxService;
+import br.com.jtech.tasklist.service.TaskImportProgress;
+import br.com.jtech.tasklist.service.TaskImportService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Imports tasks from a CSV (header line required) or NDJSON stream. Rows are parsed and
+ * validated one at a time and written in batches of {@code tasks.import.batch-size}, each in
+ * its own transaction: the task lists referenced by a batch are resolved with at most two
+ * queries, the rows are loaded with COPY (batched INSERT outside PostgreSQL) and the counters
+ * are moved once. Invalid rows are reported with their line and skipped; committed batches
+ * stay committed if a later one fails. Each batch writes one outbox row per imported task in
+ * the same transaction, so downstream consumers see a CREATED event for every task that was
+ * committed. The SSE change feed is skipped to avoid flooding live clients with thousands of
+ * events; they pick the tasks up through the sync endpoint.
+ */
+@Slf4j
+@Service
+public class TaskImportServiceImpl implements TaskImportService {
+
+    private record ParsedRow(long line, String title, String description, boolean completed,
+                             String taskListId, String taskListName, String error) {
+
+        static ParsedRow invalid(long line, String error) {
+            return new ParsedRow(line, null, null, false, null, null, error);
+        }
+    }
+
+    private interface RowSource {
+        ParsedRow next() throws IOException;
+    }
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskListRepository taskListRepository;
+
+    @Autowired
+    private TaskBulkInsertRepository bulkInsertRepository;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Value("${tasks.import.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${tasks.import.max-errors:1000}")
+    private int maxErrors;
+
+    @Override
+    public TaskImportResponse importTasks(String userEmail, TaskExportFormat format, InputStream in) throws IOException {
+        return importTasks(userEmail, format, in, null);
+    }
+
+    @Override
+    public TaskImportResponse importTasks(String userEmail, TaskExportFormat format, InputStream in, TaskImportProgress progress) throws IOException {
+        UserEntity user = userRepository.findByEmail(userEmail)
+                .orElseThrow(() -> new IllegalArgumentException("Usuário não encontrado"));
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+        RowSource source = format == TaskExportFormat.NDJSON ? ndjsonSource(reader) : csvSource(reader);
+
+        TaskImportResponse response = TaskImportResponse.builder().build();
+        long start = System.nanoTime();
+        List<ParsedRow> batch = new ArrayList<>(batchSize);
+        long skip = progress != null ? progress.skipRows() : 0;
+        try {
+            ParsedRow row;
+            while ((row = source.next()) != null) {
+                if (skip > 0) {
+                    skip--;
+                    continue;
+                }
+                response.setProcessed(response.getProcessed() + 1);
+                batch.add(row);
+                if (batch.size() >= batchSize) {
+                    writeBatch(transaction, user, batch, response, progress);
+                    batch.clear();
+                    if (progress != null && progress.isCancelled()) {
+                        break;
+                    }
+                }
+            }
+        } catch (IOException ex) {
+            // Malformed stream (e.g. unclosed quote): stop reading, keep what was already imported
+            addError(response, -1, ex.getMessage());
+        }
+        writeBatch(transaction, user, batch, response, progress);
+
+        long elapsed = System.nanoTime() - start;
+        registry.counter("tasks.import.rows", "result", "imported").increment(response.getImported());
+        registry.counter("tasks.import.rows", "result", "failed").increment(response.getFailed());
+        log.info("::: Imported {} of {} tasks ({} failed) in {} ms ({} rows/s).", response.getImported(), response.getProcessed(),
+                response.getFailed(), TimeUnit.NANOSECONDS.toMillis(elapsed),
+                elapsed > 0 ? response.getProcessed() * TimeUnit.SECONDS.toNanos(1) / elapsed : response.getProcessed());
+        return response;
+    }
+
+    private void writeBatch(TransactionTemplate transaction, UserEntity user, List<ParsedRow> batch, TaskImportResponse response,
+                            TaskImportProgress progress) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        List<TaskImportError> errors = new ArrayList<>();
+        try {
+            Long imported = transaction.execute(status -> {
+                try {
+                    long inserted = insertBatch(user, batch, errors);
+                    if (progress != null) {
+                        progress.batchWritten(TaskImportResponse.builder()
+                                .processed(response.getProcessed())
+                                .imported(response.getImported() + inserted)
+                                .failed(response.getFailed() + errors.size())
+                                .build());
+                    }
+                    return inserted;
+                } catch (JobLeaseLostException ex) {
+                    throw ex;
+                } catch (Exception ex) {
+                    throw new IllegalStateException(ex.getMessage(), ex);
+                }
+            });
+            response.setImported(response.getImported() + (imported != null ? imported : 0));
+            for (TaskImportError error : errors) {
+                addError(response, error.getLine(), error.getMessage());
+            }
+        } catch (JobLeaseLostException ex) {
+            // Not a failure of the rows: the batch is rolled back and the whole import stops
+            throw ex;
+        } catch (RuntimeException ex) {
+            log.warn("::: Import batch starting at line {} failed: {}", batch.get(0).line(), ex.getMessage());
+            for (ParsedRow row : batch) {
+                addError(response, row.line(), row.error() != null ? row.error() : "Erro ao gravar lote: " + ex.getMessage());
+            }
+        }
+    }
+
+    private long insertBatch(UserEntity user, List<ParsedRow> batch, List<TaskImportError> errors) throws Exception {
+        UUID userId = user.getId();
+        Map<String, UUID> listsById = new HashMap<>();
+        Map<String, UUID> listsByName = new HashMap<>();
+        resolveTaskLists(userId, batch, listsById, listsByName);
+
+        List<TaskBulkInsertRepository.Row> rows = new ArrayList<>(batch.size());
+        Map<UUID, long[]> listDeltas = new HashMap<>();
+        long completed = 0;
+
+        for (ParsedRow row : batch) {
+            if (row.error() != null) {
+                errors.add(new TaskImportError(row.line(), row.error()));
+                continue;
+            }
+
+            UUID taskListId = null;
+            if (row.taskListId() != null) {
+                taskListId = listsById.get(UUID.fromString(row.taskListId()).toString());
+                if (taskListId == null) {
+                    errors.add(new TaskImportError(row.line(), "Lista não encontrada: " + row.taskListId()));
+                    continue;
+                }
+            } else if (row.taskListName() != null) {
+                taskListId = listsByName.get(row.taskListName());
+                if (taskListId == null) {
+                    errors.add(new TaskImportError(row.line(), "Lista não encontrada: " + row.taskListName()));
+                    continue;
+                }
+            }
+
+            rows.add(new TaskBulkInsertRepository.Row(UUID.randomUUID(), row.title(), row.description(), row.completed(), taskListId));
+            if (row.completed()) {
+                completed++;
+            }
+            if (taskListId != null) {
+                long[] delta = listDeltas.computeIfAbsent(taskListId, id -> new long[2]);
+                delta[0]++;
+                delta[1] += row.completed() ? 1 : 0;
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        long inserted = bulkInsertRepository.insert(userId, rows, now);
+        if (inserted > 0) {
+            userRepository.incrementTaskCounters(userId, inserted, completed);
+        }
+        for (Map.Entry<UUID, long[]> delta : listDeltas.entrySet()) {
+            taskListRepository.incrementTaskCounters(delta.getKey(), delta.getValue()[0], delta.getValue()[1]);
+        }
+        outboxService.appendAll(createdEvents(user.getEmail(), rows, now));
+        return inserted;
+    }
+
+    private List<ChangeEvent> createdEvents(String userEmail, List<TaskBulkInsertRepository.Row> rows, LocalDateTime now) {
+        List<ChangeEvent> events = new ArrayList<>(rows.size());
+        for (TaskBulkInsertRepository.Row row : rows) {
+            events.add(ChangeEvent.builder()
+                    .entity(ChangeEvent.Entity.TASK)
+                    .action(ChangeEvent.Action.CREATED)
+                    .entityId(row.id().toString())
+                    .data(TaskResponse.builder()
+                            .id(row.id().toString())
+                            .title(row.title())
+                            .description(row.description())
+                            .completed(row.completed())
+                            .taskListId(row.taskListId() != null ? row.taskListId().toString() : null)
+                            .createdAt(now)
+                            .updatedAt(now)
+                            .build())
+                    .occurredAt(now)
+                    .userEmail(userEmail)
+                    .build());
+        }
+        return events;
+    }
+
+    private void resolveTaskLists(UUID userId, List<ParsedRow> batch, Map<String, UUID> listsById, Map<String, UUID> listsByName) {
+        Set<UUID> ids = new HashSet<>();
+        Set<String> names = new HashSet<>();
+        for (ParsedRow row : batch) {
+            if (row.error() != null) {
+                continue;
+            }
+            if (row.taskListId() != null) {
+                ids.add(UUID.fromString(row.taskListId()));
+            } else if (row.taskListName() != null) {
+                names.add(row.taskListName());
+            }
+        }
+
+        if (!ids.isEmpty()) {
+            for (TaskListRef ref : taskListRepository.findActiveRefsByUser_IdAndIdIn(userId, ids)) {
+                listsById.put(ref.getId().toString(), ref.getId());
+            }
+        }
+        if (!names.isEmpty()) {
+            // Ordered by creation: with duplicated names the oldest list wins
+            for (TaskListRef ref : taskListRepository.findActiveRefsByUser_IdAndNameIn(userId, names)) {
+                listsByName.putIfAbsent(ref.getName(), ref.getId());
+            }
+        }
+    }
+
+    private RowSource csvSource(BufferedReader reader) throws IOException {
+        CsvReader csv = new CsvReader(reader);
+        List<String> header = csv.next();
+        if (header == null) {
+            return () -> null;
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i);
+            if (name != null) {
+                columns.put(name.replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT), i);
+            }
+        }
+        if (!columns.containsKey("title")) {
+            throw new IllegalArgumentException("Cabeçalho do CSV deve conter a coluna title");
+        }
+
+        return () -> {
+            List<String> record;
+            do {
+                record = csv.next();
+            } while (record != null && isBlank(record));
+            if (record == null) {
+                return null;
+            }
+            List<String> values = record;
+            return parse(csv.getRecordLine(),
+                    column(values, columns, "title"),
+                    column(values, columns, "description"),
+                    column(values, columns, "completed"),
+                    column(values, columns, "tasklistid"),
+                    column(values, columns, "tasklistname"));
+        };
+    }
+
+    private RowSource ndjsonSource(BufferedReader reader) {
+        long[] lineNumber = {0};
+        return () -> {
+            String line;
+            do {
+                line = reader.readLine();
+                lineNumber[0]++;
+            } while (line != null && line.isBlank());
+            if (line == null) {
+                return null;
+            }
+
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(line);
+            } catch (JsonProcessingException ex) {
+                return ParsedRow.invalid(lineNumber[0], "JSON inválido");
+            }
+            if (node == null || !node.isObject()) {
+                return ParsedRow.invalid(lineNumber[0], "Cada linha deve ser um objeto JSON");
+            }
+            return parse(lineNumber[0], text(node, "title"), text(node, "description"), text(node, "completed"),
+                    text(node, "taskListId"), text(node, "taskListName"));
+        };
+    }
+
+    private ParsedRow parse(long line, String title, String description, String completed, String taskListId, String taskListName) {
+        if (title == null || title.isBlank()) {
+            return ParsedRow.invalid(line, "Título é obrigatório");
+        }
+        if (title.length() > 200) {
+            return ParsedRow.invalid(line, "Título deve ter no máximo 200 caracteres");
+        }
+        if (description != null && description.length() > 1000) {
+            return ParsedRow.invalid(line, "Descrição deve ter no máximo 1000 caracteres");
+        }
+
+        boolean isCompleted = false;
+        if (completed != null && !completed.isBlank()) {
+            String value = completed.trim().toLowerCase(Locale.ROOT);
+            if (value.equals("true") || value.equals("1")) {
+                isCompleted = true;
+            } else if (!value.equals("false") && !value.equals("0")) {
+                return ParsedRow.invalid(line, "Valor inválido para completed: " + completed);
+            }
+        }
+
+        String listId = taskListId != null && !taskListId.isBlank() ? taskListId.trim() : null;
+        if (listId != null) {
+            try {
+                UUID.fromString(listId);
+            } catch (IllegalArgumentException ex) {
+                return ParsedRow.invalid(line, "Valor inválido para taskListId: " + taskListId);
+            }
+        }
+        String listName = taskListName != null && !taskListName.isBlank() ? taskListName.trim() : null;
+
+        return new ParsedRow(line, title.trim(), description, isCompleted, listId, listName, null);
+    }
+
+    private void addError(TaskImportResponse response, long line, String message) {
+        response.setFailed(response.getFailed() + 1);
+        if (response.getErrors().size() < maxErrors) {
+            response.getErrors().add(new TaskImportError(line, message));
+        } else {
+            response.setErrorsTruncated(true);
+        }
+    }
+
+    private String column(List<String> values, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        return index != null && index < values.size() ? values.get(index) : null;
+    }
+
+    private String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private boolean isBlank(List<String> record) {
+        for (String value : record) {
+            if (value != null && !value.isBlank()) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
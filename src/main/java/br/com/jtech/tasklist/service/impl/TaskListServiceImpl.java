@@ -1,26 +1,41 @@
 package br.com.jtech.tasklist.service.impl;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import br.com.jtech.tasklist.dto.ChangeEvent;
+import br.com.jtech.tasklist.dto.PageResponse;
+import br.com.jtech.tasklist.dto.TaskListDeleteMode;
+import br.com.jtech.tasklist.dto.TaskListDetailFilterDTO;
 import br.com.jtech.tasklist.dto.TaskListFilterDTO;
 import br.com.jtech.tasklist.dto.TaskListRequest;
 import br.com.jtech.tasklist.dto.TaskListResponse;
+import br.com.jtech.tasklist.dto.TaskResponse;
+import br.com.jtech.tasklist.dto.TaskStatsResponse;
+import br.com.jtech.tasklist.entity.TaskEntity;
 import br.com.jtech.tasklist.entity.TaskListEntity;
 import br.com.jtech.tasklist.entity.UserEntity;
 import br.com.jtech.tasklist.repository.TaskListRepository;
+import br.com.jtech.tasklist.repository.TaskRepository;
 import br.com.jtech.tasklist.repository.UserRepository;
+import br.com.jtech.tasklist.repository.projection.TaskCounters;
+import br.com.jtech.tasklist.repository.projection.TaskExportRow;
+import br.com.jtech.tasklist.repository.projection.TaskListView;
 import br.com.jtech.tasklist.config.infra.exceptions.ResourceNotFoundException;
+import br.com.jtech.tasklist.config.infra.utils.GenId;
+import br.com.jtech.tasklist.service.OutboxService;
 import br.com.jtech.tasklist.service.TaskListService;
 
 @Service
@@ -32,8 +47,17 @@ public class TaskListServiceImpl implements TaskListService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private OutboxService outboxService;
+
     @Override
-    public Page<TaskListResponse> findAll(TaskListFilterDTO filter, Pageable pageable, String userEmail) {
+    public PageResponse<TaskListResponse> findAll(TaskListFilterDTO filter, Pageable pageable, String userEmail) {
         UserEntity user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new IllegalArgumentException("Usuário não encontrado"));
 
@@ -46,12 +70,17 @@ public class TaskListServiceImpl implements TaskListService {
             listsPage = repository.findByUser_Id(user.getId(), pageable);
         }
 
+        boolean includeCounts = filter.isIncludeCountsOrDefault();
         List<TaskListResponse> responseList = new ArrayList<>();
         for (TaskListEntity taskList : listsPage) {
-            responseList.add(toResponse(taskList));
+            TaskListResponse response = toResponse(taskList);
+            if (includeCounts) {
+                fillCounts(response, taskList);
+            }
+            responseList.add(response);
         }
 
-        return new PageImpl<>(responseList, pageable, listsPage.getTotalElements());
+        return PageResponse.of(new PageImpl<>(responseList, pageable, listsPage.getTotalElements()));
     }
 
     @Override
@@ -68,9 +97,14 @@ public class TaskListServiceImpl implements TaskListService {
             lists = repository.findByUser_Id(user.getId());
         }
 
+        boolean includeCounts = filter.isIncludeCountsOrDefault();
         List<TaskListResponse> responseList = new ArrayList<>();
         for (TaskListEntity taskList : lists) {
-            responseList.add(toResponse(taskList));
+            TaskListResponse response = toResponse(taskList);
+            if (includeCounts) {
+                fillCounts(response, taskList);
+            }
+            responseList.add(response);
         }
 
         return responseList;
@@ -78,7 +112,7 @@ public class TaskListServiceImpl implements TaskListService {
 
     @Override
     public TaskListResponse findById(String id, String userEmail) {
-        if (id == null || id.equals("all") || !isValidUUID(id)) {
+        if (id == null || id.equals("all") || !GenId.isValid(id)) {
             throw new ResourceNotFoundException("Lista não encontrada");
         }
 
@@ -91,13 +125,93 @@ public class TaskListServiceImpl implements TaskListService {
         return toResponse(taskList);
     }
 
+    /**
+     * Detail view of a list. With {@code include=tasks} the request costs two statements:
+     * the list (ownership checked through the user email, counters included) and one page
+     * of its active tasks. The page is not join-fetched on purpose, since Hibernate would
+     * paginate a collection fetch in memory; the total comes from the list counters.
+     */
+    @Override
+    public TaskListResponse findById(String id, TaskListDetailFilterDTO filter, String userEmail) {
+        if (!filter.isIncludeTasks()) {
+            return findById(id, userEmail);
+        }
+
+        if (id == null || id.equals("all") || !GenId.isValid(id)) {
+            throw new ResourceNotFoundException("Lista não encontrada");
+        }
+
+        TaskListView taskList = repository.findViewByIdAndUser_Email(UUID.fromString(id), userEmail)
+                .orElseThrow(() -> new ResourceNotFoundException("Lista não encontrada ou você não tem permissão para acessá-la"));
+
+        int page = filter.getTaskPageOrDefault();
+        int size = filter.getTaskSizeOrDefault();
+        List<TaskResponse> tasks = new ArrayList<>();
+        for (TaskEntity task : taskRepository.findActiveByTaskList_Id(taskList.getId(), PageRequest.of(page, size))) {
+            tasks.add(TaskResponse.builder()
+                    .id(task.getId().toString())
+                    .title(task.getTitle())
+                    .description(task.getDescription())
+                    .completed(task.getCompleted())
+                    .taskListId(id)
+                    .createdAt(task.getCreatedAt())
+                    .updatedAt(task.getUpdatedAt())
+                    .build());
+        }
+
+        long total = taskList.getTotal();
+        int totalPages = (int) ((total + size - 1) / size);
+        PageResponse<TaskResponse> tasksPage = PageResponse.<TaskResponse>builder()
+                .content(tasks)
+                .page(page)
+                .size(size)
+                .totalElements(total)
+                .totalPages(totalPages)
+                .first(page == 0)
+                .last(page + 1 >= totalPages)
+                .build();
+
+        return TaskListResponse.builder()
+                .id(taskList.getId().toString())
+                .name(taskList.getName())
+                .createdAt(taskList.getCreatedAt())
+                .updatedAt(taskList.getUpdatedAt())
+                .taskCount(total)
+                .completedTaskCount(taskList.getCompleted())
+                .completionRatio(total > 0 ? (double) taskList.getCompleted() / total : 0.0)
+                .tasks(tasksPage)
+                .build();
+    }
+
+    @Override
+    public TaskStatsResponse stats(String id, String userEmail) {
+        if (id == null || id.equals("all") || !GenId.isValid(id)) {
+            throw new ResourceNotFoundException("Lista não encontrada");
+        }
+
+        UserEntity user = userRepository.findByEmail(userEmail)
+                .orElseThrow(() -> new IllegalArgumentException("Usuário não encontrado"));
+
+        TaskCounters counters = repository.findTaskCountersByIdAndUser_Id(UUID.fromString(id), user.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Lista não encontrada ou você não tem permissão para acessá-la"));
+
+        return TaskStatsResponse.builder()
+                .taskListId(id)
+                .total(counters.getTotal())
+                .completed(counters.getCompleted())
+                .active(counters.getTotal() - counters.getCompleted())
+                .build();
+    }
+
     @Override
-    @Transactional(propagation = Propagation.SUPPORTS)
+    @Transactional
     public TaskListResponse save(TaskListRequest request, String userEmail) {
         try {
             TaskListEntity taskList = convert(request, userEmail);
             repository.save(taskList);
-            return toResponse(taskList);
+            TaskListResponse response = toResponse(taskList);
+            publishChange(ChangeEvent.Action.CREATED, response.getId(), response, userEmail);
+            return response;
         } catch (DataIntegrityViolationException ex) {
             throw new IllegalArgumentException("Erro de integridade: " + ex.getMessage());
         } catch (Exception ex) {
@@ -106,10 +220,10 @@ public class TaskListServiceImpl implements TaskListService {
     }
 
     @Override
-    @Transactional(propagation = Propagation.SUPPORTS)
+    @Transactional
     public TaskListResponse update(String id, TaskListRequest request, String userEmail) {
         try {
-            if (id == null || id.equals("all") || !isValidUUID(id)) {
+            if (id == null || id.equals("all") || !GenId.isValid(id)) {
                 throw new ResourceNotFoundException("Lista não encontrada");
             }
 
@@ -121,7 +235,9 @@ public class TaskListServiceImpl implements TaskListService {
 
             TaskListEntity taskList = convert(found, request);
             repository.save(taskList);
-            return toResponse(taskList);
+            TaskListResponse response = toResponse(taskList);
+            publishChange(ChangeEvent.Action.UPDATED, response.getId(), response, userEmail);
+            return response;
         } catch (DataIntegrityViolationException ex) {
             String message = ex.getMessage();
             if (message != null && message.contains("name")) {
@@ -136,21 +252,53 @@ public class TaskListServiceImpl implements TaskListService {
     }
 
     @Override
-    @Transactional(propagation = Propagation.SUPPORTS)
     public void softDelete(String id, String userEmail) {
-        if (id == null || id.equals("all") || !isValidUUID(id)) {
+        softDelete(id, TaskListDeleteMode.DEACTIVATE, userEmail);
+    }
+
+    /**
+     * Soft deletes the list and handles its tasks with a single set-based UPDATE in the same
+     * transaction, never loading the tasks collection. The counters of the list are moved out
+     * of the user totals when the tasks are deactivated; they are read under the list row lock,
+     * so tasks created or moved concurrently cannot make them drift. The same lock keeps the
+     * set of active tasks of the list stable, so the tasks read before the bulk UPDATE are exactly
+     * the ones it changes; each gets its own outbox event before the DELETED event of the list.
+     */
+    @Override
+    @Transactional
+    public void softDelete(String id, TaskListDeleteMode mode, String userEmail) {
+        if (id == null || id.equals("all") || !GenId.isValid(id)) {
             throw new ResourceNotFoundException("Lista não encontrada");
         }
 
         UserEntity user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new IllegalArgumentException("Usuário não encontrado"));
 
-        TaskListEntity taskList = repository.findByIdAndUser_Id(UUID.fromString(id), user.getId())
+        TaskListEntity taskList = repository.findForUpdateByIdAndUser_Id(UUID.fromString(id), user.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("Lista não encontrada ou você não tem permissão para acessá-la"));
 
         try {
+            TaskCounters counters = repository.findTaskCountersByIdAndUser_Id(taskList.getId(), user.getId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Lista não encontrada ou você não tem permissão para acessá-la"));
+
+            LocalDateTime now = LocalDateTime.now();
+            List<TaskExportRow> tasks = taskRepository.findActiveRowsByTaskList_Id(taskList.getId());
+            if (mode == TaskListDeleteMode.DETACH) {
+                taskRepository.detachFromTaskList(taskList.getId(), now);
+            } else {
+                taskRepository.deactivateByTaskList_Id(taskList.getId(), now);
+                if (counters.getTotal() != 0 || counters.getCompleted() != 0) {
+                    userRepository.incrementTaskCounters(user.getId(), -counters.getTotal(), -counters.getCompleted());
+                }
+            }
+            if (counters.getTotal() != 0 || counters.getCompleted() != 0) {
+                repository.incrementTaskCounters(taskList.getId(), -counters.getTotal(), -counters.getCompleted());
+            }
+
+            outboxService.appendAll(taskEvents(tasks, mode, now, userEmail));
             taskList.setActive(false);
             repository.save(taskList);
+            publishChange(ChangeEvent.Action.DELETED, taskList.getId().toString(), null, userEmail);
         } catch (DataIntegrityViolationException ex) {
             throw new IllegalArgumentException("Registro não pode ser excluído, pois o mesmo tem registros relacionados.");
         }
@@ -175,6 +323,50 @@ public class TaskListServiceImpl implements TaskListService {
         return taskList;
     }
 
+    /**
+     * Outbox events of the tasks deactivated (DELETED) or detached (UPDATED, without a list) by
+     * a list delete, written as one batch.
+     */
+    private List<ChangeEvent> taskEvents(List<TaskExportRow> tasks, TaskListDeleteMode mode, LocalDateTime now, String userEmail) {
+        boolean detached = mode == TaskListDeleteMode.DETACH;
+        List<ChangeEvent> events = new ArrayList<>(tasks.size());
+        for (TaskExportRow task : tasks) {
+            events.add(ChangeEvent.builder()
+                    .entity(ChangeEvent.Entity.TASK)
+                    .action(detached ? ChangeEvent.Action.UPDATED : ChangeEvent.Action.DELETED)
+                    .entityId(task.getId().toString())
+                    .data(detached ? TaskResponse.builder()
+                            .id(task.getId().toString())
+                            .title(task.getTitle())
+                            .description(task.getDescription())
+                            .completed(task.getCompleted())
+                            .createdAt(task.getCreatedAt())
+                            .updatedAt(now)
+                            .build() : null)
+                    .occurredAt(now)
+                    .userEmail(userEmail)
+                    .build());
+        }
+        return events;
+    }
+
+    /**
+     * Publishes the change to the SSE change feed; the broker only receives it after commit.
+     * Tasks deactivated or detached by a list delete are not announced one by one on the feed:
+     * clients reload the tasks of the list when they receive its DELETED event. They do get
+     * their own outbox events (see {@link #softDelete}).
+     */
+    private void publishChange(ChangeEvent.Action action, String taskListId, TaskListResponse data, String userEmail) {
+        eventPublisher.publishEvent(ChangeEvent.builder()
+                .entity(ChangeEvent.Entity.TASK_LIST)
+                .action(action)
+                .entityId(taskListId)
+                .data(data)
+                .occurredAt(LocalDateTime.now())
+                .userEmail(userEmail)
+                .build());
+    }
+
     private TaskListResponse toResponse(TaskListEntity taskList) {
         return TaskListResponse.builder()
                 .id(taskList.getId().toString())
@@ -184,16 +376,15 @@ public class TaskListServiceImpl implements TaskListService {
                 .build();
     }
 
-    private boolean isValidUUID(String str) {
-        if (str == null || str.isEmpty()) {
-            return false;
-        }
-        try {
-            UUID.fromString(str);
-            return true;
-        } catch (IllegalArgumentException e) {
-            return false;
-        }
+    /**
+     * Copies the task_count/completed_task_count columns already loaded with the entity,
+     * so embedding the counts costs no extra query.
+     */
+    private void fillCounts(TaskListResponse response, TaskListEntity taskList) {
+        long total = taskList.getTaskCount() != null ? taskList.getTaskCount() : 0L;
+        long completed = taskList.getCompletedTaskCount() != null ? taskList.getCompletedTaskCount() : 0L;
+        response.setTaskCount(total);
+        response.setCompletedTaskCount(completed);
+        response.setCompletionRatio(total > 0 ? (double) completed / total : 0.0);
     }
 }
-
@@ -1,28 +1,39 @@
 package br.com.jtech.tasklist.service.impl;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import br.com.jtech.tasklist.dto.ChangeEvent;
+import br.com.jtech.tasklist.dto.PageResponse;
 import br.com.jtech.tasklist.dto.TaskFilterDTO;
 import br.com.jtech.tasklist.dto.TaskRequest;
 import br.com.jtech.tasklist.dto.TaskResponse;
+import br.com.jtech.tasklist.dto.TaskStatsResponse;
 import br.com.jtech.tasklist.entity.TaskEntity;
 import br.com.jtech.tasklist.entity.TaskListEntity;
 import br.com.jtech.tasklist.entity.UserEntity;
 import br.com.jtech.tasklist.repository.TaskRepository;
 import br.com.jtech.tasklist.repository.TaskListRepository;
 import br.com.jtech.tasklist.repository.UserRepository;
+import br.com.jtech.tasklist.repository.projection.TaskCounters;
+import br.com.jtech.tasklist.config.infra.buffer.TaskCompletionBuffer;
 import br.com.jtech.tasklist.config.infra.exceptions.ResourceNotFoundException;
+import br.com.jtech.tasklist.config.infra.json.TaskResponseList;
+import br.com.jtech.tasklist.config.infra.utils.GenId;
 import br.com.jtech.tasklist.service.TaskService;
 
 @Service
@@ -37,13 +48,19 @@ public class TaskServiceImpl implements TaskService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TaskCompletionBuffer completionBuffer;
+
     @Override
-    public Page<TaskResponse> findAll(TaskFilterDTO filter, Pageable pageable, String userEmail) {
+    public PageResponse<TaskResponse> findAll(TaskFilterDTO filter, Pageable pageable, String userEmail) {
         UserEntity user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new IllegalArgumentException("Usuário não encontrado"));
 
         UUID taskListId = null;
-        if (filter.getTaskListId() != null && isValidUUID(filter.getTaskListId())) {
+        if (filter.getTaskListId() != null && GenId.isValid(filter.getTaskListId())) {
             taskListId = UUID.fromString(filter.getTaskListId());
         }
 
@@ -64,12 +81,8 @@ public class TaskServiceImpl implements TaskService {
             }
         }
 
-        List<TaskResponse> responseList = new ArrayList<>();
-        for (TaskEntity task : tasksPage) {
-            responseList.add(toResponse(task));
-        }
-
-        return new PageImpl<>(responseList, pageable, tasksPage.getTotalElements());
+        // Lazy view: PageResponseSerializer writes the entities in the TaskResponse shape
+        return PageResponse.of(tasksPage, TaskResponseList.of(tasksPage.getContent()));
     }
 
     @Override
@@ -78,7 +91,7 @@ public class TaskServiceImpl implements TaskService {
                 .orElseThrow(() -> new IllegalArgumentException("Usuário não encontrado"));
 
         UUID taskListId = null;
-        if (filter.getTaskListId() != null && isValidUUID(filter.getTaskListId())) {
+        if (filter.getTaskListId() != null && GenId.isValid(filter.getTaskListId())) {
             taskListId = UUID.fromString(filter.getTaskListId());
         }
 
@@ -101,7 +114,7 @@ public class TaskServiceImpl implements TaskService {
 
         List<TaskResponse> responseList = new ArrayList<>();
         for (TaskEntity task : tasks) {
-            responseList.add(toResponse(task));
+            responseList.add(TaskResponse.from(task));
         }
 
         return responseList;
@@ -109,7 +122,7 @@ public class TaskServiceImpl implements TaskService {
 
     @Override
     public TaskResponse findById(String id, String userEmail) {
-        if (!isValidUUID(id)) {
+        if (!GenId.isValid(id)) {
             throw new ResourceNotFoundException("Tarefa não encontrada");
         }
 
@@ -119,16 +132,40 @@ public class TaskServiceImpl implements TaskService {
         TaskEntity task = repository.findByIdAndUser_Id(UUID.fromString(id), user.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("Tarefa não encontrada ou você não tem permissão para acessá-la"));
 
-        return toResponse(task);
+        return TaskResponse.from(task);
+    }
+
+    @Override
+    public TaskStatsResponse stats(TaskFilterDTO filter, String userEmail) {
+        if (filter.getTaskListId() == null || filter.getTaskListId().isBlank()) {
+            TaskCounters counters = userRepository.findTaskCountersByEmail(userEmail)
+                    .orElseThrow(() -> new IllegalArgumentException("Usuário não encontrado"));
+            return toStatsResponse(null, counters);
+        }
+
+        if (!GenId.isValid(filter.getTaskListId())) {
+            throw new ResourceNotFoundException("Lista não encontrada");
+        }
+
+        UserEntity user = userRepository.findByEmail(userEmail)
+                .orElseThrow(() -> new IllegalArgumentException("Usuário não encontrado"));
+
+        TaskCounters counters = taskListRepository.findTaskCountersByIdAndUser_Id(UUID.fromString(filter.getTaskListId()), user.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Lista não encontrada ou você não tem permissão para acessá-la"));
+
+        return toStatsResponse(filter.getTaskListId(), counters);
     }
 
     @Override
-    @Transactional(propagation = Propagation.SUPPORTS)
+    @Transactional
     public TaskResponse save(TaskRequest request, String userEmail) {
         try {
             TaskEntity task = convert(request, userEmail);
             repository.save(task);
-            return toResponse(task);
+            updateCounters(task.getUser().getId(), taskListId(task), 1, task.getCompleted() ? 1 : 0);
+            TaskResponse response = TaskResponse.from(task);
+            publishChange(ChangeEvent.Action.CREATED, response.getId(), response, userEmail);
+            return response;
         } catch (DataIntegrityViolationException ex) {
             throw new IllegalArgumentException("Erro de integridade: " + ex.getMessage());
         } catch (Exception ex) {
@@ -137,10 +174,10 @@ public class TaskServiceImpl implements TaskService {
     }
 
     @Override
-    @Transactional(propagation = Propagation.SUPPORTS)
+    @Transactional
     public TaskResponse update(String id, TaskRequest request, String userEmail) {
         try {
-            if (!isValidUUID(id)) {
+            if (!GenId.isValid(id)) {
                 throw new ResourceNotFoundException("Tarefa não encontrada");
             }
 
@@ -150,9 +187,25 @@ public class TaskServiceImpl implements TaskService {
             TaskEntity found = repository.findByIdAndUser_Id(UUID.fromString(id), user.getId())
                     .orElseThrow(() -> new ResourceNotFoundException("Tarefa não encontrada ou você não tem permissão para acessá-la"));
 
+            boolean wasCompleted = found.getCompleted();
+            UUID previousTaskListId = taskListId(found);
+
             TaskEntity task = convert(found, request, userEmail);
             repository.save(task);
-            return toResponse(task);
+
+            long completedBefore = wasCompleted ? 1 : 0;
+            long completedAfter = task.getCompleted() ? 1 : 0;
+            UUID currentTaskListId = taskListId(task);
+            if (Objects.equals(previousTaskListId, currentTaskListId)) {
+                updateCounters(user.getId(), currentTaskListId, 0, completedAfter - completedBefore);
+            } else {
+                updateListCounters(previousTaskListId, -1, -completedBefore);
+                updateListCounters(currentTaskListId, 1, completedAfter);
+                updateUserCounters(user.getId(), 0, completedAfter - completedBefore);
+            }
+            TaskResponse response = TaskResponse.from(task);
+            publishChange(ChangeEvent.Action.UPDATED, response.getId(), response, userEmail);
+            return response;
         } catch (DataIntegrityViolationException ex) {
             throw new IllegalArgumentException("Erro de integridade: " + ex.getMessage());
         } catch (ResourceNotFoundException ex) {
@@ -163,9 +216,9 @@ public class TaskServiceImpl implements TaskService {
     }
 
     @Override
-    @Transactional(propagation = Propagation.SUPPORTS)
+    @Transactional
     public void softDelete(String id, String userEmail) {
-        if (!isValidUUID(id)) {
+        if (!GenId.isValid(id)) {
             throw new ResourceNotFoundException("Tarefa não encontrada");
         }
 
@@ -178,18 +231,84 @@ public class TaskServiceImpl implements TaskService {
         try {
             task.setActive(false);
             repository.save(task);
+            updateCounters(user.getId(), taskListId(task), -1, task.getCompleted() ? -1 : 0);
+            publishChange(ChangeEvent.Action.DELETED, task.getId().toString(), null, userEmail);
         } catch (DataIntegrityViolationException ex) {
             throw new IllegalArgumentException("Registro não pode ser excluído, pois o mesmo tem registros relacionados.");
         }
     }
 
+    @Override
+    public void setCompleted(String id, boolean completed, String userEmail) {
+        if (!GenId.isValid(id)) {
+            throw new ResourceNotFoundException("Tarefa não encontrada");
+        }
+        completionBuffer.submit(userEmail, UUID.fromString(id), completed);
+    }
+
+    /**
+     * Applies the coalesced completion flags of one user: locks the affected tasks, flips them
+     * with at most one UPDATE per target value and moves the counters by the net difference.
+     * Tasks that are missing, inactive, owned by someone else or already in the target state
+     * are ignored.
+     */
+    @Override
+    @Transactional
+    public int applyCompletions(String userEmail, Map<UUID, Boolean> completions) {
+        UserEntity user = userRepository.findByEmail(userEmail)
+                .orElseThrow(() -> new IllegalArgumentException("Usuário não encontrado"));
+
+        List<UUID> toComplete = new ArrayList<>();
+        List<UUID> toReopen = new ArrayList<>();
+        Map<UUID, Long> listDeltas = new HashMap<>();
+        List<TaskResponse> changed = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+
+        for (TaskEntity task : repository.findActiveForUpdateByIdInAndUser_Id(completions.keySet(), user.getId())) {
+            boolean completed = completions.get(task.getId());
+            if (completed == task.getCompleted()) {
+                continue;
+            }
+            if (completed) {
+                toComplete.add(task.getId());
+            } else {
+                toReopen.add(task.getId());
+            }
+            UUID taskListId = taskListId(task);
+            if (taskListId != null) {
+                listDeltas.merge(taskListId, completed ? 1L : -1L, Long::sum);
+            }
+
+            TaskResponse response = TaskResponse.from(task);
+            response.setCompleted(completed);
+            response.setUpdatedAt(now);
+            changed.add(response);
+        }
+
+        if (!toComplete.isEmpty()) {
+            repository.updateCompletedByIdIn(toComplete, true, now);
+        }
+        if (!toReopen.isEmpty()) {
+            repository.updateCompletedByIdIn(toReopen, false, now);
+        }
+
+        updateUserCounters(user.getId(), 0, toComplete.size() - toReopen.size());
+        for (Map.Entry<UUID, Long> delta : listDeltas.entrySet()) {
+            updateListCounters(delta.getKey(), 0, delta.getValue());
+        }
+        for (TaskResponse response : changed) {
+            publishChange(ChangeEvent.Action.UPDATED, response.getId(), response, userEmail);
+        }
+        return changed.size();
+    }
+
     @Override
     public TaskEntity convert(TaskRequest dto, String userEmail) {
         UserEntity user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new IllegalArgumentException("Usuário não encontrado"));
 
         TaskListEntity taskList = null;
-        if (dto.getTaskListId() != null && isValidUUID(dto.getTaskListId())) {
+        if (dto.getTaskListId() != null && GenId.isValid(dto.getTaskListId())) {
             taskList = taskListRepository.findByIdAndUser_Id(UUID.fromString(dto.getTaskListId()), user.getId())
                     .orElseThrow(() -> new ResourceNotFoundException("Lista não encontrada ou você não tem permissão para acessá-la"));
         }
@@ -219,7 +338,7 @@ public class TaskServiceImpl implements TaskService {
             task.setCompleted(dto.getCompleted());
         }
 
-        if (dto.getTaskListId() != null && isValidUUID(dto.getTaskListId())) {
+        if (dto.getTaskListId() != null && GenId.isValid(dto.getTaskListId())) {
             TaskListEntity taskList = taskListRepository.findByIdAndUser_Id(UUID.fromString(dto.getTaskListId()), user.getId())
                     .orElseThrow(() -> new ResourceNotFoundException("Lista não encontrada ou você não tem permissão para acessá-la"));
             task.setTaskList(taskList);
@@ -230,28 +349,48 @@ public class TaskServiceImpl implements TaskService {
         return task;
     }
 
-    private TaskResponse toResponse(TaskEntity task) {
-        return TaskResponse.builder()
-                .id(task.getId().toString())
-                .title(task.getTitle())
-                .description(task.getDescription())
-                .completed(task.getCompleted())
-                .taskListId(task.getTaskList() != null ? task.getTaskList().getId().toString() : null)
-                .createdAt(task.getCreatedAt())
-                .updatedAt(task.getUpdatedAt())
+    private TaskStatsResponse toStatsResponse(String taskListId, TaskCounters counters) {
+        return TaskStatsResponse.builder()
+                .taskListId(taskListId)
+                .total(counters.getTotal())
+                .completed(counters.getCompleted())
+                .active(counters.getTotal() - counters.getCompleted())
                 .build();
     }
 
-    private boolean isValidUUID(String str) {
-        if (str == null || str.isEmpty()) {
-            return false;
+    /**
+     * Publishes the change to the SSE change feed; the broker only receives it after commit.
+     */
+    private void publishChange(ChangeEvent.Action action, String taskId, TaskResponse data, String userEmail) {
+        eventPublisher.publishEvent(ChangeEvent.builder()
+                .entity(ChangeEvent.Entity.TASK)
+                .action(action)
+                .entityId(taskId)
+                .data(data)
+                .occurredAt(LocalDateTime.now())
+                .userEmail(userEmail)
+                .build());
+    }
+
+    private void updateCounters(UUID userId, UUID taskListId, long total, long completed) {
+        updateUserCounters(userId, total, completed);
+        updateListCounters(taskListId, total, completed);
+    }
+
+    private void updateUserCounters(UUID userId, long total, long completed) {
+        if (total != 0 || completed != 0) {
+            userRepository.incrementTaskCounters(userId, total, completed);
         }
-        try {
-            UUID.fromString(str);
-            return true;
-        } catch (IllegalArgumentException e) {
-            return false;
+    }
+
+    private void updateListCounters(UUID taskListId, long total, long completed) {
+        if (taskListId != null && (total != 0 || completed != 0)) {
+            taskListRepository.incrementTaskCounters(taskListId, total, completed);
         }
     }
+
+    private UUID taskListId(TaskEntity task) {
+        return task.getTaskList() != null ? task.getTaskList().getId() : null;
+    }
 }
 
@@ -0,0 +1,527 @@
+package br.com.jtech.tasklist.service.impl;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.jtech.tasklist.config.infra.exceptions.ConflictException;
+import br.com.jtech.tasklist.config.infra.exceptions.JobLeaseLostException;
+import br.com.jtech.tasklist.config.infra.exceptions.PayloadTooLargeException;
+import br.com.jtech.tasklist.config.infra.exceptions.ResourceNotFoundException;
+import br.com.jtech.tasklist.config.infra.exceptions.TooManyRequestsException;
+import br.com.jtech.tasklist.config.infra.utils.GenId;
+import br.com.jtech.tasklist.dto.TaskExportFormat;
+import br.com.jtech.tasklist.dto.TaskImportResponse;
+import br.com.jtech.tasklist.dto.TransferJobResponse;
+import br.com.jtech.tasklist.entity.TransferJobEntity;
+import br.com.jtech.tasklist.entity.TransferJobEntity.Status;
+import br.com.jtech.tasklist.entity.UserEntity;
+import br.com.jtech.tasklist.repository.TransferJobRepository;
+import br.com.jtech.tasklist.repository.UserRepository;
+import br.com.jtech.tasklist.repository.projection.UserJobCount;
+import br.com.jtech.tasklist.service.TaskExportService;
+import br.com.jtech.tasklist.service.TaskImportProgress;
+import br.com.jtech.tasklist.service.TaskImportService;
+import br.com.jtech.tasklist.service.TransferJobService;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Import/export jobs backed by the {@code transfer_jobs} table, which doubles as the queue.
+ * Uploads and export results live under {@code jobs.transfer.dir}. Every state change is a
+ * guarded UPDATE ({@code WHERE status = ...}), so cancel, claim, finish and stale recovery can
+ * race without overwriting each other.
+ *
+ * <p>Imports write their progress in the transaction of each batch, so after a crash the job is
+ * requeued and resumes by skipping exactly the rows already committed. Exports are read-only
+ * and simply start over, writing to a temporary file that is moved into place when complete.
+ *
+ * <p>A run only writes to its job while the job is still at the attempt it claimed. A run that
+ * stalled past its lease, whose job was requeued and claimed again, finds its next progress
+ * update fenced off: the batch rolls back and the run stops, leaving the job to the new attempt.
+ */
+@Slf4j
+@Service
+public class TransferJobServiceImpl implements TransferJobService {
+
+    private static final EnumSet<Status> ACTIVE = EnumSet.of(Status.QUEUED, Status.RUNNING);
+    private static final EnumSet<Status> FINISHED = EnumSet.of(Status.COMPLETED, Status.FAILED, Status.CANCELLED);
+
+    @Autowired
+    private TransferJobRepository repository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskImportService taskImportService;
+
+    @Autowired
+    private TaskExportService taskExportService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${jobs.transfer.dir:${java.io.tmpdir}/tasklist-jobs}")
+    private Path directory;
+
+    @Value("${jobs.transfer.max-active-per-user:3}")
+    private int maxActivePerUser;
+
+    @Value("${jobs.transfer.max-upload-size:100MB}")
+    private DataSize maxUploadSize;
+
+    @Value("${jobs.transfer.max-running-per-user:1}")
+    private int maxRunningPerUser;
+
+    @Value("${jobs.transfer.lease:PT5M}")
+    private Duration lease;
+
+    @Value("${jobs.transfer.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${jobs.transfer.retention:P1D}")
+    private Duration retention;
+
+    @Override
+    public TransferJobResponse submitImport(TaskExportFormat format, boolean gzip, InputStream body, String userEmail) throws IOException {
+        UserEntity user = activeLimitChecked(userEmail);
+
+        UUID id = UUID.randomUUID();
+        Files.createDirectories(directory);
+        Path input = directory.resolve(id + ".input");
+        try {
+            // Stored as received (still gzipped, if it was); decompressed while the job runs
+            copyLimited(body, input);
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(input);
+            throw ex;
+        }
+
+        try {
+            return toResponse(repository.save(newJob(id, user, TransferJobEntity.Type.IMPORT, format, gzip, input)));
+        } catch (RuntimeException ex) {
+            Files.deleteIfExists(input);
+            throw ex;
+        }
+    }
+
+    @Override
+    public TransferJobResponse submitExport(TaskExportFormat format, boolean gzip, String userEmail) {
+        UserEntity user = activeLimitChecked(userEmail);
+
+        UUID id = UUID.randomUUID();
+        Path output = directory.resolve(id + "." + format.name().toLowerCase(Locale.ROOT) + (gzip ? ".gz" : ""));
+        return toResponse(repository.save(newJob(id, user, TransferJobEntity.Type.EXPORT, format, gzip, output)));
+    }
+
+    @Override
+    public TransferJobResponse findById(String id, String userEmail) {
+        return toResponse(findJob(id, userEmail));
+    }
+
+    @Override
+    public List<TransferJobResponse> list(String userEmail) {
+        UserEntity user = userRepository.findByEmail(userEmail)
+                .orElseThrow(() -> new IllegalArgumentException("Usuário não encontrado"));
+
+        List<TransferJobResponse> responseList = new ArrayList<>();
+        for (TransferJobEntity job : repository.findByUserIdOrderByCreatedAtDesc(user.getId(), Limit.of(50))) {
+            responseList.add(toResponse(job));
+        }
+        return responseList;
+    }
+
+    @Override
+    public TransferJobResponse cancel(String id, String userEmail) {
+        TransferJobEntity job = findJob(id, userEmail);
+
+        // Queued jobs are cancelled right away; running ones stop at the next batch boundary
+        if (repository.cancelQueued(job.getId(), LocalDateTime.now()) == 0
+                && repository.requestCancel(job.getId()) == 0) {
+            throw new ConflictException("Job já finalizado");
+        }
+        return toResponse(repository.findById(job.getId()).orElse(job));
+    }
+
+    @Override
+    public Path downloadPath(String id, String userEmail) {
+        TransferJobEntity job = findJob(id, userEmail);
+        if (job.getType() != TransferJobEntity.Type.EXPORT) {
+            throw new ConflictException("Somente jobs de exportação possuem arquivo para download");
+        }
+        if (job.getStatus() != Status.COMPLETED) {
+            throw new ConflictException("Exportação ainda não concluída");
+        }
+
+        Path output = Path.of(job.getFilePath());
+        if (!Files.exists(output)) {
+            throw new ResourceNotFoundException("Arquivo da exportação não encontrado");
+        }
+        return output;
+    }
+
+    @Override
+    @Transactional
+    public List<ClaimedJob> claim(int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+
+        // Looks past the first rows so a user at the limit does not hold the others back
+        List<TransferJobEntity> queued = repository.lockQueued(limit * 4);
+        if (queued.isEmpty()) {
+            return List.of();
+        }
+
+        // Counted under the lock of the users' rows: another instance claiming for the same users
+        // waits here until this transaction commits, and then counts the jobs started by it
+        Set<UUID> userIds = new HashSet<>();
+        for (TransferJobEntity job : queued) {
+            userIds.add(job.getUserId());
+        }
+        userRepository.lockByIdIn(userIds);
+        Map<UUID, Long> running = new HashMap<>();
+        for (UserJobCount count : repository.countRunningByUserIdIn(userIds)) {
+            running.put(count.getUserId(), count.getJobs());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<ClaimedJob> claimed = new ArrayList<>();
+        for (TransferJobEntity job : queued) {
+            long userRunning = running.getOrDefault(job.getUserId(), 0L);
+            if (userRunning >= maxRunningPerUser) {
+                continue;
+            }
+            running.put(job.getUserId(), userRunning + 1);
+
+            job.setStatus(Status.RUNNING);
+            job.setAttempts(job.getAttempts() + 1);
+            job.setHeartbeatAt(now);
+            if (job.getStartedAt() == null) {
+                job.setStartedAt(now);
+            }
+            claimed.add(new ClaimedJob(job.getId(), job.getAttempts()));
+            if (claimed.size() == limit) {
+                break;
+            }
+        }
+        return claimed;
+    }
+
+    @Override
+    public Status run(ClaimedJob claimed, BooleanSupplier stopping) {
+        UUID jobId = claimed.id();
+        int attempt = claimed.attempt();
+        TransferJobEntity job = repository.findById(jobId).orElse(null);
+        if (job == null || job.getStatus() != Status.RUNNING || job.getAttempts() != attempt) {
+            return null;
+        }
+
+        try {
+            String userEmail = userRepository.findById(job.getUserId())
+                    .map(UserEntity::getEmail)
+                    .orElseThrow(() -> new IllegalArgumentException("Usuário não encontrado"));
+            return job.getType() == TransferJobEntity.Type.IMPORT
+                    ? runImport(job, attempt, userEmail, stopping)
+                    : runExport(job, attempt, userEmail, stopping);
+        } catch (JobLeaseLostException ex) {
+            // The files belong to the new attempt now; only this run's partial export is removed
+            log.warn("::: Transfer job {} attempt {} stopped: {}", jobId, attempt, ex.getMessage());
+            if (job.getType() == TransferJobEntity.Type.EXPORT) {
+                deleteQuietly(partialPath(job, attempt).toString());
+            }
+            return null;
+        } catch (Exception ex) {
+            log.warn("::: Transfer job {} failed: {}", jobId, ex.getMessage());
+            TransferJobEntity current = repository.findById(jobId).orElse(job);
+            if (repository.finish(jobId, attempt, Status.FAILED, current.getProcessedRows(), current.getSucceededRows(),
+                    current.getFailedRows(), null, truncate(ex.getMessage()), LocalDateTime.now()) == 0) {
+                return null;
+            }
+            deleteQuietly(job.getType() == TransferJobEntity.Type.IMPORT
+                    ? job.getFilePath() : partialPath(job, attempt).toString());
+            return Status.FAILED;
+        }
+    }
+
+    private Status runImport(TransferJobEntity job, int attempt, String userEmail, BooleanSupplier stopping) throws IOException {
+        UUID id = job.getId();
+        long baseProcessed = job.getProcessedRows();
+        long baseSucceeded = job.getSucceededRows();
+        long baseFailed = job.getFailedRows();
+        boolean[] stopped = {false};
+
+        TaskImportResponse response;
+        try (InputStream in = open(Path.of(job.getFilePath()), job.getGzip())) {
+            response = taskImportService.importTasks(userEmail, job.getFormat(), in, new TaskImportProgress() {
+                @Override
+                public long skipRows() {
+                    return baseProcessed;
+                }
+
+                @Override
+                public void batchWritten(TaskImportResponse progress) {
+                    if (repository.updateProgress(id, attempt, baseProcessed + progress.getProcessed(),
+                            baseSucceeded + progress.getImported(), baseFailed + progress.getFailed(), LocalDateTime.now()) == 0) {
+                        throw new JobLeaseLostException("Job retomado por outra execução");
+                    }
+                }
+
+                @Override
+                public boolean isCancelled() {
+                    stopped[0] = stopping.getAsBoolean();
+                    return stopped[0] || Boolean.TRUE.equals(repository.isCancelRequested(id));
+                }
+            });
+        }
+
+        if (stopped[0]) {
+            repository.requeue(id, attempt);
+            return Status.QUEUED;
+        }
+
+        // Errors are those of the last run; counts include the runs before a restart
+        response.setProcessed(baseProcessed + response.getProcessed());
+        response.setImported(baseSucceeded + response.getImported());
+        response.setFailed(baseFailed + response.getFailed());
+        Status status = Boolean.TRUE.equals(repository.isCancelRequested(id)) ? Status.CANCELLED : Status.COMPLETED;
+        if (repository.finish(id, attempt, status, response.getProcessed(), response.getImported(), response.getFailed(),
+                writeResult(response), null, LocalDateTime.now()) == 0) {
+            throw new JobLeaseLostException("Job retomado por outra execução");
+        }
+        deleteQuietly(job.getFilePath());
+        return status;
+    }
+
+    private Status runExport(TransferJobEntity job, int attempt, String userEmail, BooleanSupplier stopping) throws IOException {
+        UUID id = job.getId();
+        Path output = Path.of(job.getFilePath());
+        // One partial file per attempt, so a stale run never writes over the file of the new one
+        Path partial = partialPath(job, attempt);
+        Files.createDirectories(output.getParent());
+
+        // Progress goes through its own transaction: the export itself runs read-only
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        long rows;
+        try (OutputStream file = new BufferedOutputStream(Files.newOutputStream(partial), 64 * 1024);
+             OutputStream out = job.getGzip() ? new GZIPOutputStream(file, 64 * 1024) : file) {
+            rows = taskExportService.export(userEmail, job.getFormat(), out, written -> {
+                Integer updated = transaction.execute(status -> repository.updateProgress(id, attempt, written, written, 0, LocalDateTime.now()));
+                if (updated == null || updated == 0) {
+                    throw new JobLeaseLostException("Job retomado por outra execução");
+                }
+                if (stopping.getAsBoolean() || Boolean.TRUE.equals(repository.isCancelRequested(id))) {
+                    throw new CancellationException();
+                }
+            });
+        } catch (CancellationException ex) {
+            Files.deleteIfExists(partial);
+            if (stopping.getAsBoolean()) {
+                repository.requeue(id, attempt);
+                return Status.QUEUED;
+            }
+            TransferJobEntity current = repository.findById(id).orElse(job);
+            repository.finish(id, attempt, Status.CANCELLED, current.getProcessedRows(), current.getSucceededRows(), 0,
+                    null, null, LocalDateTime.now());
+            return Status.CANCELLED;
+        }
+
+        // Moved before finishing: once COMPLETED the file is served. A stale run that gets here
+        // replaces the file with a complete export of its own, which is still a valid result
+        Files.move(partial, output, StandardCopyOption.REPLACE_EXISTING);
+        if (repository.finish(id, attempt, Status.COMPLETED, rows, rows, 0, null, null, LocalDateTime.now()) == 0) {
+            throw new JobLeaseLostException("Job retomado por outra execução");
+        }
+        return Status.COMPLETED;
+    }
+
+    private Path partialPath(TransferJobEntity job, int attempt) {
+        Path output = Path.of(job.getFilePath());
+        return output.resolveSibling(output.getFileName() + "." + attempt + ".part");
+    }
+
+    @Override
+    public int recoverStale() {
+        LocalDateTime before = LocalDateTime.now().minus(lease);
+        int failed = repository.failStale(before, maxAttempts, "Número máximo de tentativas excedido", LocalDateTime.now());
+        int requeued = repository.requeueStale(before, maxAttempts);
+        if (failed + requeued > 0) {
+            log.warn("::: Recovered {} stale transfer jobs ({} requeued, {} failed).", failed + requeued, requeued, failed);
+        }
+        return requeued;
+    }
+
+    @Override
+    public int purgeExpired() {
+        List<TransferJobEntity> expired = repository.findByStatusInAndFinishedAtBefore(FINISHED,
+                LocalDateTime.now().minus(retention), Limit.of(500));
+        for (TransferJobEntity job : expired) {
+            deleteQuietly(job.getFilePath());
+        }
+        repository.deleteAll(expired);
+        return expired.size();
+    }
+
+    private UserEntity activeLimitChecked(String userEmail) {
+        UserEntity user = userRepository.findByEmail(userEmail)
+                .orElseThrow(() -> new IllegalArgumentException("Usuário não encontrado"));
+        if (repository.countByUserIdAndStatusIn(user.getId(), ACTIVE) >= maxActivePerUser) {
+            throw new TooManyRequestsException("Limite de jobs em andamento atingido", lease.toSeconds());
+        }
+        return user;
+    }
+
+    private TransferJobEntity newJob(UUID id, UserEntity user, TransferJobEntity.Type type, TaskExportFormat format, boolean gzip, Path file) {
+        return TransferJobEntity.builder()
+                .id(id)
+                .userId(user.getId())
+                .type(type)
+                .format(format)
+                .gzip(gzip)
+                .status(Status.QUEUED)
+                .filePath(file.toAbsolutePath().toString())
+                .totalRows(type == TransferJobEntity.Type.EXPORT ? user.getTaskCount() : null)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    private TransferJobEntity findJob(String id, String userEmail) {
+        if (!GenId.isValid(id)) {
+            throw new ResourceNotFoundException("Job não encontrado");
+        }
+
+        UserEntity user = userRepository.findByEmail(userEmail)
+                .orElseThrow(() -> new IllegalArgumentException("Usuário não encontrado"));
+
+        return repository.findByIdAndUserId(UUID.fromString(id), user.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Job não encontrado ou você não tem permissão para acessá-lo"));
+    }
+
+    private TransferJobResponse toResponse(TransferJobEntity job) {
+        Integer percent = null;
+        if (job.getStatus() == Status.COMPLETED) {
+            percent = 100;
+        } else if (job.getTotalRows() != null && job.getTotalRows() > 0) {
+            percent = (int) Math.min(99, job.getProcessedRows() * 100 / job.getTotalRows());
+        }
+
+        return TransferJobResponse.builder()
+                .id(job.getId().toString())
+                .type(job.getType().name())
+                .format(job.getFormat().name())
+                .gzip(job.getGzip())
+                .status(job.getStatus().name())
+                .processedRows(job.getProcessedRows())
+                .succeededRows(job.getSucceededRows())
+                .failedRows(job.getFailedRows())
+                .totalRows(job.getTotalRows())
+                .percent(percent)
+                .result(readResult(job.getResult()))
+                .errorMessage(job.getErrorMessage())
+                .downloadUrl(job.getType() == TransferJobEntity.Type.EXPORT && job.getStatus() == Status.COMPLETED
+                        ? "/api/v1/tasks/jobs/" + job.getId() + "/download" : null)
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+    }
+
+    private InputStream open(Path file, boolean gzip) throws IOException {
+        InputStream in = new BufferedInputStream(Files.newInputStream(file), 64 * 1024);
+        return gzip ? new GZIPInputStream(in, 64 * 1024) : in;
+    }
+
+    private String writeResult(TaskImportResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Erro ao serializar resultado: " + ex.getMessage());
+        }
+    }
+
+    private TaskImportResponse readResult(String result) {
+        if (result == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(result, TaskImportResponse.class);
+        } catch (JsonProcessingException ex) {
+            return null;
+        }
+    }
+
+    private void deleteQuietly(String file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(Path.of(file));
+        } catch (IOException ex) {
+            log.warn("::: Could not delete transfer job file {}: {}", file, ex.getMessage());
+        }
+    }
+
+    private String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+
+    /**
+     * Copies the upload to {@code target}, failing as soon as it passes {@code jobs.transfer.max-upload-size}.
+     */
+    private void copyLimited(InputStream body, Path target) throws IOException {
+        long max = maxUploadSize.toBytes();
+        long copied = 0;
+        byte[] buffer = new byte[64 * 1024];
+        try (OutputStream out = Files.newOutputStream(target)) {
+            int read;
+            while ((read = body.read(buffer)) != -1) {
+                copied += read;
+                if (copied > max) {
+                    throw new PayloadTooLargeException("Arquivo maior que o limite de " + maxUploadSize.toMegabytes() + " MB");
+                }
+                out.write(buffer, 0, read);
+            }
+        }
+    }
+}
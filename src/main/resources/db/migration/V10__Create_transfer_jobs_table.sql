@@ -0,0 +1,36 @@
+-- Migration: Create transfer_jobs table
+-- Description: Jobs assíncronos de importação/exportação de tarefas. A própria tabela é a fila:
+-- os workers reservam jobs QUEUED com SKIP LOCKED e gravam o progresso a cada lote confirmado
+
+CREATE TABLE IF NOT EXISTS transfer_jobs (
+    id UUID PRIMARY KEY,
+    user_id UUID NOT NULL,
+    type VARCHAR(10) NOT NULL,
+    format VARCHAR(10) NOT NULL,
+    gzip BOOLEAN NOT NULL DEFAULT FALSE,
+    status VARCHAR(12) NOT NULL,
+    cancel_requested BOOLEAN NOT NULL DEFAULT FALSE,
+    file_path VARCHAR(500),
+    processed_rows BIGINT NOT NULL DEFAULT 0,
+    succeeded_rows BIGINT NOT NULL DEFAULT 0,
+    failed_rows BIGINT NOT NULL DEFAULT 0,
+    total_rows BIGINT,
+    result TEXT,
+    error_message VARCHAR(1000),
+    attempts INTEGER NOT NULL DEFAULT 0,
+    heartbeat_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    started_at TIMESTAMP,
+    finished_at TIMESTAMP,
+    CONSTRAINT fk_transfer_jobs_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+-- Limite de jobs ativos por usuário na submissão e no despacho
+CREATE INDEX IF NOT EXISTS idx_transfer_jobs_user_status ON transfer_jobs(user_id, status);
+
+-- Fila (QUEUED por ordem de chegada), jobs RUNNING sem heartbeat e limpeza dos finalizados
+CREATE INDEX IF NOT EXISTS idx_transfer_jobs_status_created ON transfer_jobs(status, created_at);
+
+COMMENT ON TABLE transfer_jobs IS 'Jobs assíncronos de importação e exportação de tarefas, com progresso retomável';
+COMMENT ON COLUMN transfer_jobs.processed_rows IS 'Linhas da entrada já confirmadas; uma importação retomada pula essas linhas';
+COMMENT ON COLUMN transfer_jobs.heartbeat_at IS 'Atualizado a cada lote; jobs RUNNING sem heartbeat recente voltam para a fila';
@@ -0,0 +1,38 @@
+-- Migration: Add task counters to users and task_lists
+-- Description: Contadores de tarefas mantidos incrementalmente pelo serviço, para que as estatísticas
+-- por usuário e por lista sejam lidas em uma única linha em vez de varrer a tabela tasks
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS task_count BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE users ADD COLUMN IF NOT EXISTS completed_task_count BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE task_lists ADD COLUMN IF NOT EXISTS task_count BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE task_lists ADD COLUMN IF NOT EXISTS completed_task_count BIGINT NOT NULL DEFAULT 0;
+
+-- Carga inicial a partir das tarefas ativas existentes
+UPDATE users u
+SET task_count = s.total,
+    completed_task_count = s.completed
+FROM (
+    SELECT user_id, COUNT(*) AS total, COUNT(*) FILTER (WHERE completed) AS completed
+    FROM tasks
+    WHERE active = true
+    GROUP BY user_id
+) s
+WHERE s.user_id = u.id;
+
+UPDATE task_lists tl
+SET task_count = s.total,
+    completed_task_count = s.completed
+FROM (
+    SELECT task_list_id, COUNT(*) AS total, COUNT(*) FILTER (WHERE completed) AS completed
+    FROM tasks
+    WHERE active = true AND task_list_id IS NOT NULL
+    GROUP BY task_list_id
+) s
+WHERE s.task_list_id = tl.id;
+
+-- Comentários nas colunas
+COMMENT ON COLUMN users.task_count IS 'Quantidade de tarefas ativas do usuário';
+COMMENT ON COLUMN users.completed_task_count IS 'Quantidade de tarefas ativas e concluídas do usuário';
+COMMENT ON COLUMN task_lists.task_count IS 'Quantidade de tarefas ativas da lista';
+COMMENT ON COLUMN task_lists.completed_task_count IS 'Quantidade de tarefas ativas e concluídas da lista';
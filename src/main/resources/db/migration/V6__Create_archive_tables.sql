@@ -0,0 +1,41 @@
+-- Migration: Create archive tables for soft deleted rows
+-- Description: Tabelas de arquivo para onde o job de expurgo move tarefas e listas inativas há mais
+-- tempo que a retenção, mantendo as tabelas principais (e seus índices) apenas com dados úteis
+
+CREATE TABLE IF NOT EXISTS tasks_archive (
+    id UUID PRIMARY KEY,
+    title VARCHAR(200) NOT NULL,
+    description VARCHAR(1000),
+    completed BOOLEAN NOT NULL,
+    active BOOLEAN NOT NULL,
+    user_id UUID NOT NULL,
+    task_list_id UUID,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    archived_at TIMESTAMP NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS task_lists_archive (
+    id UUID PRIMARY KEY,
+    name VARCHAR(200) NOT NULL,
+    active BOOLEAN NOT NULL,
+    user_id UUID NOT NULL,
+    task_count BIGINT NOT NULL,
+    completed_task_count BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    archived_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_tasks_archive_user_id ON tasks_archive(user_id);
+CREATE INDEX IF NOT EXISTS idx_task_lists_archive_user_id ON task_lists_archive(user_id);
+
+-- Índices parciais para o job localizar as linhas inativas sem varrer as ativas
+CREATE INDEX IF NOT EXISTS idx_tasks_inactive_updated_at ON tasks(updated_at) WHERE active = false;
+CREATE INDEX IF NOT EXISTS idx_task_lists_inactive_updated_at ON task_lists(updated_at) WHERE active = false;
+
+-- Comentários nas tabelas
+COMMENT ON TABLE tasks_archive IS 'Tarefas removidas (soft delete) arquivadas pelo job de expurgo';
+COMMENT ON TABLE task_lists_archive IS 'Listas removidas (soft delete) arquivadas pelo job de expurgo';
+COMMENT ON COLUMN tasks_archive.archived_at IS 'Data em que a tarefa foi movida para o arquivo';
+COMMENT ON COLUMN task_lists_archive.archived_at IS 'Data em que a lista foi movida para o arquivo';
@@ -0,0 +1,244 @@
+-- Migration: Prepare hash partitioning of tasks by user_id
+-- Description: Cria a tabela tasks_partitioned (particionada por HASH(user_id) em 16 partições) e as
+-- rotinas da migração online. A conversão NÃO é feita aqui, para não bloquear a tabela tasks durante
+-- o deploy; ela é executada pelo operador em quatro passos (ver README, "Particionamento de tasks"):
+--   1. CALL tasks_partitioning_start();            -- instala o trigger que espelha as escritas
+--   2. CALL tasks_partitioning_backfill(10000);    -- copia as linhas existentes em lotes, com COMMIT por lote
+--   3. CALL tasks_partitioning_reconcile(10000);   -- corrige linhas divergentes ou sobrando, sem lock
+--   4. CALL tasks_partitioning_swap();             -- reaplica só o delta desde a reconciliação e troca sob lock
+
+CREATE TABLE IF NOT EXISTS tasks_partitioned (
+    id UUID NOT NULL DEFAULT gen_random_uuid(),
+    title VARCHAR(200) NOT NULL,
+    description VARCHAR(1000),
+    completed BOOLEAN NOT NULL DEFAULT FALSE,
+    user_id UUID NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    task_list_id UUID,
+    active BOOLEAN NOT NULL DEFAULT true,
+    -- A chave de partição precisa fazer parte da PK; id vem primeiro para que buscas só por id
+    -- (ex.: UPDATE ... WHERE id = ? do Hibernate) usem o índice de cada partição
+    CONSTRAINT pk_tasks_partitioned PRIMARY KEY (id, user_id),
+    CONSTRAINT fk_tasks_partitioned_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    CONSTRAINT fk_tasks_partitioned_task_list FOREIGN KEY (task_list_id) REFERENCES task_lists(id) ON DELETE SET NULL
+) PARTITION BY HASH (user_id);
+
+DO $$
+BEGIN
+    FOR i IN 0..15 LOOP
+        EXECUTE format(
+            'CREATE TABLE IF NOT EXISTS tasks_p%s PARTITION OF tasks_partitioned FOR VALUES WITH (MODULUS 16, REMAINDER %s)',
+            i, i);
+    END LOOP;
+END $$;
+
+-- Índices particionados (criados em cada partição automaticamente)
+CREATE INDEX IF NOT EXISTS idx_tasks_partitioned_user_created ON tasks_partitioned(user_id, created_at);
+CREATE INDEX IF NOT EXISTS idx_tasks_partitioned_task_list_id ON tasks_partitioned(task_list_id);
+CREATE INDEX IF NOT EXISTS idx_tasks_partitioned_inactive_updated_at ON tasks_partitioned(updated_at) WHERE active = false;
+
+-- Ids de tasks escritos desde o início da última reconciliação; a troca reaplica só essas linhas
+CREATE TABLE IF NOT EXISTS tasks_partitioning_delta (
+    id UUID PRIMARY KEY
+);
+
+-- Linha única: reconciled_at fica NULL até uma reconciliação completa terminar
+CREATE TABLE IF NOT EXISTS tasks_partitioning_state (
+    id BOOLEAN PRIMARY KEY DEFAULT true CHECK (id),
+    reconciled_at TIMESTAMP
+);
+
+INSERT INTO tasks_partitioning_state (id, reconciled_at) VALUES (true, NULL) ON CONFLICT (id) DO NOTHING;
+
+-- Espelha INSERT/UPDATE/DELETE de tasks em tasks_partitioned enquanto o backfill roda e registra o id
+-- em tasks_partitioning_delta
+CREATE OR REPLACE FUNCTION tasks_partitioning_sync() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        DELETE FROM tasks_partitioned WHERE id = OLD.id AND user_id = OLD.user_id;
+        INSERT INTO tasks_partitioning_delta (id) VALUES (OLD.id) ON CONFLICT (id) DO NOTHING;
+        RETURN OLD;
+    END IF;
+
+    IF TG_OP = 'UPDATE' AND OLD.user_id <> NEW.user_id THEN
+        DELETE FROM tasks_partitioned WHERE id = OLD.id AND user_id = OLD.user_id;
+    END IF;
+
+    INSERT INTO tasks_partitioned (id, title, description, completed, user_id, created_at, updated_at, task_list_id, active)
+    VALUES (NEW.id, NEW.title, NEW.description, NEW.completed, NEW.user_id, NEW.created_at, NEW.updated_at, NEW.task_list_id, NEW.active)
+    ON CONFLICT (id, user_id) DO UPDATE SET
+        title = EXCLUDED.title,
+        description = EXCLUDED.description,
+        completed = EXCLUDED.completed,
+        updated_at = EXCLUDED.updated_at,
+        task_list_id = EXCLUDED.task_list_id,
+        active = EXCLUDED.active;
+    INSERT INTO tasks_partitioning_delta (id) VALUES (NEW.id) ON CONFLICT (id) DO NOTHING;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE PROCEDURE tasks_partitioning_start() AS $$
+BEGIN
+    DROP TRIGGER IF EXISTS trg_tasks_partitioning_sync ON tasks;
+    CREATE TRIGGER trg_tasks_partitioning_sync
+        AFTER INSERT OR UPDATE OR DELETE ON tasks
+        FOR EACH ROW EXECUTE FUNCTION tasks_partitioning_sync();
+END;
+$$ LANGUAGE plpgsql;
+
+-- Copia as linhas existentes por faixa de id (keyset), com COMMIT a cada lote para não segurar
+-- locks nem inflar a transação. Pode ser interrompido e executado novamente: ON CONFLICT ignora
+-- linhas já copiadas pelo trigger ou por uma execução anterior.
+-- Deve ser chamado fora de um bloco de transação (CALL direto no psql).
+CREATE OR REPLACE PROCEDURE tasks_partitioning_backfill(p_batch_size INTEGER DEFAULT 10000, p_pause_seconds NUMERIC DEFAULT 0.05) AS $$
+DECLARE
+    v_last_id UUID := '00000000-0000-0000-0000-000000000000';
+    v_next_id UUID;
+    v_copied BIGINT := 0;
+BEGIN
+    LOOP
+        SELECT max(id) INTO v_next_id
+        FROM (SELECT id FROM tasks WHERE id > v_last_id ORDER BY id LIMIT p_batch_size) batch;
+
+        EXIT WHEN v_next_id IS NULL;
+
+        INSERT INTO tasks_partitioned (id, title, description, completed, user_id, created_at, updated_at, task_list_id, active)
+        SELECT id, title, description, completed, user_id, created_at, updated_at, task_list_id, active
+        FROM tasks
+        WHERE id > v_last_id AND id <= v_next_id
+        ON CONFLICT (id, user_id) DO NOTHING;
+
+        v_copied := v_copied + p_batch_size;
+        v_last_id := v_next_id;
+        COMMIT;
+
+        RAISE NOTICE 'tasks_partitioning_backfill: ~% linhas processadas (último id %)', v_copied, v_last_id;
+        PERFORM pg_sleep(p_pause_seconds);
+    END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Corrige o que o backfill não corrige (ele usa ON CONFLICT DO NOTHING): atualiza linhas de
+-- tasks_partitioned que divergem de tasks e remove as que não existem mais em tasks, em lotes por
+-- faixa de id com COMMIT a cada lote, sem lock de tabela. O delta é zerado no início, então ao final
+-- ele contém exatamente os ids escritos durante ou depois da reconciliação.
+-- Deve ser chamado fora de um bloco de transação (CALL direto no psql), com o trigger instalado.
+CREATE OR REPLACE PROCEDURE tasks_partitioning_reconcile(p_batch_size INTEGER DEFAULT 10000, p_pause_seconds NUMERIC DEFAULT 0.05) AS $$
+DECLARE
+    v_last_id UUID;
+    v_next_id UUID;
+    v_rows BIGINT;
+    v_upserted BIGINT := 0;
+    v_deleted BIGINT := 0;
+BEGIN
+    UPDATE tasks_partitioning_state SET reconciled_at = NULL;
+    -- DELETE em vez de TRUNCATE: TRUNCATE pede ACCESS EXCLUSIVE e bloquearia o trigger
+    DELETE FROM tasks_partitioning_delta;
+    COMMIT;
+
+    v_last_id := '00000000-0000-0000-0000-000000000000';
+    LOOP
+        SELECT max(id) INTO v_next_id
+        FROM (SELECT id FROM tasks WHERE id > v_last_id ORDER BY id LIMIT p_batch_size) batch;
+
+        EXIT WHEN v_next_id IS NULL;
+
+        INSERT INTO tasks_partitioned AS p (id, title, description, completed, user_id, created_at, updated_at, task_list_id, active)
+        SELECT id, title, description, completed, user_id, created_at, updated_at, task_list_id, active
+        FROM tasks
+        WHERE id > v_last_id AND id <= v_next_id
+        ON CONFLICT (id, user_id) DO UPDATE SET
+            title = EXCLUDED.title,
+            description = EXCLUDED.description,
+            completed = EXCLUDED.completed,
+            created_at = EXCLUDED.created_at,
+            updated_at = EXCLUDED.updated_at,
+            task_list_id = EXCLUDED.task_list_id,
+            active = EXCLUDED.active
+        WHERE (p.title, p.description, p.completed, p.created_at, p.updated_at, p.task_list_id, p.active)
+            IS DISTINCT FROM
+            (EXCLUDED.title, EXCLUDED.description, EXCLUDED.completed, EXCLUDED.created_at, EXCLUDED.updated_at, EXCLUDED.task_list_id, EXCLUDED.active);
+        GET DIAGNOSTICS v_rows = ROW_COUNT;
+
+        v_upserted := v_upserted + v_rows;
+        v_last_id := v_next_id;
+        COMMIT;
+        PERFORM pg_sleep(p_pause_seconds);
+    END LOOP;
+
+    v_last_id := '00000000-0000-0000-0000-000000000000';
+    LOOP
+        SELECT max(id) INTO v_next_id
+        FROM (SELECT id FROM tasks_partitioned WHERE id > v_last_id ORDER BY id LIMIT p_batch_size) batch;
+
+        EXIT WHEN v_next_id IS NULL;
+
+        DELETE FROM tasks_partitioned p
+        WHERE p.id > v_last_id AND p.id <= v_next_id
+          AND NOT EXISTS (SELECT 1 FROM tasks t WHERE t.id = p.id AND t.user_id = p.user_id);
+        GET DIAGNOSTICS v_rows = ROW_COUNT;
+
+        v_deleted := v_deleted + v_rows;
+        v_last_id := v_next_id;
+        COMMIT;
+        PERFORM pg_sleep(p_pause_seconds);
+    END LOOP;
+
+    UPDATE tasks_partitioning_state SET reconciled_at = now();
+    COMMIT;
+
+    RAISE NOTICE 'tasks_partitioning_reconcile: % linhas inseridas ou corrigidas, % linhas removidas', v_upserted, v_deleted;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Troca as tabelas: lock em tasks, reaplica as linhas do delta, confere, remove o trigger e renomeia.
+-- A tabela antiga fica como tasks_unpartitioned para conferência e pode ser removida depois.
+-- Exige o trigger instalado e uma reconciliação concluída: sob o lock só são relidas as linhas
+-- escritas desde a reconciliação (via delta), e a conferência final compara apenas contagem e
+-- max(updated_at), que não dependem de comparar todas as colunas das duas tabelas.
+CREATE OR REPLACE PROCEDURE tasks_partitioning_swap() AS $$
+DECLARE
+    v_source_count BIGINT;
+    v_target_count BIGINT;
+    v_source_updated_at TIMESTAMP;
+    v_target_updated_at TIMESTAMP;
+BEGIN
+    LOCK TABLE tasks IN ACCESS EXCLUSIVE MODE;
+
+    IF NOT EXISTS (
+        SELECT 1 FROM pg_trigger
+        WHERE tgrelid = 'tasks'::regclass AND tgname = 'trg_tasks_partitioning_sync' AND NOT tgisinternal
+    ) THEN
+        RAISE EXCEPTION 'tasks_partitioning_swap: trigger trg_tasks_partitioning_sync não encontrado; execute tasks_partitioning_start(), o backfill e a reconciliação novamente';
+    END IF;
+
+    IF NOT EXISTS (SELECT 1 FROM tasks_partitioning_state WHERE reconciled_at IS NOT NULL) THEN
+        RAISE EXCEPTION 'tasks_partitioning_swap: nenhuma reconciliação concluída; execute tasks_partitioning_reconcile()';
+    END IF;
+
+    DELETE FROM tasks_partitioned p USING tasks_partitioning_delta d WHERE p.id = d.id;
+
+    INSERT INTO tasks_partitioned (id, title, description, completed, user_id, created_at, updated_at, task_list_id, active)
+    SELECT t.id, t.title, t.description, t.completed, t.user_id, t.created_at, t.updated_at, t.task_list_id, t.active
+    FROM tasks t
+    JOIN tasks_partitioning_delta d ON d.id = t.id;
+
+    SELECT count(*), max(updated_at) INTO v_source_count, v_source_updated_at FROM tasks;
+    SELECT count(*), max(updated_at) INTO v_target_count, v_target_updated_at FROM tasks_partitioned;
+
+    IF v_source_count <> v_target_count OR v_source_updated_at IS DISTINCT FROM v_target_updated_at THEN
+        RAISE EXCEPTION 'tasks_partitioning_swap: tasks tem % linhas (max updated_at %) e tasks_partitioned tem % (max updated_at %); execute tasks_partitioning_reconcile() novamente',
+            v_source_count, v_source_updated_at, v_target_count, v_target_updated_at;
+    END IF;
+
+    DROP TRIGGER trg_tasks_partitioning_sync ON tasks;
+    ALTER TABLE tasks RENAME TO tasks_unpartitioned;
+    ALTER TABLE tasks_partitioned RENAME TO tasks;
+    DROP TABLE tasks_partitioning_delta;
+    DROP TABLE tasks_partitioning_state;
+END;
+$$ LANGUAGE plpgsql;
+
+COMMENT ON TABLE tasks_partitioned IS 'Tabela de tarefas particionada por HASH(user_id); substitui tasks após tasks_partitioning_swap()';
@@ -0,0 +1,14 @@
+-- Migration: Add (user_id, updated_at) indexes for delta sync
+-- Description: GET /api/v1/sync busca as tarefas e listas do usuário alteradas após um instante,
+-- incluindo as inativas (tombstones), ordenadas por updated_at
+
+CREATE INDEX IF NOT EXISTS idx_tasks_user_updated_at ON tasks(user_id, updated_at);
+CREATE INDEX IF NOT EXISTS idx_task_lists_user_updated_at ON task_lists(user_id, updated_at);
+
+-- A tabela particionada só existe enquanto tasks_partitioning_swap() não foi executado
+DO $$
+BEGIN
+    IF to_regclass('tasks_partitioned') IS NOT NULL THEN
+        CREATE INDEX IF NOT EXISTS idx_tasks_partitioned_user_updated_at ON tasks_partitioned(user_id, updated_at);
+    END IF;
+END $$;
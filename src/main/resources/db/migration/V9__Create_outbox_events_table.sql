@@ -0,0 +1,15 @@
+-- Migration: Create outbox_events table
+-- Description: Eventos de tarefas e listas gravados na mesma transação da alteração e
+-- removidos pelo relay depois de entregues ao destino configurado (outbox.sink)
+
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id BIGSERIAL PRIMARY KEY,
+    aggregate_type VARCHAR(30) NOT NULL,
+    aggregate_id UUID NOT NULL,
+    event_type VARCHAR(30) NOT NULL,
+    user_email VARCHAR(255) NOT NULL,
+    payload TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+COMMENT ON TABLE outbox_events IS 'Outbox transacional de eventos de domínio, drenado em lotes pelo relay';
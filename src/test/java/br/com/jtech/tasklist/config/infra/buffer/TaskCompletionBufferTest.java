@@ -0,0 +1,55 @@
+package br.com.jtech.tasklist.config.infra.buffer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+* class TaskCompletionBufferTest 
+* 
+* @author jtech
+*/
+class TaskCompletionBufferTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final TaskCompletionBuffer buffer = new TaskCompletionBuffer(registry);
+
+    @Test
+    void shouldKeepOnlyTheLastToggleOfEachTask() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        buffer.submit("a@example.com", first, true);
+        buffer.submit("a@example.com", first, false);
+        buffer.submit("a@example.com", second, true);
+        buffer.submit("b@example.com", first, true);
+
+        Map<String, Map<UUID, Boolean>> drained = buffer.drain();
+
+        assertThat(drained.get("a@example.com")).containsExactlyInAnyOrderEntriesOf(Map.of(first, false, second, true));
+        assertThat(drained.get("b@example.com")).containsExactlyEntriesOf(Map.of(first, true));
+        assertThat(registry.counter("tasks.completion.coalesced").count()).isEqualTo(1.0);
+        assertThat(buffer.size()).isZero();
+        assertThat(buffer.drain()).isEmpty();
+    }
+
+    @Test
+    void shouldNotOverwriteNewerTogglesWhenRequeueing() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        buffer.submit("a@example.com", first, true);
+        buffer.submit("a@example.com", second, true);
+        Map<UUID, Boolean> failed = buffer.drain().get("a@example.com");
+        buffer.submit("a@example.com", first, false);
+
+        buffer.requeue("a@example.com", failed);
+
+        assertThat(buffer.drain().get("a@example.com"))
+                .containsExactlyInAnyOrderEntriesOf(Map.of(first, false, second, true));
+    }
+}
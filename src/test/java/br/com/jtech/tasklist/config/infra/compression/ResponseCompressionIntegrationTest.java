@@ -0,0 +1,213 @@
+package br.com.jtech.tasklist.config.infra.compression;
+
+import br.com.jtech.tasklist.config.infra.security.JwtTokenProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+* class ResponseCompressionIntegrationTest
+*
+* Not transactional on purpose: the export runs on the async thread in its own read-only transaction.
+* The small buffer makes an export of a few hundred rows take the streaming path.
+*
+* @author jtech
+*/
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = "http.compression.buffer-size=16KB")
+class ResponseCompressionIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private ResponseCompressionFilter filter;
+
+    private final UUID userId = UUID.randomUUID();
+    private final String email = "compression@example.com";
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update("INSERT INTO users (id, name, email, password, task_count, completed_task_count, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, 0, 0, ?, ?)", userId, "Compression User", email, "x", now, now);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM tasks WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+    }
+
+    @Test
+    void shouldCompressTagAndReuseUnchangedResponses() throws Exception {
+        insertTasks(30);
+
+        MockHttpServletResponse plain = mockMvc.perform(get("/api/v1/tasks/all")
+                .header("Authorization", bearer()))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+        String etag = plain.getHeader("ETag");
+        assertThat(plain.getHeader("Content-Encoding")).isNull();
+        assertThat(plain.getHeaders("Vary")).contains("Accept-Encoding");
+        assertThat(etag).startsWith("W/\"");
+
+        MockHttpServletResponse first = getAllGzipped();
+        assertThat(first.getHeader("Content-Encoding")).isEqualTo("gzip");
+        assertThat(first.getHeader("ETag")).isEqualTo(etag);
+        assertThat(first.getContentLength()).isEqualTo(first.getContentAsByteArray().length);
+        assertThat(first.getContentAsByteArray().length).isLessThan(plain.getContentAsByteArray().length / 2);
+        assertThat(gunzip(first.getContentAsByteArray())).isEqualTo(plain.getContentAsString(StandardCharsets.UTF_8));
+
+        double reused = registry.get("http.server.compression.responses").tag("result", "reused").counter().count();
+        MockHttpServletResponse second = getAllGzipped();
+        assertThat(second.getContentAsByteArray()).isEqualTo(first.getContentAsByteArray());
+        assertThat(registry.get("http.server.compression.responses").tag("result", "reused").counter().count())
+                .isEqualTo(reused + 1);
+
+        MockHttpServletResponse notModified = mockMvc.perform(get("/api/v1/tasks/all")
+                .header("Authorization", bearer())
+                .header("Accept-Encoding", "gzip")
+                .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andReturn()
+                .getResponse();
+        assertThat(notModified.getContentAsByteArray()).isEmpty();
+        assertThat(notModified.getHeader("ETag")).isEqualTo(etag);
+    }
+
+    @Test
+    void shouldNotCompressSmallResponsesOrRefusedEncodings() throws Exception {
+        insertTasks(1);
+
+        MockHttpServletResponse small = mockMvc.perform(get("/api/v1/tasks/all")
+                .header("Authorization", bearer())
+                .header("Accept-Encoding", "gzip"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+        assertThat(small.getHeader("Content-Encoding")).isNull();
+        assertThat(small.getContentAsString(StandardCharsets.UTF_8)).startsWith("[{");
+
+        insertTasks(30);
+        MockHttpServletResponse refused = mockMvc.perform(get("/api/v1/tasks/all")
+                .header("Authorization", bearer())
+                .header("Accept-Encoding", "gzip;q=0, *"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+        assertThat(refused.getHeader("Content-Encoding")).isNull();
+    }
+
+    @Test
+    void shouldCompressStreamedExportPastTheBuffer() throws Exception {
+        insertTasks(300);
+        double streamed = registry.get("http.server.compression.responses").tag("result", "streamed").counter().count();
+
+        MvcResult result = mockMvc.perform(get("/api/v1/tasks/export")
+                .param("format", "csv")
+                .header("Authorization", bearer())
+                .header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MockHttpServletResponse response = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+
+        assertThat(response.getHeader("Content-Encoding")).isEqualTo("gzip");
+        assertThat(response.getHeader("ETag")).isNull();
+        String[] lines = gunzip(response.getContentAsByteArray()).split("\r\n");
+        assertThat(lines).hasSize(301);
+        assertThat(lines[0]).isEqualTo("id,title,description,completed,taskListId,createdAt,updatedAt");
+        assertThat(registry.get("http.server.compression.responses").tag("result", "streamed").counter().count())
+                .isEqualTo(streamed + 1);
+    }
+
+    @Test
+    void shouldSendFlushedBytesOfAsyncResponsesRightAway() throws Exception {
+        byte[] chunk = "id,title\r\n".getBytes(StandardCharsets.UTF_8);
+
+        MockHttpServletResponse sync = new MockHttpServletResponse();
+        CompressingResponseWrapper syncWrapper = new CompressingResponseWrapper(new MockHttpServletRequest("GET", "/api/v1/tasks"), sync, filter);
+        syncWrapper.setContentType("text/csv");
+        syncWrapper.getOutputStream().write(chunk);
+        syncWrapper.getOutputStream().flush();
+        assertThat(sync.getContentAsByteArray()).isEmpty();
+
+        MockHttpServletRequest asyncRequest = new MockHttpServletRequest("GET", "/api/v1/tasks/export");
+        asyncRequest.setAsyncSupported(true);
+        asyncRequest.startAsync();
+        MockHttpServletResponse async = new MockHttpServletResponse();
+        CompressingResponseWrapper asyncWrapper = new CompressingResponseWrapper(asyncRequest, async, filter);
+        asyncWrapper.setContentType("text/csv");
+        asyncWrapper.getOutputStream().write(chunk);
+        asyncWrapper.getOutputStream().flush();
+        assertThat(async.getContentAsByteArray()).isEqualTo(chunk);
+    }
+
+    private MockHttpServletResponse getAllGzipped() throws Exception {
+        return mockMvc.perform(get("/api/v1/tasks/all")
+                .header("Authorization", bearer())
+                .header("Accept-Encoding", "gzip"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+    }
+
+    private void insertTasks(int count) {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < count; i++) {
+            LocalDateTime createdAt = now.minusSeconds(i);
+            jdbcTemplate.update("INSERT INTO tasks (id, title, description, completed, active, user_id, created_at, updated_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)", UUID.randomUUID(), "Task " + i, "Description of task " + i,
+                    i % 2 == 0, true, userId, createdAt, createdAt);
+        }
+    }
+
+    private String bearer() {
+        return "Bearer " + jwtTokenProvider.generateToken(email);
+    }
+
+    private static String gunzip(byte[] compressed) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
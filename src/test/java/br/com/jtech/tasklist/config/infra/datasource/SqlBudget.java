@@ -0,0 +1,38 @@
+package br.com.jtech.tasklist.config.infra.datasource;
+
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+* MockMvc matchers for the SQL statements of a request, as counted by {@link RequestSqlStatsFilter}:
+* {@code .andExpect(SqlBudget.statements(3))} pins the count of an endpoint,
+* {@code .andExpect(SqlBudget.atMost(5))} caps it. Statements of an async continuation (exports)
+* run on another thread and are not included.
+*
+* @author jtech
+*/
+public final class SqlBudget {
+
+    private SqlBudget() {
+    }
+
+    public static ResultMatcher statements(int expected) {
+        return result -> assertThat(stats(result).getStatements())
+                .as("SQL statements of %s %s", result.getRequest().getMethod(), result.getRequest().getRequestURI())
+                .isEqualTo(expected);
+    }
+
+    public static ResultMatcher atMost(int max) {
+        return result -> assertThat(stats(result).getStatements())
+                .as("SQL statements of %s %s", result.getRequest().getMethod(), result.getRequest().getRequestURI())
+                .isLessThanOrEqualTo(max);
+    }
+
+    public static RequestSqlStats stats(MvcResult result) {
+        RequestSqlStats stats = (RequestSqlStats) result.getRequest().getAttribute(RequestSqlStats.ATTRIBUTE);
+        assertThat(stats).as("RequestSqlStatsFilter did not run for this request").isNotNull();
+        return stats;
+    }
+}
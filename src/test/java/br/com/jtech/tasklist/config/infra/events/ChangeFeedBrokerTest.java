@@ -0,0 +1,140 @@
+package br.com.jtech.tasklist.config.infra.events;
+
+import br.com.jtech.tasklist.config.infra.exceptions.TooManyRequestsException;
+import br.com.jtech.tasklist.controller.ChangeFeedController;
+import br.com.jtech.tasklist.dto.ChangeEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitterReturnValueHandler;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+* class ChangeFeedBrokerTest 
+* 
+* @author jtech
+*/
+class ChangeFeedBrokerTest {
+
+    private final ChangeFeedBroker broker = new ChangeFeedBroker(new SimpleMeterRegistry(), 2, 8, 4, Duration.ofMinutes(1));
+
+    @AfterEach
+    void tearDown() {
+        broker.shutdown();
+    }
+
+    @Test
+    void shouldReplayOnlyTheUserEventsAfterTheLastEventId() {
+        broker.publish(event("a@example.com", "1"));
+        broker.publish(event("b@example.com", "2"));
+        broker.publish(event("a@example.com", "3"));
+
+        List<ChangeEvent> missed = broker.eventsSince("a@example.com", 1);
+
+        assertThat(missed).extracting(ChangeEvent::getEntityId).containsExactly("3");
+        assertThat(missed).extracting(ChangeEvent::getId).containsExactly(3L);
+    }
+
+    @Test
+    void shouldAskForResetWhenTheLastEventIdLeftTheRing() {
+        for (int i = 1; i <= 6; i++) {
+            broker.publish(event("a@example.com", String.valueOf(i)));
+        }
+
+        assertThat(broker.eventsSince("a@example.com", 1)).isNull();
+        assertThat(broker.eventsSince("a@example.com", 2)).extracting(ChangeEvent::getEntityId)
+                .containsExactly("3", "4", "5", "6");
+        assertThat(broker.eventsSince("a@example.com", 99)).isNull();
+    }
+
+    @Test
+    void shouldOnlyAcceptEventIdsOfTheCurrentEpoch() {
+        ChangeFeedBroker restarted = new ChangeFeedBroker(new SimpleMeterRegistry(), 2, 8, 4, Duration.ofMinutes(1));
+        try {
+            assertThat(broker.sequenceOf(broker.eventId(3))).isEqualTo(3L);
+            assertThat(broker.sequenceOf(restarted.eventId(3))).isNull();
+            assertThat(broker.sequenceOf("3")).isNull();
+            assertThat(broker.sequenceOf(broker.eventId(3) + "x")).isNull();
+        } finally {
+            restarted.shutdown();
+        }
+    }
+
+    @Test
+    void shouldRejectSubscribersAboveTheNodeLimit() {
+        broker.subscribe("a@example.com", null);
+        broker.subscribe("b@example.com", null);
+
+        assertThatThrownBy(() -> broker.subscribe("c@example.com", null))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThat(broker.subscriberCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldSendTheSameBytesToEverySubscriberOfTheUser() throws Exception {
+        MockHttpServletResponse first = open(broker.subscribe("a@example.com", null));
+        MockHttpServletResponse second = open(broker.subscribe("a@example.com", null));
+
+        broker.publish(event("a@example.com", "1"));
+
+        String expected = "id:" + broker.eventId(1) + "\nevent:task.created\n"
+                + "data:{\"id\":1,\"entity\":\"TASK\",\"action\":\"CREATED\",\"entityId\":\"1\"}\n\n";
+        assertThat(awaitBody(first, expected)).isEqualTo(expected);
+        assertThat(awaitBody(second, expected)).isEqualTo(expected);
+    }
+
+    /**
+     * Connects the emitter to a mock response the way Spring MVC does for a controller returning it.
+     */
+    private MockHttpServletResponse open(SseEmitter emitter) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ServletWebRequest webRequest = new ServletWebRequest(request, response);
+        WebAsyncUtils.getAsyncManager(webRequest).setAsyncWebRequest(new StandardServletAsyncWebRequest(request, response));
+
+        MethodParameter returnType = new MethodParameter(
+                ChangeFeedController.class.getMethod("subscribe", String.class, Authentication.class), -1);
+        new ResponseBodyEmitterReturnValueHandler(List.of(new StringHttpMessageConverter(), new MappingJackson2HttpMessageConverter()))
+                .handleReturnValue(emitter, returnType, new ModelAndViewContainer(), webRequest);
+        return response;
+    }
+
+    private String awaitBody(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        String body = response.getContentAsString(StandardCharsets.UTF_8);
+        while (body.length() < expected.length() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            body = response.getContentAsString(StandardCharsets.UTF_8);
+        }
+        // Anything sent after the expected bytes (e.g. stray blank data lines) would show up here
+        Thread.sleep(50);
+        return response.getContentAsString(StandardCharsets.UTF_8);
+    }
+
+    private ChangeEvent event(String userEmail, String entityId) {
+        return ChangeEvent.builder()
+                .entity(ChangeEvent.Entity.TASK)
+                .action(ChangeEvent.Action.CREATED)
+                .entityId(entityId)
+                .userEmail(userEmail)
+                .build();
+    }
+}
@@ -0,0 +1,129 @@
+package br.com.jtech.tasklist.config.infra.jobs;
+
+import br.com.jtech.tasklist.service.PurgeService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+* class SoftDeletePurgeJobIntegrationTest 
+* 
+* Not transactional on purpose: the job commits each batch in its own transaction.
+*
+* @author jtech
+*/
+@SpringBootTest
+@ActiveProfiles("test")
+class SoftDeletePurgeJobIntegrationTest {
+
+    @Autowired
+    private SoftDeletePurgeJob job;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PurgeService purgeService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update("INSERT INTO users (id, name, email, password, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?)",
+                userId, "Purge User", "purge@example.com", "x", now, now);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM tasks_archive WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM task_lists_archive WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM tasks WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM task_lists WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+    }
+
+    @Test
+    void shouldArchiveRowsSoftDeletedBeforeRetention() {
+        UUID oldList = insertTaskList(false, LocalDateTime.now().minusDays(60));
+        UUID oldTask = insertTask(oldList, false, LocalDateTime.now().minusDays(60));
+        UUID recentTask = insertTask(null, false, LocalDateTime.now().minusDays(1));
+        UUID activeTask = insertTask(null, true, LocalDateTime.now().minusDays(90));
+
+        job.run();
+
+        assertThat(exists("tasks", oldTask)).isFalse();
+        assertThat(exists("tasks_archive", oldTask)).isTrue();
+        assertThat(exists("task_lists", oldList)).isFalse();
+        assertThat(exists("task_lists_archive", oldList)).isTrue();
+        assertThat(exists("tasks", recentTask)).isTrue();
+        assertThat(exists("tasks", activeTask)).isTrue();
+    }
+
+    @Test
+    void shouldSkipRowsLockedByAnotherPurgeRun() throws Exception {
+        UUID lockedTask = insertTask(null, false, LocalDateTime.now().minusDays(60));
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Thread otherRun = new Thread(() -> transaction.executeWithoutResult(status -> {
+            jdbcTemplate.queryForList("SELECT id FROM tasks WHERE id = ? FOR UPDATE", lockedTask);
+            locked.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        otherRun.start();
+        try {
+            assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+
+            purgeService.purgeTasks(LocalDateTime.now().minusDays(30), 10, true);
+            assertThat(exists("tasks_archive", lockedTask)).isFalse();
+            assertThat(exists("tasks", lockedTask)).isTrue();
+        } finally {
+            release.countDown();
+            otherRun.join();
+        }
+
+        purgeService.purgeTasks(LocalDateTime.now().minusDays(30), 10, true);
+        assertThat(exists("tasks_archive", lockedTask)).isTrue();
+        assertThat(exists("tasks", lockedTask)).isFalse();
+    }
+
+    private UUID insertTaskList(boolean active, LocalDateTime updatedAt) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO task_lists (id, name, active, user_id, task_count, completed_task_count, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, 0, 0, ?, ?)", id, "List", active, userId, updatedAt, updatedAt);
+        return id;
+    }
+
+    private UUID insertTask(UUID taskListId, boolean active, LocalDateTime updatedAt) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO tasks (id, title, completed, active, user_id, task_list_id, created_at, updated_at) "
+                + "VALUES (?, ?, false, ?, ?, ?, ?, ?)", id, "Task", active, userId, taskListId, updatedAt, updatedAt);
+        return id;
+    }
+
+    private boolean exists(String table, UUID id) {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE id = ?", Integer.class, id);
+        return count != null && count > 0;
+    }
+}
@@ -0,0 +1,62 @@
+package br.com.jtech.tasklist.config.infra.jobs;
+
+import br.com.jtech.tasklist.config.infra.buffer.TaskCompletionBuffer;
+import br.com.jtech.tasklist.service.TaskService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+* class TaskCompletionFlushJobTest 
+* 
+* @author jtech
+*/
+class TaskCompletionFlushJobTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final TaskCompletionBuffer buffer = new TaskCompletionBuffer(registry);
+    private final TaskService taskService = mock(TaskService.class);
+    private final TaskCompletionFlushJob job = new TaskCompletionFlushJob(buffer, taskService, registry, 2);
+
+    @Test
+    void shouldRetryFailedBatchOnNextFlush() {
+        UUID taskId = UUID.randomUUID();
+        when(taskService.applyCompletions(eq("a@example.com"), anyMap()))
+                .thenThrow(new IllegalStateException("connection reset"))
+                .thenReturn(1);
+
+        buffer.submit("a@example.com", taskId, true);
+        job.flush();
+
+        assertThat(buffer.size()).isEqualTo(1);
+        assertThat(registry.counter("tasks.completion.failed").count()).isZero();
+
+        job.flush();
+
+        verify(taskService, times(2)).applyCompletions("a@example.com", Map.of(taskId, true));
+        assertThat(buffer.size()).isZero();
+        assertThat(registry.counter("tasks.completion.flushed").count()).isEqualTo(1.0);
+        assertThat(registry.counter("tasks.completion.failed").count()).isZero();
+    }
+
+    @Test
+    void shouldDropBatchOnlyAfterMaxAttempts() {
+        when(taskService.applyCompletions(eq("a@example.com"), anyMap()))
+                .thenThrow(new IllegalStateException("connection reset"));
+
+        buffer.submit("a@example.com", UUID.randomUUID(), true);
+        job.flush();
+        job.flush();
+
+        verify(taskService, times(2)).applyCompletions(eq("a@example.com"), anyMap());
+        assertThat(buffer.size()).isZero();
+        assertThat(registry.counter("tasks.completion.failed").count()).isEqualTo(1.0);
+    }
+}
@@ -0,0 +1,71 @@
+/*
+*  @(#)JacksonConfigIntegrationTest.java
+*
+*  Copyright (c) J-Tech Solucoes em Informatica.
+*  All Rights Reserved.
+*
+*  This software is the confidential and proprietary information of J-Tech.
+*  ("Confidential Information"). You shall not disclose such Confidential
+*  Information and shall use it only in accordance with the terms of the
+*  license agreement you entered into with J-Tech.
+*
+*/
+package br.com.jtech.tasklist.config.infra.json;
+
+import br.com.jtech.tasklist.config.infra.utils.Jsons;
+import br.com.jtech.tasklist.dto.TaskResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+* class JacksonConfigIntegrationTest 
+* 
+* @author jtech
+*/
+@SpringBootTest
+@ActiveProfiles("test")
+class JacksonConfigIntegrationTest {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RequestMappingHandlerAdapter handlerAdapter;
+
+    @Test
+    void shouldShareOneMapperBetweenMvcAndJsons() {
+        ObjectMapper mvcMapper = handlerAdapter.getMessageConverters().stream()
+                .filter(MappingJackson2HttpMessageConverter.class::isInstance)
+                .map(converter -> ((MappingJackson2HttpMessageConverter) converter).getObjectMapper())
+                .findFirst()
+                .orElseThrow();
+
+        assertThat(mvcMapper).isSameAs(objectMapper);
+        assertThat(Jsons.getMapper()).isSameAs(objectMapper);
+        assertThat(objectMapper.getRegisteredModuleIds()).anySatisfy(id -> assertThat(String.valueOf(id)).contains("Blackbird"));
+    }
+
+    @Test
+    void shouldWriteTimestampsLikeTheStandaloneMapper() throws Exception {
+        TaskResponse task = TaskResponse.builder()
+                .id("1")
+                .title("Task")
+                .completed(false)
+                .createdAt(LocalDateTime.of(2024, 5, 1, 10, 30, 15))
+                .build();
+
+        String json = Jsons.toJsonString(task);
+
+        assertThat(json).contains("\"createdAt\":\"2024-05-01T10:30:15\"");
+        assertThat(JacksonConfig.standaloneMapper().writeValueAsString(task)).isEqualTo(json);
+    }
+}
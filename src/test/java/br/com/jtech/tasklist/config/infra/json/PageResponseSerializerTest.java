@@ -0,0 +1,80 @@
+/*
+*  @(#)PageResponseSerializerTest.java
+*
+*  Copyright (c) J-Tech Solucoes em Informatica.
+*  All Rights Reserved.
+*
+*  This software is the confidential and proprietary information of J-Tech.
+*  ("Confidential Information"). You shall not disclose such Confidential
+*  Information and shall use it only in accordance with the terms of the
+*  license agreement you entered into with J-Tech.
+*
+*/
+package br.com.jtech.tasklist.config.infra.json;
+
+import br.com.jtech.tasklist.dto.PageResponse;
+import br.com.jtech.tasklist.dto.TaskResponse;
+import br.com.jtech.tasklist.entity.TaskEntity;
+import br.com.jtech.tasklist.entity.TaskListEntity;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+* class PageResponseSerializerTest 
+* 
+* @author jtech
+*/
+class PageResponseSerializerTest {
+
+    private final ObjectMapper mapper = JacksonConfig.standaloneMapper();
+
+    @Test
+    void shouldWriteTaskEntitiesExactlyLikeTaskResponses() throws Exception {
+        TaskListEntity taskList = TaskListEntity.builder().id(UUID.randomUUID()).name("Lista").build();
+        TaskEntity inList = task("Em lista", "desc", true, taskList, LocalDateTime.of(2024, 5, 1, 10, 0));
+        TaskEntity loose = task("Solta, \"com aspas\"", null, false, null, LocalDateTime.of(2024, 5, 1, 10, 30, 15, 123_450_000));
+
+        List<TaskEntity> entities = List.of(inList, loose);
+        String streamed = mapper.writeValueAsString(PageResponse.of(new PageImpl<>(entities, PageRequest.of(1, 2), 7), TaskResponseList.of(entities)));
+        String reflective = mapper.writeValueAsString(PageResponse.of(new PageImpl<>(List.of(toResponse(inList), toResponse(loose)), PageRequest.of(1, 2), 7)));
+
+        assertThat(streamed).isEqualTo(reflective);
+        assertThat(mapper.readTree(streamed).get("totalPages").asInt()).isEqualTo(4);
+        assertThat(mapper.readTree(streamed).get("content").get(0).get("createdAt").asText()).isEqualTo("2024-05-01T10:00:00");
+        assertThat(mapper.readTree(streamed).get("content").get(1).get("createdAt").asText()).isEqualTo("2024-05-01T10:30:15.12345");
+        assertThat(mapper.readTree(streamed).get("content").get(0).get("id").asText()).isEqualTo(inList.getId().toString());
+        assertThat(TaskResponseList.of(entities)).containsExactly(toResponse(inList), toResponse(loose));
+    }
+
+    private TaskEntity task(String title, String description, boolean completed, TaskListEntity taskList, LocalDateTime createdAt) {
+        return TaskEntity.builder()
+                .id(UUID.randomUUID())
+                .title(title)
+                .description(description)
+                .completed(completed)
+                .taskList(taskList)
+                .createdAt(createdAt)
+                .updatedAt(createdAt.plusHours(1))
+                .build();
+    }
+
+    private TaskResponse toResponse(TaskEntity task) {
+        return TaskResponse.builder()
+                .id(task.getId().toString())
+                .title(task.getTitle())
+                .description(task.getDescription())
+                .completed(task.getCompleted())
+                .taskListId(task.getTaskList() != null ? task.getTaskList().getId().toString() : null)
+                .createdAt(task.getCreatedAt())
+                .updatedAt(task.getUpdatedAt())
+                .build();
+    }
+}
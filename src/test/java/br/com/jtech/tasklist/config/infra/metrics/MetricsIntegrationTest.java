@@ -0,0 +1,85 @@
+package br.com.jtech.tasklist.config.infra.metrics;
+
+import br.com.jtech.tasklist.config.infra.security.JwtTokenProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+* class MetricsIntegrationTest
+*
+* @author jtech
+*/
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+@Transactional
+class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Test
+    void shouldTimeServicesAndRepositoriesAndCountHandledErrors() throws Exception {
+        mockMvc.perform(post("/api/v1/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                    {"name": "Metrics User", "email": "metrics@example.com", "password": "password123"}
+                    """))
+                .andExpect(status().isCreated());
+        String bearer = "Bearer " + jwtTokenProvider.generateToken("metrics@example.com");
+
+        double notFound = registry.get("http.server.errors").tag("type", "not_found").counter().count();
+        mockMvc.perform(get("/api/v1/tasks/" + UUID.randomUUID()).header("Authorization", bearer))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/v1/tasks").header("Authorization", bearer))
+                .andExpect(status().isOk());
+
+        assertThat(registry.get("http.server.errors").tag("type", "not_found").counter().count())
+                .isEqualTo(notFound + 1);
+        assertThat(registry.get("service.invocations")
+                .tags("class", "AuthServiceImpl", "method", "register", "outcome", "success").timer().count())
+                .isPositive();
+        assertThat(registry.get("service.invocations")
+                .tags("class", "TaskServiceImpl", "method", "findById", "outcome", "error").timer().count())
+                .isPositive();
+        Timer findByEmail = registry.get("repository.invocations")
+                .tags("repository", "UserRepository", "method", "findByEmail", "outcome", "success").timer();
+        assertThat(findByEmail.count()).isPositive();
+        assertThat(findByEmail.takeSnapshot().percentileValues()).hasSize(3);
+        assertThat(registry.find("spring.data.repository.invocations").timers()).isEmpty();
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        assertThat(scrape)
+                .contains("service_invocations_seconds_bucket{class=\"TaskServiceImpl\"")
+                .contains("repository_invocations_seconds_count{method=\"findByEmail\",outcome=\"success\",repository=\"UserRepository\"}")
+                .contains("hikaricp_connections_acquire_seconds_bucket")
+                .contains("http_server_errors_total{type=\"not_found\"");
+    }
+}
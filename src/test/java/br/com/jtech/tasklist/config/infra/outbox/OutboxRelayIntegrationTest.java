@@ -0,0 +1,115 @@
+/*
+*  @(#)OutboxRelayIntegrationTest.java
+*
+*  Copyright (c) J-Tech Solucoes em Informatica.
+*  All Rights Reserved.
+*
+*  This software is the confidential and proprietary information of J-Tech.
+*  ("Confidential Information"). You shall not disclose such Confidential
+*  Information and shall use it only in accordance with the terms of the
+*  license agreement you entered into with J-Tech.
+*
+*/
+package br.com.jtech.tasklist.config.infra.outbox;
+
+import br.com.jtech.tasklist.dto.TaskRequest;
+import br.com.jtech.tasklist.dto.TaskResponse;
+import br.com.jtech.tasklist.entity.OutboxEventEntity;
+import br.com.jtech.tasklist.service.OutboxService;
+import br.com.jtech.tasklist.service.TaskService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+
+/**
+* class OutboxRelayIntegrationTest 
+* 
+* Not transactional on purpose: the relay only sees committed outbox rows.
+*
+* @author jtech
+*/
+@SpringBootTest
+@ActiveProfiles("test")
+class OutboxRelayIntegrationTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private OutboxSink sink;
+
+    private final UUID userId = UUID.randomUUID();
+    private final String email = "outbox@example.com";
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update("INSERT INTO users (id, name, email, password, task_count, completed_task_count, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, 0, 0, ?, ?)", userId, "Outbox User", email, "x", now, now);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM outbox_events WHERE user_email = ?", email);
+        jdbcTemplate.update("DELETE FROM tasks WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldDeliverEventWrittenWithTheTaskAndRemoveIt() {
+        TaskResponse task = taskService.save(TaskRequest.builder().title("Outbox Task").build(), email);
+        assertThat(pendingEvents()).isEqualTo(1);
+
+        int sent = outboxService.relayBatch(10);
+
+        ArgumentCaptor<List<OutboxEventEntity>> captor = ArgumentCaptor.forClass(List.class);
+        verify(sink).send(captor.capture());
+        assertThat(sent).isEqualTo(1);
+        assertThat(captor.getValue()).singleElement().satisfies(event -> {
+            assertThat(event.getAggregateType()).isEqualTo("TASK");
+            assertThat(event.getEventType()).isEqualTo("CREATED");
+            assertThat(event.getAggregateId().toString()).isEqualTo(task.getId());
+            assertThat(event.getPayload()).contains("Outbox Task");
+        });
+        assertThat(pendingEvents()).isZero();
+    }
+
+    @Test
+    void shouldKeepBatchWhenSinkFails() {
+        taskService.save(TaskRequest.builder().title("Outbox Task").build(), email);
+        doThrow(new IllegalStateException("sink down")).when(sink).send(anyList());
+
+        assertThatThrownBy(() -> outboxService.relayBatch(10))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(pendingEvents()).isEqualTo(1);
+    }
+
+    private int pendingEvents() {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_events WHERE user_email = ?", Integer.class, email);
+        return count != null ? count : 0;
+    }
+}
@@ -0,0 +1,78 @@
+package br.com.jtech.tasklist.config.infra.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+* class TokenBucketLimiterTest 
+* 
+* @author jtech
+*/
+class TokenBucketLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(0);
+
+    @Test
+    void shouldAllowBurstUpToCapacityAndThenReject() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(3, Duration.ofSeconds(3), 100, now::get);
+
+        assertThat(limiter.tryAcquire("127.0.0.1")).isZero();
+        assertThat(limiter.tryAcquire("127.0.0.1")).isZero();
+        assertThat(limiter.tryAcquire("127.0.0.1")).isZero();
+
+        long wait = limiter.tryAcquire("127.0.0.1");
+        assertThat(wait).isEqualTo(TimeUnit.SECONDS.toNanos(1));
+        assertThat(limiter.tryAcquire("10.0.0.1")).isZero();
+    }
+
+    @Test
+    void shouldRefillTokensOverTime() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(2, Duration.ofSeconds(2), 100, now::get);
+
+        limiter.tryAcquire("user@example.com");
+        limiter.tryAcquire("user@example.com");
+        assertThat(limiter.tryAcquire("user@example.com")).isPositive();
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertThat(limiter.tryAcquire("user@example.com")).isZero();
+        assertThat(limiter.tryAcquire("user@example.com")).isPositive();
+    }
+
+    @Test
+    void shouldSweepRefilledBucketsPeriodically() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, Duration.ofSeconds(1), 100, now::get);
+
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("b")).isZero();
+        assertThat(limiter.size()).isEqualTo(2);
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        assertThat(limiter.tryAcquire("c")).isZero();
+        assertThat(limiter.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldEvictBucketsClosestToFullInsteadOfLockingOutNewKeys() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(2, Duration.ofSeconds(20), 10, now::get);
+
+        // Throttled client: both tokens taken, its bucket is the furthest from full
+        limiter.tryAcquire("victim");
+        limiter.tryAcquire("victim");
+        assertThat(limiter.tryAcquire("victim")).isPositive();
+
+        // Attacker rotating keys fills the table and keeps going
+        for (int i = 0; i < 100; i++) {
+            now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+            assertThat(limiter.tryAcquire("attacker-" + i)).isZero();
+        }
+
+        assertThat(limiter.size()).isLessThanOrEqualTo(10);
+        assertThat(limiter.tryAcquire("newcomer")).isZero();
+        assertThat(limiter.tryAcquire("victim")).isPositive();
+    }
+}
@@ -0,0 +1,118 @@
+package br.com.jtech.tasklist.config.infra.tracing;
+
+import br.com.jtech.tasklist.config.infra.security.JwtTokenProvider;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+* class TracingIntegrationTest
+*
+* Not transactional on purpose: the JDBC connection has to be taken inside the request to get its span.
+* The file is removed before the context starts, since the exporter keeps it open from the first span on.
+*
+* @author jtech
+*/
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "management.tracing.sampling.probability=1.0",
+        "tracing.file.enabled=true",
+        "tracing.file.path=" + TracingIntegrationTest.SPANS_FILE
+})
+class TracingIntegrationTest {
+
+    static final String SPANS_FILE = "build/tmp/tracing-test/spans.ndjson";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    private final String email = "tracing@example.com";
+
+    @BeforeAll
+    static void deleteSpansFile() throws Exception {
+        Files.deleteIfExists(Path.of(SPANS_FILE));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM users WHERE email = ?", email);
+    }
+
+    @Test
+    void shouldTraceSecurityServiceAndJdbcInOneTrace() throws Exception {
+        mockMvc.perform(post("/api/v1/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                    {"name": "Tracing User", "email": "tracing@example.com", "password": "password123"}
+                    """))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/api/v1/tasks/all").header("Authorization", "Bearer " + jwtTokenProvider.generateToken(email)))
+                .andExpect(status().isOk());
+        assertThat(tracerProvider.forceFlush().join(10, TimeUnit.SECONDS).isSuccess()).isTrue();
+
+        List<JsonNode> spans = new ArrayList<>();
+        ObjectMapper mapper = new ObjectMapper();
+        for (String line : Files.readAllLines(Path.of(SPANS_FILE))) {
+            spans.add(mapper.readTree(line));
+        }
+
+        assertThat(namesInTraceOf(spans, "password encode"))
+                .contains("AuthServiceImpl.register", "query", "connection");
+        List<String> listTrace = namesInTraceOf(spans, "jwt authentication");
+        assertThat(listTrace)
+                .contains("TaskServiceImpl.list", "query", "connection")
+                .anyMatch(name -> name.startsWith("http get"));
+        JsonNode connection = spans.stream()
+                .filter(span -> span.get("name").asText().equals("connection"))
+                .findFirst()
+                .orElseThrow();
+        assertThat(connection.get("events").findValuesAsText("name")).contains("acquired");
+    }
+
+    private static List<String> namesInTraceOf(List<JsonNode> spans, String spanName) {
+        String traceId = spans.stream()
+                .filter(span -> span.get("name").asText().equals(spanName))
+                .map(span -> span.get("traceId").asText())
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No span named " + spanName));
+        return spans.stream()
+                .filter(span -> span.get("traceId").asText().equals(traceId))
+                .map(span -> span.get("name").asText())
+                .toList();
+    }
+}
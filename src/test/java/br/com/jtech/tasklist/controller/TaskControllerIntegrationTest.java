@@ -12,7 +12,14 @@
 */
 package br.com.jtech.tasklist.controller;
 
+import br.com.jtech.tasklist.config.infra.datasource.RequestSqlStatsFilter;
+import br.com.jtech.tasklist.config.infra.datasource.SqlBudget;
+import br.com.jtech.tasklist.config.infra.jobs.TaskCompletionFlushJob;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -23,6 +30,7 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -44,6 +52,12 @@ class TaskControllerIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private TaskCompletionFlushJob completionFlushJob;
+
+    @Autowired
+    private EntityManager entityManager;
+
     private String accessToken;
 
     @BeforeEach
@@ -143,7 +157,7 @@ class TaskControllerIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.content").isArray())
                 .andExpect(jsonPath("$.content[0].title").value("Task 1"))
-                .andExpect(jsonPath("$.number").exists())
+                .andExpect(jsonPath("$.page").exists())
                 .andExpect(jsonPath("$.size").exists())
                 .andExpect(jsonPath("$.totalElements").exists());
     }
@@ -322,9 +336,183 @@ class TaskControllerIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.content").isArray())
                 .andExpect(jsonPath("$.content.length()").value(2))
-                .andExpect(jsonPath("$.number").value(0))
+                .andExpect(jsonPath("$.page").value(0))
                 .andExpect(jsonPath("$.size").value(2))
                 .andExpect(jsonPath("$.totalElements").value(5));
     }
-}
 
+    @Test
+    void shouldKeepTaskStatsInSyncWithMutations() throws Exception {
+        for (int i = 1; i <= 3; i++) {
+            mockMvc.perform(post("/api/v1/tasks")
+                    .header("Authorization", "Bearer " + accessToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(String.format("""
+                        {
+                            "title": "Task %d"
+                        }
+                        """, i)))
+                    .andExpect(status().isCreated());
+        }
+
+        String response = mockMvc.perform(post("/api/v1/tasks")
+                .header("Authorization", "Bearer " + accessToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                    {
+                        "title": "Completed Task",
+                        "completed": true
+                    }
+                    """))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        String taskId = objectMapper.readTree(response).get("id").asText();
+
+        mockMvc.perform(get("/api/v1/tasks/stats")
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(4))
+                .andExpect(jsonPath("$.completed").value(1))
+                .andExpect(jsonPath("$.active").value(3));
+
+        mockMvc.perform(delete("/api/v1/tasks/" + taskId + "/soft")
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/v1/tasks/stats")
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.completed").value(0))
+                .andExpect(jsonPath("$.active").value(3));
+    }
+
+    @Test
+    void shouldCoalesceCompletionTogglesUntilFlush() throws Exception {
+        String response = mockMvc.perform(post("/api/v1/tasks")
+                .header("Authorization", "Bearer " + accessToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                    {
+                        "title": "Toggle Task"
+                    }
+                    """))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        String taskId = objectMapper.readTree(response).get("id").asText();
+
+        for (boolean completed : new boolean[] {true, false, true}) {
+            mockMvc.perform(patch("/api/v1/tasks/" + taskId + "/completed")
+                    .header("Authorization", "Bearer " + accessToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"completed\": " + completed + "}"))
+                    .andExpect(status().isAccepted());
+        }
+
+        mockMvc.perform(get("/api/v1/tasks/" + taskId)
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(jsonPath("$.completed").value(false));
+
+        completionFlushJob.flush();
+
+        mockMvc.perform(get("/api/v1/tasks/" + taskId)
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.completed").value(true));
+
+        mockMvc.perform(get("/api/v1/tasks/stats")
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(jsonPath("$.total").value(1))
+                .andExpect(jsonPath("$.completed").value(1));
+    }
+
+    @Test
+    void shouldNegotiateBinaryFormatsWithJsonAsDefault() throws Exception {
+        mockMvc.perform(post("/api/v1/tasks")
+                .header("Authorization", "Bearer " + accessToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"Binary Task\", \"description\": \"Descrição\"}"))
+                .andExpect(status().isCreated());
+
+        byte[] json = mockMvc.perform(get("/api/v1/tasks")
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+        JsonNode expected = objectMapper.readTree(json);
+        assertEquals("Binary Task", expected.at("/content/0/title").asText());
+
+        byte[] cbor = mockMvc.perform(get("/api/v1/tasks")
+                .header("Authorization", "Bearer " + accessToken)
+                .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+        assertEquals(expected, new ObjectMapper(new CBORFactory()).readTree(cbor));
+
+        byte[] smile = mockMvc.perform(get("/api/v1/tasks")
+                .header("Authorization", "Bearer " + accessToken)
+                .accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-jackson-smile"))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+        assertEquals(expected, new ObjectMapper(new SmileFactory()).readTree(smile));
+
+        mockMvc.perform(get("/api/v1/tasks")
+                .header("Authorization", "Bearer " + accessToken)
+                .accept("application/x-protobuf"))
+                .andExpect(status().isNotAcceptable());
+    }
+
+    @Test
+    void shouldKeepTaskEndpointsWithinSqlBudget() throws Exception {
+        String response = mockMvc.perform(post("/api/v1/tasks")
+                .header("Authorization", "Bearer " + accessToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"Budget Task\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(SqlBudget.statements(4))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        String taskId = objectMapper.readTree(response).get("id").asText();
+
+        // Each request starts with an empty persistence context, as it would outside the test transaction
+        entityManager.flush();
+        entityManager.clear();
+        mockMvc.perform(get("/api/v1/tasks/" + taskId)
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(header().string(RequestSqlStatsFilter.STATEMENTS_HEADER, "2"))
+                .andExpect(SqlBudget.statements(2));
+
+        // User (looked up again by convert), task, UPDATE of the task and of the user counters, outbox event
+        entityManager.flush();
+        entityManager.clear();
+        mockMvc.perform(put("/api/v1/tasks/" + taskId)
+                .header("Authorization", "Bearer " + accessToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"Budget Task\", \"completed\": true}"))
+                .andExpect(status().isOk())
+                .andExpect(SqlBudget.statements(6));
+
+        entityManager.flush();
+        entityManager.clear();
+        mockMvc.perform(get("/api/v1/tasks")
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(SqlBudget.statements(2));
+    }
+}
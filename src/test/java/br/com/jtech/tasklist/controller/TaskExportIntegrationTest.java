@@ -0,0 +1,125 @@
+/*
+*  @(#)TaskExportIntegrationTest.java
+*
+*  Copyright (c) J-Tech Solucoes em Informatica.
+*  All Rights Reserved.
+*
+*  This software is the confidential and proprietary information of J-Tech.
+*  ("Confidential Information"). You shall not disclose such Confidential
+*  Information and shall use it only in accordance with the terms of the
+*  license agreement you entered into with J-Tech.
+*
+*/
+package br.com.jtech.tasklist.controller;
+
+import br.com.jtech.tasklist.config.infra.security.JwtTokenProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+* class TaskExportIntegrationTest 
+* 
+* Not transactional on purpose: the export runs on the async thread in its own read-only transaction.
+*
+* @author jtech
+*/
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TaskExportIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    private final UUID userId = UUID.randomUUID();
+    private final String email = "export@example.com";
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update("INSERT INTO users (id, name, email, password, task_count, completed_task_count, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, 0, 0, ?, ?)", userId, "Export User", email, "x", now, now);
+        insertTask("Plain task", true, true, now.minusMinutes(2));
+        insertTask("Buy milk, \"fresh\"", false, true, now.minusMinutes(1));
+        insertTask("Deleted task", false, false, now);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM tasks WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+    }
+
+    @Test
+    void shouldStreamActiveTasksAsCsv() throws Exception {
+        String body = export("CSV", false).getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        String[] lines = body.split("\r\n");
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).isEqualTo("id,title,description,completed,taskListId,createdAt,updatedAt");
+        assertThat(lines[1]).contains(",Plain task,,true,,");
+        assertThat(lines[2]).contains(",\"Buy milk, \"\"fresh\"\"\",,false,,");
+    }
+
+    @Test
+    void shouldStreamGzippedNdjson() throws Exception {
+        byte[] compressed = export("ndjson", true).getResponse().getContentAsByteArray();
+
+        String body;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).startsWith("{\"id\":").contains("\"title\":\"Plain task\"", "\"description\":null", "\"completed\":true");
+        assertThat(lines[1]).contains("\"title\":\"Buy milk, \\\"fresh\\\"\"");
+    }
+
+    private MvcResult export(String format, boolean gzip) throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/v1/tasks/export")
+                .param("format", format)
+                .param("gzip", String.valueOf(gzip))
+                .header("Authorization", "Bearer " + jwtTokenProvider.generateToken(email)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        // Long timeout set on this request only (tasks.export.timeout), not on every async request
+        assertThat(result.getRequest().getAsyncContext().getTimeout()).isEqualTo(Duration.ofMinutes(10).toMillis());
+
+        return mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", org.hamcrest.Matchers.startsWith("attachment")))
+                .andReturn();
+    }
+
+    private void insertTask(String title, boolean completed, boolean active, LocalDateTime createdAt) {
+        jdbcTemplate.update("INSERT INTO tasks (id, title, completed, active, user_id, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?)", UUID.randomUUID(), title, completed, active, userId, createdAt, createdAt);
+    }
+}
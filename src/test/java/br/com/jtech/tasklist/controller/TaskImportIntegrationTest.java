@@ -0,0 +1,134 @@
+/*
+*  @(#)TaskImportIntegrationTest.java
+*
+*  Copyright (c) J-Tech Solucoes em Informatica.
+*  All Rights Reserved.
+*
+*  This software is the confidential and proprietary information of J-Tech.
+*  ("Confidential Information"). You shall not disclose such Confidential
+*  Information and shall use it only in accordance with the terms of the
+*  license agreement you entered into with J-Tech.
+*
+*/
+package br.com.jtech.tasklist.controller;
+
+import br.com.jtech.tasklist.config.infra.security.JwtTokenProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+* class TaskImportIntegrationTest 
+* 
+* Not transactional on purpose: each import batch commits in its own transaction.
+*
+* @author jtech
+*/
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TaskImportIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID taskListId = UUID.randomUUID();
+    private final String email = "import@example.com";
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update("INSERT INTO users (id, name, email, password, task_count, completed_task_count, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, 0, 0, ?, ?)", userId, "Import User", email, "x", now, now);
+        jdbcTemplate.update("INSERT INTO task_lists (id, name, active, user_id, task_count, completed_task_count, created_at, updated_at) "
+                + "VALUES (?, ?, true, ?, 0, 0, ?, ?)", taskListId, "Trabalho", userId, now, now);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM outbox_events WHERE user_email = ?", email);
+        jdbcTemplate.update("DELETE FROM tasks WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM task_lists WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+    }
+
+    @Test
+    void shouldImportCsvAndReportInvalidRows() throws Exception {
+        String csv = "title,description,completed,taskListId,taskListName\r\n"
+                + "Plain task,,false,,\r\n"
+                + "\"Multi\nline, \"\"quoted\"\"\",desc,true," + taskListId + ",\r\n"
+                + ",missing title,false,,\r\n"
+                + "By name,,1,,Trabalho\r\n"
+                + "Unknown list,,false,,Pessoal\r\n";
+
+        mockMvc.perform(post("/api/v1/tasks/import")
+                .param("format", "csv")
+                .header("Authorization", "Bearer " + jwtTokenProvider.generateToken(email))
+                .contentType("text/csv")
+                .content(csv.getBytes(StandardCharsets.UTF_8)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.processed").value(5))
+                .andExpect(jsonPath("$.imported").value(3))
+                .andExpect(jsonPath("$.failed").value(2))
+                .andExpect(jsonPath("$.errors[0].line").value(5))
+                .andExpect(jsonPath("$.errors[0].message").value("Título é obrigatório"))
+                .andExpect(jsonPath("$.errors[1].line").value(7))
+                .andExpect(jsonPath("$.errors[1].message").value("Lista não encontrada: Pessoal"));
+
+        assertThat(jdbcTemplate.queryForObject("SELECT title FROM tasks WHERE user_id = ? AND description = 'desc'", String.class, userId))
+                .isEqualTo("Multi\nline, \"quoted\"");
+        assertThat(jdbcTemplate.queryForMap("SELECT task_count, completed_task_count FROM users WHERE id = ?", userId))
+                .containsEntry("TASK_COUNT", 3L).containsEntry("COMPLETED_TASK_COUNT", 2L);
+        assertThat(jdbcTemplate.queryForMap("SELECT task_count, completed_task_count FROM task_lists WHERE id = ?", taskListId))
+                .containsEntry("TASK_COUNT", 2L).containsEntry("COMPLETED_TASK_COUNT", 2L);
+        assertThat(jdbcTemplate.queryForList("SELECT aggregate_id FROM outbox_events WHERE user_email = ? AND event_type = 'CREATED'",
+                UUID.class, email))
+                .containsExactlyInAnyOrderElementsOf(jdbcTemplate.queryForList("SELECT id FROM tasks WHERE user_id = ?", UUID.class, userId));
+    }
+
+    @Test
+    void shouldImportNdjson() throws Exception {
+        String ndjson = "{\"title\":\"First\",\"completed\":true,\"taskListId\":\"" + taskListId.toString().toUpperCase() + "\"}\n"
+                + "\n"
+                + "not json\n"
+                + "{\"title\":\"Second\",\"description\":\"d\"}\n";
+
+        mockMvc.perform(post("/api/v1/tasks/import")
+                .param("format", "ndjson")
+                .header("Authorization", "Bearer " + jwtTokenProvider.generateToken(email))
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .content(ndjson.getBytes(StandardCharsets.UTF_8)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(3))
+                .andExpect(jsonPath("$.errors[0].message").value("JSON inválido"));
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tasks WHERE user_id = ? AND active = true", Long.class, userId))
+                .isEqualTo(2L);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tasks WHERE task_list_id = ?", Long.class, taskListId))
+                .isEqualTo(1L);
+    }
+}
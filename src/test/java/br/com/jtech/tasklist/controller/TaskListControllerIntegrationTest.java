@@ -13,16 +13,24 @@
 package br.com.jtech.tasklist.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -44,6 +52,15 @@ class TaskListControllerIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private String accessToken;
 
     @BeforeEach
@@ -148,7 +165,7 @@ class TaskListControllerIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.content").isArray())
                 .andExpect(jsonPath("$.content[0].name").exists())
-                .andExpect(jsonPath("$.number").exists())
+                .andExpect(jsonPath("$.page").exists())
                 .andExpect(jsonPath("$.size").exists())
                 .andExpect(jsonPath("$.totalElements").exists());
     }
@@ -317,7 +334,7 @@ class TaskListControllerIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.content").isArray())
                 .andExpect(jsonPath("$.content.length()").value(2))
-                .andExpect(jsonPath("$.number").value(0))
+                .andExpect(jsonPath("$.page").value(0))
                 .andExpect(jsonPath("$.size").value(2))
                 .andExpect(jsonPath("$.totalElements").value(5));
     }
@@ -336,5 +353,238 @@ class TaskListControllerIntegrationTest {
                 .content(invalidBody))
                 .andExpect(status().isBadRequest());
     }
-}
 
+    @Test
+    void shouldReturnTaskListStats() throws Exception {
+        String response = mockMvc.perform(post("/api/v1/task-lists")
+                .header("Authorization", "Bearer " + accessToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                    {
+                        "name": "Stats List"
+                    }
+                    """))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        String taskListId = objectMapper.readTree(response).get("id").asText();
+
+        String taskResponse = mockMvc.perform(post("/api/v1/tasks")
+                .header("Authorization", "Bearer " + accessToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(String.format("""
+                    {
+                        "title": "Listed Task",
+                        "taskListId": "%s"
+                    }
+                    """, taskListId)))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        String taskId = objectMapper.readTree(taskResponse).get("id").asText();
+
+        mockMvc.perform(put("/api/v1/tasks/" + taskId)
+                .header("Authorization", "Bearer " + accessToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(String.format("""
+                    {
+                        "title": "Listed Task",
+                        "completed": true,
+                        "taskListId": "%s"
+                    }
+                    """, taskListId)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/task-lists/" + taskListId + "/stats")
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.taskListId").value(taskListId))
+                .andExpect(jsonPath("$.total").value(1))
+                .andExpect(jsonPath("$.completed").value(1))
+                .andExpect(jsonPath("$.active").value(0));
+    }
+
+    @Test
+    void shouldEmbedTaskCountsWhenRequested() throws Exception {
+        String response = mockMvc.perform(post("/api/v1/task-lists")
+                .header("Authorization", "Bearer " + accessToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                    {
+                        "name": "Counted List"
+                    }
+                    """))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        String taskListId = objectMapper.readTree(response).get("id").asText();
+
+        for (boolean completed : new boolean[] {true, false}) {
+            mockMvc.perform(post("/api/v1/tasks")
+                    .header("Authorization", "Bearer " + accessToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(String.format("""
+                        {
+                            "title": "Task",
+                            "completed": %s,
+                            "taskListId": "%s"
+                        }
+                        """, completed, taskListId)))
+                    .andExpect(status().isCreated());
+        }
+
+        // Counters are moved with native updates; each real request starts with a fresh persistence context
+        entityManager.clear();
+
+        mockMvc.perform(get("/api/v1/task-lists")
+                .param("includeCounts", "true")
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].taskCount").value(2))
+                .andExpect(jsonPath("$.content[0].completedTaskCount").value(1))
+                .andExpect(jsonPath("$.content[0].completionRatio").value(0.5));
+
+        mockMvc.perform(get("/api/v1/task-lists")
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].taskCount").doesNotExist());
+    }
+
+    @Test
+    void shouldFetchTaskListWithTasksInTwoStatements() throws Exception {
+        String response = mockMvc.perform(post("/api/v1/task-lists")
+                .header("Authorization", "Bearer " + accessToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                    {
+                        "name": "List With Tasks"
+                    }
+                    """))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        String taskListId = objectMapper.readTree(response).get("id").asText();
+
+        for (int i = 1; i <= 3; i++) {
+            mockMvc.perform(post("/api/v1/tasks")
+                    .header("Authorization", "Bearer " + accessToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(String.format("""
+                        {
+                            "title": "Task %d",
+                            "taskListId": "%s"
+                        }
+                        """, i, taskListId)))
+                    .andExpect(status().isCreated());
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get("/api/v1/task-lists/" + taskListId)
+                .param("include", "tasks")
+                .param("taskSize", "2")
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("List With Tasks"))
+                .andExpect(jsonPath("$.tasks.content.length()").value(2))
+                .andExpect(jsonPath("$.tasks.content[0].taskListId").value(taskListId))
+                .andExpect(jsonPath("$.tasks.totalElements").value(3))
+                .andExpect(jsonPath("$.tasks.totalPages").value(2));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldDeactivateTasksWhenTaskListIsSoftDeleted() throws Exception {
+        String taskListId = createTaskListWithTask("Cascade List");
+
+        mockMvc.perform(delete("/api/v1/task-lists/" + taskListId + "/soft")
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/v1/tasks/all")
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+
+        mockMvc.perform(get("/api/v1/tasks/stats")
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(0));
+
+        assertThat(taskEvents()).containsExactly("CREATED", "DELETED");
+    }
+
+    @Test
+    void shouldDetachTasksWhenTaskListIsSoftDeletedInDetachMode() throws Exception {
+        String taskListId = createTaskListWithTask("Detach List");
+
+        mockMvc.perform(delete("/api/v1/task-lists/" + taskListId + "/soft")
+                .param("tasks", "DETACH")
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isNoContent());
+
+        entityManager.clear();
+
+        mockMvc.perform(get("/api/v1/tasks/all")
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].taskListId").doesNotExist());
+
+        mockMvc.perform(get("/api/v1/tasks/stats")
+                .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(1));
+
+        assertThat(taskEvents()).containsExactly("CREATED", "UPDATED");
+        assertThat(jdbcTemplate.queryForObject("SELECT payload FROM outbox_events WHERE aggregate_type = 'TASK' AND event_type = 'UPDATED' "
+                + "AND user_email = 'tasklistuser@example.com'", String.class)).contains("\"taskListId\":null");
+    }
+
+    private List<String> taskEvents() {
+        return jdbcTemplate.queryForList("SELECT event_type FROM outbox_events WHERE aggregate_type = 'TASK' "
+                + "AND user_email = 'tasklistuser@example.com' ORDER BY id", String.class);
+    }
+
+    private String createTaskListWithTask(String name) throws Exception {
+        String response = mockMvc.perform(post("/api/v1/task-lists")
+                .header("Authorization", "Bearer " + accessToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(String.format("""
+                    {
+                        "name": "%s"
+                    }
+                    """, name)))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        String taskListId = objectMapper.readTree(response).get("id").asText();
+
+        mockMvc.perform(post("/api/v1/tasks")
+                .header("Authorization", "Bearer " + accessToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(String.format("""
+                    {
+                        "title": "Task",
+                        "taskListId": "%s"
+                    }
+                    """, taskListId)))
+                .andExpect(status().isCreated());
+
+        return taskListId;
+    }
+}
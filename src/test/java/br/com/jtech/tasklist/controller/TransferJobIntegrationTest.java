@@ -0,0 +1,220 @@
+/*
+*  @(#)TransferJobIntegrationTest.java
+*
+*  Copyright (c) J-Tech Solucoes em Informatica.
+*  All Rights Reserved.
+*
+*  This software is the confidential and proprietary information of J-Tech.
+*  ("Confidential Information"). You shall not disclose such Confidential
+*  Information and shall use it only in accordance with the terms of the
+*  license agreement you entered into with J-Tech.
+*
+*/
+package br.com.jtech.tasklist.controller;
+
+import br.com.jtech.tasklist.config.infra.security.JwtTokenProvider;
+import br.com.jtech.tasklist.entity.TransferJobEntity;
+import br.com.jtech.tasklist.service.TransferJobService;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+* class TransferJobIntegrationTest 
+* 
+* Not transactional on purpose: jobs run outside the request, batch by batch in their own transactions.
+* The worker is disabled in the tests, so each test claims and runs the jobs itself.
+*
+* @author jtech
+*/
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TransferJobIntegrationTest {
+
+    private static final String CSV = "title,completed\r\nFirst,true\r\nSecond,false\r\nThird,false\r\n";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private TransferJobService transferJobService;
+
+    private final UUID userId = UUID.randomUUID();
+    private final String email = "jobs@example.com";
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update("INSERT INTO users (id, name, email, password, task_count, completed_task_count, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, 0, 0, ?, ?)", userId, "Jobs User", email, "x", now, now);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM outbox_events WHERE user_email = ?", email);
+        jdbcTemplate.update("DELETE FROM transfer_jobs WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM tasks WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+    }
+
+    @Test
+    void shouldRunImportJobAndReportResult() throws Exception {
+        String id = submitImport(CSV);
+
+        assertThat(runQueued()).isEqualTo(1);
+
+        mockMvc.perform(get("/api/v1/tasks/jobs/" + id).header("Authorization", bearer()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.percent").value(100))
+                .andExpect(jsonPath("$.result.imported").value(3))
+                .andExpect(jsonPath("$.result.failed").value(0));
+
+        assertThat(jdbcTemplate.queryForObject("SELECT task_count FROM users WHERE id = ?", Long.class, userId)).isEqualTo(3L);
+    }
+
+    @Test
+    void shouldResumeImportAfterLastCommittedBatch() throws Exception {
+        String id = submitImport(CSV);
+        // As if a previous run committed the first batch (batch size 2 in the tests) and then crashed
+        jdbcTemplate.update("UPDATE transfer_jobs SET processed_rows = 2, succeeded_rows = 2 WHERE id = ?", UUID.fromString(id));
+
+        runQueued();
+
+        assertThat(jdbcTemplate.queryForList("SELECT title FROM tasks WHERE user_id = ?", String.class, userId))
+                .containsExactly("Third");
+        assertThat(jdbcTemplate.queryForMap("SELECT status, processed_rows, succeeded_rows FROM transfer_jobs WHERE id = ?", UUID.fromString(id)))
+                .containsEntry("status", "COMPLETED").containsEntry("processed_rows", 3L).containsEntry("succeeded_rows", 3L);
+    }
+
+    @Test
+    void shouldRunExportJobAndServeTheFile() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update("INSERT INTO tasks (id, title, completed, active, user_id, created_at, updated_at) "
+                + "VALUES (?, ?, false, true, ?, ?, ?)", UUID.randomUUID(), "Exported", userId, now, now);
+
+        String response = mockMvc.perform(post("/api/v1/tasks/jobs/export")
+                .param("format", "ndjson")
+                .header("Authorization", bearer()))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.status").value("QUEUED"))
+                .andReturn().getResponse().getContentAsString();
+        String id = JsonPath.read(response, "$.id");
+
+        mockMvc.perform(get("/api/v1/tasks/jobs/" + id + "/download").header("Authorization", bearer()))
+                .andExpect(status().isConflict());
+
+        runQueued();
+
+        String body = mockMvc.perform(get("/api/v1/tasks/jobs/" + id + "/download").header("Authorization", bearer()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"tasks.ndjson\""))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        assertThat(body).contains("\"title\":\"Exported\"").endsWith("\n");
+    }
+
+    @Test
+    void shouldCancelQueuedJobAndLimitActiveJobsPerUser() throws Exception {
+        String id = submitImport(CSV);
+        submitImport(CSV);
+        submitImport(CSV);
+
+        mockMvc.perform(post("/api/v1/tasks/jobs/export").header("Authorization", bearer()))
+                .andExpect(status().isTooManyRequests());
+
+        mockMvc.perform(delete("/api/v1/tasks/jobs/" + id).header("Authorization", bearer()))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.status").value("CANCELLED"));
+        mockMvc.perform(delete("/api/v1/tasks/jobs/" + id).header("Authorization", bearer()))
+                .andExpect(status().isConflict());
+
+        // One running job per user: the two remaining imports are claimed one at a time
+        assertThat(transferJobService.claim(5)).hasSize(1);
+        assertThat(transferJobService.claim(5)).isEmpty();
+    }
+
+    @Test
+    void shouldStopStaleRunOnceJobIsClaimedAgain() throws Exception {
+        String id = submitImport(CSV);
+        List<TransferJobService.ClaimedJob> claimed = transferJobService.claim(5);
+
+        // After the first batch (batch size 2 in the tests) the lease expires, the job is requeued
+        // and another worker claims it
+        assertThat(transferJobService.run(claimed.get(0), () -> {
+            jdbcTemplate.update("UPDATE transfer_jobs SET attempts = attempts + 1 WHERE id = ?", UUID.fromString(id));
+            return false;
+        })).isNull();
+
+        assertThat(jdbcTemplate.queryForList("SELECT title FROM tasks WHERE user_id = ?", String.class, userId))
+                .containsExactlyInAnyOrder("First", "Second");
+        assertThat(jdbcTemplate.queryForMap("SELECT status, processed_rows FROM transfer_jobs WHERE id = ?", UUID.fromString(id)))
+                .containsEntry("status", "RUNNING").containsEntry("processed_rows", 2L);
+        assertThat(Files.exists(Path.of(jdbcTemplate.queryForObject("SELECT file_path FROM transfer_jobs WHERE id = ?",
+                String.class, UUID.fromString(id))))).isTrue();
+    }
+
+    @Test
+    void shouldRejectUploadAboveMaxSize() throws Exception {
+        String csv = "title\r\n" + "A long enough task title\r\n".repeat(100);
+
+        mockMvc.perform(post("/api/v1/tasks/jobs/import")
+                .param("format", "csv")
+                .header("Authorization", bearer())
+                .contentType("text/csv")
+                .content(csv.getBytes(StandardCharsets.UTF_8)))
+                .andExpect(status().isPayloadTooLarge());
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transfer_jobs WHERE user_id = ?", Long.class, userId)).isZero();
+    }
+
+    private String submitImport(String csv) throws Exception {
+        String response = mockMvc.perform(post("/api/v1/tasks/jobs/import")
+                .param("format", "csv")
+                .header("Authorization", bearer())
+                .contentType("text/csv")
+                .content(csv.getBytes(StandardCharsets.UTF_8)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists("Location"))
+                .andReturn().getResponse().getContentAsString();
+        return JsonPath.read(response, "$.id");
+    }
+
+    private String bearer() {
+        return "Bearer " + jwtTokenProvider.generateToken(email);
+    }
+
+    private int runQueued() {
+        List<TransferJobService.ClaimedJob> claimed = transferJobService.claim(5);
+        for (TransferJobService.ClaimedJob job : claimed) {
+            assertThat(transferJobService.run(job, () -> false)).isNotEqualTo(TransferJobEntity.Status.FAILED);
+        }
+        return claimed.size();
+    }
+}
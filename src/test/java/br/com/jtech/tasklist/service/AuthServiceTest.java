@@ -7,6 +7,7 @@ import br.com.jtech.tasklist.dto.RegisterRequest;
 import br.com.jtech.tasklist.entity.UserEntity;
 import br.com.jtech.tasklist.repository.UserRepository;
 import br.com.jtech.tasklist.config.infra.security.JwtTokenProvider;
+import br.com.jtech.tasklist.config.infra.security.RegisteredEmailFilter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,6 +16,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -22,6 +24,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -41,6 +44,9 @@ class AuthServiceTest {
     @Mock
     private JwtTokenProvider jwtTokenProvider;
 
+    @Mock
+    private RegisteredEmailFilter registeredEmailFilter;
+
     @InjectMocks
     private br.com.jtech.tasklist.service.impl.AuthServiceImpl authService;
 
@@ -65,24 +71,22 @@ class AuthServiceTest {
                 .password("password123")
                 .build();
 
-        when(userRepository.existsByEmail(request.getEmail())).thenReturn(false);
+        when(registeredEmailFilter.mightContain(request.getEmail())).thenReturn(false);
         when(passwordEncoder.encode(request.getPassword())).thenReturn("encodedPassword");
-        when(userRepository.save(any(UserEntity.class))).thenAnswer(invocation -> {
-            UserEntity savedUser = invocation.getArgument(0);
-            savedUser.setId(user.getId());
-            return savedUser;
-        });
+        when(userRepository.insertIgnoringConflict(any(UUID.class), eq("New User"), eq("new@example.com"),
+                eq("encodedPassword"), any(LocalDateTime.class))).thenReturn(1);
 
         // When
         UserEntity result = authService.register(request);
 
         // Then
         assertThat(result).isNotNull();
+        assertThat(result.getId()).isNotNull();
         assertThat(result.getEmail()).isEqualTo("new@example.com");
         assertThat(result.getName()).isEqualTo("New User");
-        verify(userRepository).existsByEmail(request.getEmail());
+        verify(userRepository, never()).existsByEmail(anyString());
         verify(passwordEncoder).encode(request.getPassword());
-        verify(userRepository).save(any(UserEntity.class));
+        verify(registeredEmailFilter).add("new@example.com");
     }
 
     @Test
@@ -94,6 +98,7 @@ class AuthServiceTest {
                 .password("password123")
                 .build();
 
+        when(registeredEmailFilter.mightContain(request.getEmail())).thenReturn(true);
         when(userRepository.existsByEmail(request.getEmail())).thenReturn(true);
 
         // When/Then
@@ -102,7 +107,27 @@ class AuthServiceTest {
                 .hasMessage("Email já está em uso");
 
         verify(userRepository).existsByEmail(request.getEmail());
-        verify(userRepository, never()).save(any(UserEntity.class));
+        verify(passwordEncoder, never()).encode(anyString());
+        verify(userRepository, never()).insertIgnoringConflict(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldThrowExceptionWhenConcurrentRegistrationWinsTheInsert() {
+        // Given
+        RegisterRequest request = RegisterRequest.builder()
+                .name("New User")
+                .email("race@example.com")
+                .password("password123")
+                .build();
+
+        when(registeredEmailFilter.mightContain(request.getEmail())).thenReturn(false);
+        when(passwordEncoder.encode(request.getPassword())).thenReturn("encodedPassword");
+        when(userRepository.insertIgnoringConflict(any(), any(), any(), any(), any())).thenReturn(0);
+
+        // When/Then
+        assertThatThrownBy(() -> authService.register(request))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Email já está em uso");
     }
 
     @Test
@@ -0,0 +1,27 @@
+-- Tabelas de arquivo do expurgo (V6). Não têm entidade JPA, pois o PurgeServiceImpl só as acessa com
+-- SQL nativo; por isso o create-drop do Hibernate não as cria e elas são criadas aqui para o H2.
+
+CREATE TABLE IF NOT EXISTS tasks_archive (
+    id UUID PRIMARY KEY,
+    title VARCHAR(200) NOT NULL,
+    description VARCHAR(1000),
+    completed BOOLEAN NOT NULL,
+    active BOOLEAN NOT NULL,
+    user_id UUID NOT NULL,
+    task_list_id UUID,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    archived_at TIMESTAMP NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS task_lists_archive (
+    id UUID PRIMARY KEY,
+    name VARCHAR(200) NOT NULL,
+    active BOOLEAN NOT NULL,
+    user_id UUID NOT NULL,
+    task_count BIGINT NOT NULL,
+    completed_task_count BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    archived_at TIMESTAMP NOT NULL
+);